@@ -0,0 +1,64 @@
+package com.university.universitymanagement.benchmark;
+
+import com.university.universitymanagement.utility.PaginationUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the per-request pagination helpers in {@link PaginationUtils}:
+ * building the page request, encoding and decoding keyset cursors and
+ * assembling the pagination metadata of a response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationBenchmark {
+
+    @Param({"10", "100", "500"})
+    private int size;
+
+    private Page<Long> page;
+    private Slice<Long> slice;
+    private String cursor;
+
+    @Setup
+    public void setup() {
+        List<Long> ids = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) ids.add(100_000L + id);
+        Pageable pageable = PaginationUtils.pageRequest(3, size);
+        page = new PageImpl<>(ids, pageable, 1_000_000L);
+        slice = new SliceImpl<>(ids, PaginationUtils.cursorRequest(size), true);
+        cursor = PaginationUtils.encodeCursor(ids.get(ids.size() - 1));
+    }
+
+    @Benchmark
+    public Pageable pageRequest() {
+        return PaginationUtils.pageRequest(3, size);
+    }
+
+    @Benchmark
+    public Map<String, Object> pageMeta() {
+        return PaginationUtils.meta(page);
+    }
+
+    @Benchmark
+    public Map<String, Object> cursorMeta() {
+        return PaginationUtils.cursorMeta(slice, id -> id);
+    }
+
+    @Benchmark
+    public Long decodeCursor() {
+        return PaginationUtils.decodeCursor(cursor);
+    }
+}
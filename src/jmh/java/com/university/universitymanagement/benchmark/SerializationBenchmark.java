@@ -0,0 +1,91 @@
+package com.university.universitymanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.universitymanagement.entity.Department;
+import com.university.universitymanagement.entity.Faculty;
+import com.university.universitymanagement.entity.FeaturedProgram;
+import com.university.universitymanagement.entity.University;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the Jackson serialization of the University → Faculty → Department
+ * graph as the list endpoints return it, including the managed/back references
+ * that break the parent cycles.
+ *
+ * The graph is built in memory, so only serialization is measured, not loading.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    /** Universities in the serialized page */
+    @Param({"1", "20"})
+    private int universities;
+
+    /** Faculties per university, and departments per faculty */
+    @Param({"10"})
+    private int fanOut;
+
+    private ObjectMapper mapper;
+    private List<University> page;
+
+    @Setup
+    public void setup() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        page = new ArrayList<>(universities);
+        long id = 1;
+        for (int u = 0; u < universities; u++) {
+            University university = new University();
+            university.setId(id++);
+            university.setName("University " + u);
+            List<Faculty> faculties = new ArrayList<>(fanOut);
+            List<FeaturedProgram> programs = new ArrayList<>(fanOut);
+            for (int f = 0; f < fanOut; f++) {
+                Faculty faculty = new Faculty();
+                faculty.setId(id++);
+                faculty.setName("Faculty " + f);
+                faculty.setUniversity(university);
+                List<Department> departments = new ArrayList<>(fanOut);
+                for (int d = 0; d < fanOut; d++) {
+                    Department department = new Department();
+                    department.setId(id++);
+                    department.setName("Department " + d);
+                    department.setLocation("Building " + d);
+                    department.setFaculty(faculty);
+                    departments.add(department);
+                }
+                faculty.setDepartments(departments);
+                faculties.add(faculty);
+
+                FeaturedProgram program = new FeaturedProgram();
+                program.setId(id++);
+                program.setTitle("Program " + f);
+                program.setDescription("Description of program " + f);
+                program.setUniversity(university);
+                programs.add(program);
+            }
+            university.setFaculties(faculties);
+            university.setFeaturedPrograms(programs);
+            page.add(university);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return mapper.writeValueAsBytes(Map.of("message", "Universities retrieved", "data", page));
+    }
+
+    @Benchmark
+    public byte[] serializeFaculty() throws Exception {
+        return mapper.writeValueAsBytes(page.get(0).getFaculties().get(0));
+    }
+}
@@ -0,0 +1,100 @@
+package com.university.universitymanagement.benchmark;
+
+import com.university.universitymanagement.UniversitymanagementApplication;
+import com.university.universitymanagement.entity.Faculty;
+import com.university.universitymanagement.entity.University;
+import com.university.universitymanagement.entity.User;
+import com.university.universitymanagement.repository.UserRepository;
+import com.university.universitymanagement.service.FacultyService;
+import com.university.universitymanagement.service.UniversityService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the service create and update paths end to end: validation of the
+ * parent, the insert or update, the audit log entry and the cache invalidation.
+ *
+ * Runs the real application context without the web layer against an embedded
+ * H2 database in MySQL mode, with the schema created by the Flyway migrations.
+ * Absolute numbers are not comparable with MySQL; use them to compare releases.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceWriteBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private UniversityService universityService;
+    private FacultyService facultyService;
+    private User user;
+    private University university;
+    private Faculty faculty;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(UniversitymanagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "logging.level.root=WARN")
+                .run();
+        universityService = context.getBean(UniversityService.class);
+        facultyService = context.getBean(FacultyService.class);
+
+        User account = new User();
+        account.setEmail("benchmark@example.com");
+        account.setName("Benchmark");
+        account.setPassword("secret");
+        user = context.getBean(UserRepository.class).save(account);
+
+        university = universityService.create(named(new University(), "Benchmark University"), user);
+        Faculty template = new Faculty();
+        template.setName("Benchmark Faculty");
+        template.setUniversity(university);
+        faculty = facultyService.create(template, user);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public University createUniversity() {
+        return universityService.create(named(new University(), "University " + counter++), user);
+    }
+
+    @Benchmark
+    public University updateUniversity() {
+        return universityService.update(university.getId(), named(new University(), "Renamed " + counter++), null, user);
+    }
+
+    @Benchmark
+    public Faculty createFaculty() {
+        Faculty data = new Faculty();
+        data.setName("Faculty " + counter++);
+        data.setUniversity(university);
+        return facultyService.create(data, user);
+    }
+
+    @Benchmark
+    public Faculty updateFaculty() {
+        Faculty data = new Faculty();
+        data.setName("Faculty " + counter++);
+        return facultyService.update(faculty.getId(), data, null, user);
+    }
+
+    private static University named(University university, String name) {
+        university.setName(name);
+        return university;
+    }
+}
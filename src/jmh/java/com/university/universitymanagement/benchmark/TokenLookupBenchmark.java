@@ -0,0 +1,89 @@
+package com.university.universitymanagement.benchmark;
+
+import com.university.universitymanagement.entity.User;
+import com.university.universitymanagement.repository.UserRepository;
+import com.university.universitymanagement.service.UserService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmarks {@link UserService#findByToken(String)}, which runs on every
+ * authenticated request.
+ *
+ * The repository is a stub that answers instantly, so the numbers cover the
+ * token cache itself: a hot token that is always cached, and a rotation over
+ * more tokens than the cache holds, where every lookup misses and evicts.
+ * The signed variants verify an HMAC-signed token, which needs no repository at all.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenLookupBenchmark {
+    private static final int CACHE_SIZE = 1_000;
+    private static final int TOKENS = 4 * CACHE_SIZE;
+
+    private UserService userService;
+    private UserService signedUserService;
+    private String hotToken;
+    private String signedToken;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setup() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("bench@example.com");
+        user.setName("Bench");
+        user.setPassword("secret");
+
+        // stubOnly: the mock does not record invocations, which would otherwise grow without bound
+        UserRepository repo = Mockito.mock(UserRepository.class, Mockito.withSettings().stubOnly());
+        when(repo.findByToken(anyString())).thenReturn(Optional.of(user));
+        when(repo.findByEmail(anyString())).thenReturn(Optional.of(user));
+        userService = new UserService(repo, CACHE_SIZE, 300, "opaque", "", 3600);
+        signedUserService = new UserService(repo, CACHE_SIZE, 300, "signed", "benchmark-secret-benchmark-secret", 3600);
+        signedToken = signedUserService.login(user.getEmail(), user.getPassword());
+
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) tokens[i] = "token-" + i;
+        hotToken = tokens[0];
+    }
+
+    @Benchmark
+    public User cachedToken() {
+        return userService.findByToken(hotToken);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public User cachedTokenContended() {
+        return userService.findByToken(hotToken);
+    }
+
+    @Benchmark
+    public User missingToken() {
+        String token = tokens[next];
+        next = (next + 1) % TOKENS;
+        return userService.findByToken(token);
+    }
+
+    @Benchmark
+    public User signedToken() {
+        return signedUserService.findByToken(signedToken);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public User signedTokenContended() {
+        return signedUserService.findByToken(signedToken);
+    }
+}
@@ -0,0 +1,132 @@
+package com.university.universitymanagement.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds how much of one workload (reads, writes, audit writes) runs at once, so that a
+ * burst of one kind cannot take the threads and connections the others need.
+ *
+ * Up to maxConcurrent callers hold a slot at a time. Further callers queue, first come
+ * first served, at most maxQueued of them and each for at most maxWait; a caller that
+ * finds the queue full or is still waiting after maxWait is rejected and must back off.
+ * Background workers that must not give up use {@link #acquire()}, which waits as long
+ * as it takes.
+ *
+ * Meters, tagged with the bulkhead name: bulkhead.active (slots in use), bulkhead.queued
+ * (callers waiting), bulkhead.wait (time spent waiting for a slot) and bulkhead.rejected
+ * (tagged with the reason, queue-full or timeout).
+ */
+public class Bulkhead {
+    private final String name;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+    private final Semaphore slots;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter queueFull;
+    private final Counter timedOut;
+
+    /**
+     * Creates a bulkhead and registers its meters.
+     *
+     * @param name          The workload name, used as the name tag of the meters.
+     * @param maxConcurrent The number of callers that may hold a slot at once.
+     * @param maxQueued     The number of callers that may wait for a slot.
+     * @param maxWait       How long a caller waits for a slot before it is rejected.
+     * @param meterRegistry The registry of the meters.
+     */
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, Duration maxWait, MeterRegistry meterRegistry) {
+        if (maxConcurrent <= 0) throw new IllegalArgumentException("maxConcurrent of bulkhead " + name + " must be positive");
+        if (maxQueued < 0) throw new IllegalArgumentException("maxQueued of bulkhead " + name + " must not be negative");
+        this.name = name;
+        this.maxQueued = maxQueued;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.slots = new Semaphore(maxConcurrent, true);
+        Gauge.builder("bulkhead.active", slots, s -> maxConcurrent - s.availablePermits())
+                .description("Slots of the bulkhead in use")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.queued", queued, AtomicInteger::get)
+                .description("Callers waiting for a slot of the bulkhead")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("bulkhead.wait")
+                .description("Time spent waiting for a slot of the bulkhead")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.queueFull = rejected(meterRegistry, "queue-full");
+        this.timedOut = rejected(meterRegistry, "timeout");
+    }
+
+    private Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("bulkhead.rejected")
+                .description("Callers turned away by the bulkhead")
+                .tag("name", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /** The workload name */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Takes a slot, waiting at most maxWait, behind at most maxQueued other callers.
+     * A caller interrupted while waiting is rejected, with its interrupt flag restored.
+     *
+     * @return true if a slot was taken and must be given back with {@link #release()}.
+     */
+    public boolean tryAcquire() {
+        long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            if (slots.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                acquired = true;
+                return true;
+            }
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                queueFull.increment();
+                return false;
+            }
+            try {
+                acquired = slots.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } finally {
+                queued.decrementAndGet();
+            }
+            if (!acquired) timedOut.increment();
+            return acquired;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            timedOut.increment();
+            return false;
+        } finally {
+            if (acquired) waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Takes a slot, waiting as long as it takes (the queue limit does not apply) */
+    public void acquire() throws InterruptedException {
+        long start = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            slots.acquire();
+        } finally {
+            queued.decrementAndGet();
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /** Gives back a slot taken with {@link #tryAcquire()} or {@link #acquire()} */
+    public void release() {
+        slots.release();
+    }
+}
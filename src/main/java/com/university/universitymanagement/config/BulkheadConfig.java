@@ -0,0 +1,50 @@
+package com.university.universitymanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Duration;
+
+/**
+ * The bulkheads of the read, write, audit and export workloads (see {@link Bulkhead}), each
+ * configured under bulkhead.&lt;name&gt;.max-concurrent, max-queued and max-wait-ms.
+ *
+ * Requests are admitted by {@link BulkheadFilter}; audit inserts on the audit pool by
+ * AuditLogWriter; NDJSON exports by ExportController, for as long as they stream.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    public Bulkhead readBulkhead(MeterRegistry meterRegistry,
+                                 @Value("${bulkhead.read.max-concurrent:100}") int maxConcurrent,
+                                 @Value("${bulkhead.read.max-queued:100}") int maxQueued,
+                                 @Value("${bulkhead.read.max-wait-ms:500}") long maxWaitMs) {
+        return new Bulkhead("read", maxConcurrent, maxQueued, Duration.ofMillis(maxWaitMs), meterRegistry);
+    }
+
+    @Bean
+    public Bulkhead writeBulkhead(MeterRegistry meterRegistry,
+                                  @Value("${bulkhead.write.max-concurrent:20}") int maxConcurrent,
+                                  @Value("${bulkhead.write.max-queued:50}") int maxQueued,
+                                  @Value("${bulkhead.write.max-wait-ms:2000}") long maxWaitMs) {
+        return new Bulkhead("write", maxConcurrent, maxQueued, Duration.ofMillis(maxWaitMs), meterRegistry);
+    }
+
+    @Bean
+    public Bulkhead auditBulkhead(MeterRegistry meterRegistry,
+                                  @Value("${bulkhead.audit.max-concurrent:3}") int maxConcurrent,
+                                  @Value("${bulkhead.audit.max-queued:20}") int maxQueued,
+                                  @Value("${bulkhead.audit.max-wait-ms:200}") long maxWaitMs) {
+        return new Bulkhead("audit", maxConcurrent, maxQueued, Duration.ofMillis(maxWaitMs), meterRegistry);
+    }
+
+    @Bean
+    public Bulkhead exportBulkhead(MeterRegistry meterRegistry,
+                                   @Value("${bulkhead.export.max-concurrent:2}") int maxConcurrent,
+                                   @Value("${bulkhead.export.max-queued:2}") int maxQueued,
+                                   @Value("${bulkhead.export.max-wait-ms:1000}") long maxWaitMs) {
+        return new Bulkhead("export", maxConcurrent, maxQueued, Duration.ofMillis(maxWaitMs), meterRegistry);
+    }
+}
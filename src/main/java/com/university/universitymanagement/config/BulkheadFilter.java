@@ -0,0 +1,71 @@
+package com.university.universitymanagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Admits API requests through the read bulkhead (GET, HEAD and OPTIONS) or the write
+ * bulkhead (everything else), so that a burst of writes cannot occupy every request
+ * thread while reads wait behind it, and the other way round.
+ *
+ * A request that is not admitted within its bulkhead's wait, or finds its queue full,
+ * is answered with 503 Service Unavailable and a Retry-After header
+ * (bulkhead.retry-after-seconds). The slot is held until the handler returns; the
+ * streaming part of an asynchronous response runs outside it, so exports hold a slot of
+ * the export bulkhead while they stream (see ExportController).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class BulkheadFilter extends OncePerRequestFilter {
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Bulkhead readBulkhead;
+    private final Bulkhead writeBulkhead;
+    private final String retryAfterSeconds;
+
+    /** Constructor for BulkheadFilter */
+    public BulkheadFilter(@Qualifier("readBulkhead") Bulkhead readBulkhead,
+                          @Qualifier("writeBulkhead") Bulkhead writeBulkhead,
+                          @Value("${bulkhead.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.readBulkhead = readBulkhead;
+        this.writeBulkhead = writeBulkhead;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = READ_METHODS.contains(request.getMethod()) ? readBulkhead : writeBulkhead;
+        if (!bulkhead.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"message\":\"Server busy, retry later\",\"error\":\"Too many concurrent "
+                    + bulkhead.name() + " requests\"}");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.university.universitymanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Gives reads, writes, audit writes and exports connection pools of their own, so that one
+ * workload exhausting its pool leaves the others their connections.
+ *
+ * - write: the spring.datasource settings (pool settings under spring.datasource.hikari).
+ * - read: datasource.read.hikari; on the replica when datasource.replica.url is set,
+ *   on the primary otherwise.
+ * - audit: datasource.audit.hikari, on the primary; used by the audit write-behind
+ *   and journal (see AuditLogWriter).
+ * - export: datasource.export.hikari, read-only, on the replica like the read pool; used
+ *   only by the NDJSON export, whose long-running cursors need their own driver settings
+ *   (on MySQL, useCursorFetch) and must not hold the read pool's connections.
+ *
+ * The application's DataSource routes read-only transactions to the read pool and all
+ * other work to the write pool (see {@link ReadWriteRoutingDataSource}). Hibernate is
+ * switched to acquiring a connection per transaction and releasing it at the end, instead
+ * of holding it for the whole request (open-in-view), so that every transaction of a
+ * request is routed on its own and holds its connection only while it runs.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("write");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.read.hikari")
+    public HikariDataSource readDataSource(DataSourceProperties properties,
+                                           @Value("${datasource.replica.url:}") String replicaUrl,
+                                           @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+                                           @Value("${datasource.replica.password:${spring.datasource.password:}}") String password) {
+        return readOnlyPool("read", properties, replicaUrl, username, password);
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.export.hikari")
+    public HikariDataSource exportDataSource(DataSourceProperties properties,
+                                             @Value("${datasource.replica.url:}") String replicaUrl,
+                                             @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+                                             @Value("${datasource.replica.password:${spring.datasource.password:}}") String password) {
+        return readOnlyPool("export", properties, replicaUrl, username, password);
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.audit.hikari")
+    public HikariDataSource auditDataSource(DataSourceProperties properties) {
+        return pool("audit", properties, properties.determineUrl(), properties.determineUsername(), properties.determinePassword());
+    }
+
+    /** A read-only pool on the replica when one is configured, on the primary otherwise. */
+    private static HikariDataSource readOnlyPool(String name, DataSourceProperties properties, String replicaUrl,
+                                                 String username, String password) {
+        HikariDataSource dataSource = replicaUrl.isEmpty()
+                ? pool(name, properties, properties.determineUrl(), properties.determineUsername(), properties.determinePassword())
+                : pool(name, properties, replicaUrl, username, password);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(String name, DataSourceProperties properties, String url,
+                                         String username, String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+
+    /** Only when the read pool is on a replica. */
+    @Bean
+    @ConditionalOnExpression("!'${datasource.replica.url:}'.isEmpty()")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("writeDataSource") DataSource primary,
+                                               @Qualifier("readDataSource") DataSource replica,
+                                               @Value("${datasource.replica.max-lag-ms:5000}") long maxLagMs,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(new JdbcTemplate(primary), new JdbcTemplate(replica),
+                Duration.ofMillis(maxLagMs), meterRegistry);
+    }
+
+    /** The application's DataSource: routes each transaction once it runs its first statement. */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource write,
+                                 @Qualifier("readDataSource") DataSource read,
+                                 ObjectProvider<ReplicaLagMonitor> lagMonitor) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(write, read, lagMonitor.getIfAvailable());
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,52 @@
+package com.university.universitymanagement.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.util.Map;
+import static com.university.universitymanagement.utility.TransactionUtils.afterCompletion;
+
+/**
+ * Sends the connections of read-only transactions to the read pool and all others,
+ * including work outside a transaction, to the write pool.
+ *
+ * The decision is made when a connection is taken from the pool, so this data source
+ * must sit behind a LazyConnectionDataSourceProxy: Hibernate asks for a connection when
+ * the transaction begins, before Spring has marked it read-only. When the read pool is
+ * on a replica, reads go to the write pool as well while the {@link ReplicaLagMonitor}
+ * reports the replica as lagging, and for the maximum lag after each write transaction
+ * of this instance ends. A write evicts or invalidates the rows it changes in the
+ * second-level cache, and a read on a replica that has not replicated the write yet
+ * would put the old rows back, to be served until they expire.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private enum Target { WRITE, READ }
+
+    private final ReplicaLagMonitor lagMonitor;
+    /** System.nanoTime() until which reads stay on the primary after a write. */
+    private volatile long primaryUntil = System.nanoTime();
+
+    /**
+     * Constructor for ReadWriteRoutingDataSource.
+     *
+     * @param write      The pool of writes and of work outside transactions.
+     * @param read       The pool of read-only transactions.
+     * @param lagMonitor The lag of the replica the read pool is on, or null when it is on the primary.
+     */
+    public ReadWriteRoutingDataSource(DataSource write, DataSource read, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.WRITE, write, Target.READ, read));
+        setDefaultTargetDataSource(write);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean read = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (lagMonitor == null) return read ? Target.READ : Target.WRITE;
+        if (read) return lagMonitor.isReplicaUsable() && System.nanoTime() - primaryUntil >= 0 ? Target.READ : Target.WRITE;
+        afterCompletion(() -> primaryUntil = System.nanoTime() + lagMonitor.getMaxLag().toNanos());
+        return Target.WRITE;
+    }
+}
@@ -0,0 +1,88 @@
+package com.university.universitymanagement.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Measures how far the replica is behind the primary and decides whether reads may use it.
+ *
+ * Every instance stamps the replica_heartbeat row on the primary with the current time,
+ * and reads the row back from the replica: the age of the replicated stamp is the lag.
+ * While the lag exceeds datasource.replica.max-lag-ms, or the replica cannot be read,
+ * read-only transactions fall back to the primary. The replica is not used until the
+ * first check has passed.
+ *
+ * The lag is exposed as the datasource.replica.lag gauge (seconds, -1 when unknown) and
+ * whether reads use the replica as datasource.replica.usable.
+ */
+public class ReplicaLagMonitor {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private volatile Duration lag;
+    private volatile boolean usable;
+
+    /** Constructor for ReplicaLagMonitor */
+    public ReplicaLagMonitor(JdbcTemplate primary, JdbcTemplate replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        Gauge.builder("datasource.replica.lag", this, m -> m.lag == null ? -1 : m.lag.toNanos() / 1e9)
+                .description("Age of the heartbeat last replicated to the replica")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, m -> m.usable ? 1 : 0)
+                .description("Whether read-only transactions are sent to the replica")
+                .register(meterRegistry);
+    }
+
+    /** The lag above which reads fall back to the primary */
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    /** Whether read-only transactions may use the replica */
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /** Stamps the heartbeat row on the primary */
+    @Scheduled(fixedDelayString = "${datasource.replica.heartbeat-interval-ms:1000}")
+    public void heartbeat() {
+        try {
+            primary.update("UPDATE replica_heartbeat SET ts = ? WHERE id = 1", LocalDateTime.now());
+        } catch (DataAccessException e) {
+            log.warn("Could not write the replica heartbeat", e);
+        }
+    }
+
+    /** Reads the heartbeat back from the replica and updates whether reads may use it */
+    @Scheduled(fixedDelayString = "${datasource.replica.heartbeat-interval-ms:1000}")
+    public void check() {
+        Duration measured;
+        try {
+            LocalDateTime stamp = replica.queryForObject("SELECT ts FROM replica_heartbeat WHERE id = 1", LocalDateTime.class);
+            measured = Duration.between(stamp, LocalDateTime.now());
+        } catch (DataAccessException e) {
+            log.debug("Could not read the replica heartbeat", e);
+            measured = null;
+        }
+        boolean nowUsable = measured != null && measured.compareTo(maxLag) <= 0;
+        if (nowUsable != usable) {
+            if (nowUsable) log.info("Replica is {} ms behind, sending reads to it", measured.toMillis());
+            else log.warn("Replica is {}, sending reads to the primary",
+                    measured == null ? "unreachable" : measured.toMillis() + " ms behind");
+        }
+        lag = measured;
+        usable = nowUsable;
+    }
+}
@@ -0,0 +1,98 @@
+package com.university.universitymanagement.controller;
+
+import com.university.universitymanagement.dto.AuditLogEntry;
+import com.university.universitymanagement.entity.User;
+import com.university.universitymanagement.service.AuditLogService;
+import com.university.universitymanagement.service.UserService;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.LocalDateTime;
+import java.util.Map;
+import static com.university.universitymanagement.utility.PaginationUtils.timeCursorMeta;
+
+/**
+ * Controller for querying the audit log.
+ *
+ * Entries are returned newest first and paged with a cursor, so that following a
+ * record's history or a user's changes costs the same at any depth.
+ * All endpoints require authentication via the Authorization header.
+ */
+@RestController
+@RequestMapping("/api/audit-logs")
+public class AuditLogController {
+
+    private final AuditLogService auditLogService;
+    private final UserService userService;
+
+    /**
+     * Constructor for AuditLogController.
+     *
+     * @param auditLogService Service for querying audit log entries.
+     * @param userService Service for handling user authentication and token validation.
+     */
+    public AuditLogController(AuditLogService auditLogService, UserService userService) {
+        this.auditLogService = auditLogService;
+        this.userService = userService;
+    }
+
+    /**
+     * Helper method to retrieve the authenticated user from the Authorization header.
+     *
+     * @param req The HTTP request containing the Authorization header.
+     * @return Authenticated User object.
+     */
+    private User getUser(HttpServletRequest req) {
+        String token = req.getHeader("Authorization");
+        if (token == null || token.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing Authorization header");
+        }
+        return userService.findByToken(token);
+    }
+
+    /**
+     * Query audit log entries, e.g. who changed department 42 last week:
+     * {@code ?table=departments&recordId=42&from=2026-10-05T00:00:00&to=2026-10-12T00:00:00}.
+     *
+     * @param table Only entries of this table (optional).
+     * @param recordId Only entries of this record (optional; requires table).
+     * @param userId Only changes made by this user (optional).
+     * @param from Only entries at or after this time, ISO-8601 (optional).
+     * @param to Only entries before this time, ISO-8601 (optional).
+     * @param after Optional cursor from a previous response (blank for the first page).
+     * @param size Page size (default 50).
+     * @param req The HTTP request containing the Authorization header.
+     * @return ResponseEntity containing a list of audit log entries, pagination info and message.
+     */
+    @GetMapping
+    public ResponseEntity<?> search(
+            @RequestParam(required = false) String table,
+            @RequestParam(required = false) Long recordId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size,
+            HttpServletRequest req) {
+        try {
+            getUser(req);
+            Slice<AuditLogEntry> entries = auditLogService.search(table, recordId, userId, from, to, after, size);
+            return ResponseEntity.ok(Map.of(
+                    "message", "Audit log entries fetched successfully",
+                    "data", entries.getContent(),
+                    "pagination", timeCursorMeta(entries, AuditLogEntry::timestamp, AuditLogEntry::id)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to fetch audit log entries",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+}
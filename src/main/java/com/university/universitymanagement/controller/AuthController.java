@@ -9,7 +9,7 @@ import jakarta.validation.Valid;
 import java.util.Map;
 
 /**
- * Controller for user authentication endpoints, including registration and login.
+ * Controller for user authentication endpoints, including registration, login and logout.
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -72,4 +72,27 @@ public class AuthController {
         }
     }
 
+    /**
+     * Logout the session of the token passed in the Authorization header.
+     * The token is rejected by every endpoint afterwards.
+     *
+     * @param token The token from the Authorization header.
+     * @return ResponseEntity with a success message or error message if the token is invalid.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String token) {
+        try {
+            if (token == null || token.isBlank()) throw new RuntimeException("Missing Authorization header");
+            userService.logout(token);
+            return ResponseEntity.ok(Map.of(
+                    "message", "Logout successful"
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(
+                    "message", "Logout failed",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
 }
@@ -1,17 +1,27 @@
 package com.university.universitymanagement.controller;
 
+import com.university.universitymanagement.dto.DepartmentSummary;
 import com.university.universitymanagement.entity.*;
 import com.university.universitymanagement.service.*;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Map;
+import static com.university.universitymanagement.utility.PaginationUtils.cursorMeta;
+import static com.university.universitymanagement.utility.PaginationUtils.meta;
+import static com.university.universitymanagement.utility.PaginationUtils.summaryView;
+import static com.university.universitymanagement.utility.ETagUtils.ifMatchVersion;
+import static com.university.universitymanagement.utility.ETagUtils.etag;
 
 /**
  * Controller for managing Departments.
@@ -81,20 +91,54 @@ public class DepartmentController {
      *
      * @param page Page number (default 0).
      * @param size Page size (default 50).
+     * @param after Optional cursor from a previous response; switches to keyset pagination (blank for the first page).
+     * @param view "full" (default) or "summary", which returns only the columns of each row.
      * @param req The HTTP request containing the Authorization header.
+     * @param webRequest The request, checked against its If-None-Match header.
      * @return ResponseEntity containing the list of departments and pagination info.
      */
     @GetMapping
     public ResponseEntity<?> all(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size,
-            HttpServletRequest req) {
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "full") String view,
+            HttpServletRequest req,
+            WebRequest webRequest) {
         try {
             getUser(req);
-            List<Department> departments = departmentService.all(page, size);
+            boolean summary = summaryView(view);
+            String etag = after != null ? departmentService.etagAfter(after, size) : departmentService.etagOfPage(page, size);
+            if (webRequest.checkNotModified(summary ? etag(view, etag) : etag)) return null;
+            if (summary && after != null) {
+                Slice<DepartmentSummary> slice = departmentService.summariesAfter(after, size);
+                return ResponseEntity.ok(Map.of(
+                        "message", "Departments fetched successfully",
+                        "data", slice.getContent(),
+                        "pagination", cursorMeta(slice, DepartmentSummary::id)
+                ));
+            }
+            if (summary) {
+                Page<DepartmentSummary> departments = departmentService.summaries(page, size);
+                return ResponseEntity.ok(Map.of(
+                        "message", "Departments fetched successfully",
+                        "data", departments.getContent(),
+                        "pagination", meta(departments)
+                ));
+            }
+            if (after != null) {
+                Slice<Department> slice = departmentService.allAfter(after, size);
+                return ResponseEntity.ok(Map.of(
+                        "message", "Departments fetched successfully",
+                        "data", slice.getContent(),
+                        "pagination", cursorMeta(slice, Department::getId)
+                ));
+            }
+            Page<Department> departments = departmentService.all(page, size);
             return ResponseEntity.ok(Map.of(
                     "message", "Departments fetched successfully",
-                    "data", departments
+                    "data", departments.getContent(),
+                    "pagination", meta(departments)
             ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
@@ -109,12 +153,14 @@ public class DepartmentController {
      *
      * @param id The ID of the department to retrieve.
      * @param req The HTTP request containing the Authorization header.
+     * @param webRequest The request, checked against its If-None-Match header.
      * @return ResponseEntity containing the department and message.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> get(@PathVariable Long id, HttpServletRequest req) {
+    public ResponseEntity<?> get(@PathVariable Long id, HttpServletRequest req, WebRequest webRequest) {
         try {
             getUser(req);
+            if (webRequest.checkNotModified(departmentService.etag(id))) return null;
             Department department = departmentService.get(id);
             return ResponseEntity.ok(Map.of(
                     "message", "Department fetched successfully",
@@ -133,17 +179,27 @@ public class DepartmentController {
      *
      * @param id The ID of the department to update.
      * @param department The updated department data.
+     * @param ifMatch Optional ETag or quoted version of the department last read; 412 if it has changed since.
      * @param req The HTTP request containing the Authorization header.
      * @return ResponseEntity containing the updated department and message.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<?> update(@PathVariable Long id, @Valid @RequestBody Department department, HttpServletRequest req) {
+    public ResponseEntity<?> update(
+            @PathVariable Long id,
+            @Valid @RequestBody Department department,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            HttpServletRequest req) {
         try {
-            Department updated = departmentService.update(id, department, getUser(req));
+            Department updated = departmentService.update(id, department, ifMatchVersion(ifMatch), getUser(req));
             return ResponseEntity.ok(Map.of(
                     "message", "Department updated successfully",
                     "data", updated
             ));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(Map.of(
+                    "message", "Failed to update department",
+                    "error", e.getMessage()
+            ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
                     "message", "Failed to update department",
@@ -173,7 +229,82 @@ public class DepartmentController {
             ));
         }
     }
-    
-}
 
+    /**
+     * Create departments in bulk.
+     * The rows are inserted with batched statements in a single transaction; if any item is invalid, nothing is created.
+     *
+     * @param departments The departments to create (at most 5000).
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity with the IDs of the created departments, in request order, or error message.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createAll(@RequestBody List<@Valid Department> departments, HttpServletRequest req) {
+        try {
+            List<Long> ids = departmentService.createAll(departments, getUser(req));
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                    "message", "Departments created successfully",
+                    "data", Map.of("count", ids.size(), "ids", ids)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to create departments",
+                    "error", e.getMessage()
+            ));
+        }
+    }
 
+    /**
+     * Update departments in bulk. Every item must carry the ID of the department it updates.
+     * If any item is invalid or not found, nothing is updated.
+     * Items that carry a version are only updated if still at that version; otherwise nothing is updated and 412 is returned.
+     *
+     * @param departments The departments with updated data (at most 5000).
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity with the IDs of the updated departments or error message.
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<?> updateAll(@RequestBody List<@Valid Department> departments, HttpServletRequest req) {
+        try {
+            List<Long> ids = departmentService.updateAll(departments, getUser(req));
+            return ResponseEntity.ok(Map.of(
+                    "message", "Departments updated successfully",
+                    "data", Map.of("count", ids.size(), "ids", ids)
+            ));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(Map.of(
+                    "message", "Failed to update departments",
+                    "error", e.getMessage()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to update departments",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Soft delete departments in bulk. If any ID is not found, nothing is deleted.
+     *
+     * @param ids The IDs of the departments to delete (at most 5000).
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity with the IDs of the deleted departments or error message.
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<?> deleteAll(@RequestBody List<Long> ids, HttpServletRequest req) {
+        try {
+            List<Long> deleted = departmentService.deleteAll(ids, getUser(req));
+            return ResponseEntity.ok(Map.of(
+                    "message", "Departments deleted successfully",
+                    "data", Map.of("count", deleted.size(), "ids", deleted)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to delete departments",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
+}
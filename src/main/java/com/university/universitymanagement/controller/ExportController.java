@@ -0,0 +1,106 @@
+package com.university.universitymanagement.controller;
+
+import com.university.universitymanagement.config.Bulkhead;
+import com.university.universitymanagement.entity.User;
+import com.university.universitymanagement.service.ExportService;
+import com.university.universitymanagement.service.UserService;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * REST controller exporting whole tables as NDJSON, for mirroring the catalog
+ * into other systems.
+ * The response is streamed from the database as rows are read, so exports of any
+ * size use constant memory. Available datasets: universities, faculties,
+ * departments, featured-programs and audit-log.
+ * Each export holds a slot of the export bulkhead until its last row is written,
+ * so at most bulkhead.export.max-concurrent exports stream at once; further
+ * requests wait for a slot and are then answered with 503 and Retry-After.
+ * All endpoints require a valid Authorization token passed in the header.
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportService exportService;
+    private final UserService userService;
+    private final Bulkhead exportBulkhead;
+    private final String retryAfterSeconds;
+
+    /**
+     * Constructor for ExportController.
+     *
+     * @param exportService Service streaming the table contents.
+     * @param userService Service for handling user authentication and token validation.
+     * @param exportBulkhead Bulkhead limiting the exports streaming at once.
+     * @param retryAfterSeconds Retry-After of the exports turned away by the bulkhead.
+     */
+    public ExportController(ExportService exportService, UserService userService,
+                            @Qualifier("exportBulkhead") Bulkhead exportBulkhead,
+                            @Value("${bulkhead.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.exportService = exportService;
+        this.userService = userService;
+        this.exportBulkhead = exportBulkhead;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+    }
+
+    /**
+     * Helper method to retrieve the authenticated user from the Authorization header.
+     *
+     * @param req The HTTP request containing the Authorization header.
+     * @return Authenticated User object.
+     */
+    private User getUser(HttpServletRequest req) {
+        String token = req.getHeader("Authorization");
+        if (token == null || token.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing Authorization header");
+        }
+        return userService.findByToken(token);
+    }
+
+    /**
+     * Stream every row of a dataset, ordered by ID, one JSON object per line.
+     * Errors are reported with the status code only, since the body is NDJSON.
+     *
+     * @param dataset The dataset to export.
+     * @param afterId Only export rows with a greater ID, to resume an interrupted export (default 0).
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity streaming the rows.
+     */
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "0") long afterId,
+            HttpServletRequest req) {
+        getUser(req);
+        if (!exportService.exists(dataset)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown dataset: " + dataset);
+        }
+        if (!exportBulkhead.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                    .build();
+        }
+        // The body runs on an async thread after this method has returned; the slot is released once it is done
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(out -> {
+                    try {
+                        exportService.export(dataset, afterId, out);
+                    } finally {
+                        exportBulkhead.release();
+                    }
+                });
+    }
+}
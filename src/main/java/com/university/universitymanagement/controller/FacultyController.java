@@ -1,17 +1,27 @@
 package com.university.universitymanagement.controller;
 
+import com.university.universitymanagement.dto.FacultySummary;
 import com.university.universitymanagement.entity.*;
 import com.university.universitymanagement.service.*;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Map;
+import static com.university.universitymanagement.utility.PaginationUtils.cursorMeta;
+import static com.university.universitymanagement.utility.PaginationUtils.meta;
+import static com.university.universitymanagement.utility.PaginationUtils.summaryView;
+import static com.university.universitymanagement.utility.ETagUtils.ifMatchVersion;
+import static com.university.universitymanagement.utility.ETagUtils.etag;
 
 /**
  * REST controller for managing Faculty entities.
@@ -80,20 +90,54 @@ public class FacultyController {
      *
      * @param page Page number (default 0)
      * @param size Page size (default 50)
+     * @param after Optional cursor from a previous response; switches to keyset pagination (blank for the first page).
+     * @param view "full" (default) or "summary", which returns only the columns and the number of active children of each row.
      * @param req HTTP request for user authentication.
-     * @return ResponseEntity containing a list of faculties or error message.
+     * @param webRequest The request, checked against its If-None-Match header.
+     * @return ResponseEntity containing a page of faculties with pagination info or error message.
      */
     @GetMapping
     public ResponseEntity<?> all(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size,
-            HttpServletRequest req) {
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "full") String view,
+            HttpServletRequest req,
+            WebRequest webRequest) {
         try {
             getUser(req);
-            List<Faculty> faculties = facultyService.all(page, size);
+            boolean summary = summaryView(view);
+            String etag = after != null ? facultyService.etagAfter(after, size) : facultyService.etagOfPage(page, size);
+            if (webRequest.checkNotModified(summary ? etag(view, etag) : etag)) return null;
+            if (summary && after != null) {
+                Slice<FacultySummary> slice = facultyService.summariesAfter(after, size);
+                return ResponseEntity.ok(Map.of(
+                        "message", "Faculties fetched successfully",
+                        "data", slice.getContent(),
+                        "pagination", cursorMeta(slice, FacultySummary::id)
+                ));
+            }
+            if (summary) {
+                Page<FacultySummary> faculties = facultyService.summaries(page, size);
+                return ResponseEntity.ok(Map.of(
+                        "message", "Faculties fetched successfully",
+                        "data", faculties.getContent(),
+                        "pagination", meta(faculties)
+                ));
+            }
+            if (after != null) {
+                Slice<Faculty> slice = facultyService.allAfter(after, size);
+                return ResponseEntity.ok(Map.of(
+                        "message", "Faculties fetched successfully",
+                        "data", slice.getContent(),
+                        "pagination", cursorMeta(slice, Faculty::getId)
+                ));
+            }
+            Page<Faculty> faculties = facultyService.all(page, size);
             return ResponseEntity.ok(Map.of(
                     "message", "Faculties fetched successfully",
-                    "data", faculties
+                    "data", faculties.getContent(),
+                    "pagination", meta(faculties)
             ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
@@ -108,12 +152,14 @@ public class FacultyController {
      *
      * @param id Faculty ID
      * @param req HTTP request for user authentication.
+     * @param webRequest The request, checked against its If-None-Match header.
      * @return ResponseEntity containing the faculty data or error message if not found.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> get(@PathVariable Long id, HttpServletRequest req) {
+    public ResponseEntity<?> get(@PathVariable Long id, HttpServletRequest req, WebRequest webRequest) {
         try {
             getUser(req);
+            if (webRequest.checkNotModified(facultyService.etag(id))) return null;
             Faculty faculty = facultyService.get(id);
             return ResponseEntity.ok(Map.of(
                     "message", "Faculty fetched successfully",
@@ -132,17 +178,27 @@ public class FacultyController {
      *
      * @param id Faculty ID
      * @param faculty Faculty object with updated data.
+     * @param ifMatch Optional ETag or quoted version of the faculty last read; 412 if it has changed since.
      * @param req HTTP request for user authentication.
      * @return ResponseEntity containing updated faculty data or error message.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<?> update(@PathVariable Long id, @Valid @RequestBody Faculty faculty, HttpServletRequest req) {
+    public ResponseEntity<?> update(
+            @PathVariable Long id,
+            @Valid @RequestBody Faculty faculty,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            HttpServletRequest req) {
         try {
-            Faculty updated = facultyService.update(id, faculty, getUser(req));
+            Faculty updated = facultyService.update(id, faculty, ifMatchVersion(ifMatch), getUser(req));
             return ResponseEntity.ok(Map.of(
                     "message", "Faculty updated successfully",
                     "data", updated
             ));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(Map.of(
+                    "message", "Failed to update faculty",
+                    "error", e.getMessage()
+            ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
                     "message", "Failed to update faculty",
@@ -173,6 +229,81 @@ public class FacultyController {
         }
     }
 
-}
+    /**
+     * Create faculties in bulk.
+     * The rows are inserted with batched statements in a single transaction; if any item is invalid, nothing is created.
+     *
+     * @param faculties The faculties to create (at most 5000).
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity with the IDs of the created faculties, in request order, or error message.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createAll(@RequestBody List<@Valid Faculty> faculties, HttpServletRequest req) {
+        try {
+            List<Long> ids = facultyService.createAll(faculties, getUser(req));
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                    "message", "Faculties created successfully",
+                    "data", Map.of("count", ids.size(), "ids", ids)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to create faculties",
+                    "error", e.getMessage()
+            ));
+        }
+    }
 
+    /**
+     * Update faculties in bulk. Every item must carry the ID of the faculty it updates.
+     * If any item is invalid or not found, nothing is updated.
+     * Items that carry a version are only updated if still at that version; otherwise nothing is updated and 412 is returned.
+     *
+     * @param faculties The faculties with updated data (at most 5000).
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity with the IDs of the updated faculties or error message.
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<?> updateAll(@RequestBody List<@Valid Faculty> faculties, HttpServletRequest req) {
+        try {
+            List<Long> ids = facultyService.updateAll(faculties, getUser(req));
+            return ResponseEntity.ok(Map.of(
+                    "message", "Faculties updated successfully",
+                    "data", Map.of("count", ids.size(), "ids", ids)
+            ));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(Map.of(
+                    "message", "Failed to update faculties",
+                    "error", e.getMessage()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to update faculties",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Soft delete faculties in bulk. If any ID is not found, nothing is deleted.
+     *
+     * @param ids The IDs of the faculties to delete (at most 5000).
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity with the IDs of the deleted faculties or error message.
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<?> deleteAll(@RequestBody List<Long> ids, HttpServletRequest req) {
+        try {
+            List<Long> deleted = facultyService.deleteAll(ids, getUser(req));
+            return ResponseEntity.ok(Map.of(
+                    "message", "Faculties deleted successfully",
+                    "data", Map.of("count", deleted.size(), "ids", deleted)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to delete faculties",
+                    "error", e.getMessage()
+            ));
+        }
+    }
 
+}
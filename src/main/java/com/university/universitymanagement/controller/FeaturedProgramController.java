@@ -1,16 +1,26 @@
 package com.university.universitymanagement.controller;
 
+import com.university.universitymanagement.dto.FeaturedProgramSummary;
 import com.university.universitymanagement.entity.*;
 import com.university.universitymanagement.service.*;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Map;
+import static com.university.universitymanagement.utility.PaginationUtils.cursorMeta;
+import static com.university.universitymanagement.utility.PaginationUtils.meta;
+import static com.university.universitymanagement.utility.PaginationUtils.summaryView;
+import static com.university.universitymanagement.utility.ETagUtils.ifMatchVersion;
+import static com.university.universitymanagement.utility.ETagUtils.etag;
 
 /**
  * Controller for managing Featured Programs.
@@ -78,20 +88,54 @@ public class FeaturedProgramController {
      *
      * @param page Page number (default 0).
      * @param size Page size (default 50).
+     * @param after Optional cursor from a previous response; switches to keyset pagination (blank for the first page).
+     * @param view "full" (default) or "summary", which returns only the columns of each row.
      * @param req The HTTP request containing the Authorization header.
-     * @return ResponseEntity containing the list of Featured Programs and message.
+     * @param webRequest The request, checked against its If-None-Match header.
+     * @return ResponseEntity containing the list of Featured Programs, pagination info and message.
      */
     @GetMapping
     public ResponseEntity<?> all(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size,
-            HttpServletRequest req) {
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "full") String view,
+            HttpServletRequest req,
+            WebRequest webRequest) {
         try {
             getUser(req);
-            List<FeaturedProgram> list = featuredProgramService.all(page, size);
+            boolean summary = summaryView(view);
+            String etag = after != null ? featuredProgramService.etagAfter(after, size) : featuredProgramService.etagOfPage(page, size);
+            if (webRequest.checkNotModified(summary ? etag(view, etag) : etag)) return null;
+            if (summary && after != null) {
+                Slice<FeaturedProgramSummary> slice = featuredProgramService.summariesAfter(after, size);
+                return ResponseEntity.ok(Map.of(
+                        "message", "Featured Programs retrieved successfully",
+                        "data", slice.getContent(),
+                        "pagination", cursorMeta(slice, FeaturedProgramSummary::id)
+                ));
+            }
+            if (summary) {
+                Page<FeaturedProgramSummary> list = featuredProgramService.summaries(page, size);
+                return ResponseEntity.ok(Map.of(
+                        "message", "Featured Programs retrieved successfully",
+                        "data", list.getContent(),
+                        "pagination", meta(list)
+                ));
+            }
+            if (after != null) {
+                Slice<FeaturedProgram> slice = featuredProgramService.allAfter(after, size);
+                return ResponseEntity.ok(Map.of(
+                        "message", "Featured Programs retrieved successfully",
+                        "data", slice.getContent(),
+                        "pagination", cursorMeta(slice, FeaturedProgram::getId)
+                ));
+            }
+            Page<FeaturedProgram> list = featuredProgramService.all(page, size);
             return ResponseEntity.ok(Map.of(
                     "message", "Featured Programs retrieved successfully",
-                    "data", list
+                    "data", list.getContent(),
+                    "pagination", meta(list)
             ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
@@ -106,6 +150,7 @@ public class FeaturedProgramController {
      *
      * @param id The ID of the Featured Program to update.
      * @param featuredProgram The updated FeaturedProgram data.
+     * @param ifMatch Optional ETag or quoted version of the Featured Program last read; 412 if it has changed since.
      * @param req The HTTP request containing the Authorization header.
      * @return ResponseEntity containing the updated FeaturedProgram and message.
      */
@@ -113,14 +158,20 @@ public class FeaturedProgramController {
     public ResponseEntity<?> update(
             @PathVariable Long id,
             @RequestBody FeaturedProgram featuredProgram,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             HttpServletRequest req
     ) {
         try {
-            FeaturedProgram updated = featuredProgramService.update(id, featuredProgram, getUser(req));
+            FeaturedProgram updated = featuredProgramService.update(id, featuredProgram, ifMatchVersion(ifMatch), getUser(req));
             return ResponseEntity.ok(Map.of(
                     "message", "Featured Program updated successfully",
                     "data", updated
             ));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(Map.of(
+                    "message", "Failed to update Featured Program",
+                    "error", e.getMessage()
+            ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
                     "message", "Failed to update Featured Program",
@@ -150,4 +201,82 @@ public class FeaturedProgramController {
             ));
         }
     }
+
+    /**
+     * Create featured programs in bulk.
+     * The rows are inserted with batched statements in a single transaction; if any item is invalid, nothing is created.
+     *
+     * @param featuredPrograms The featured programs to create (at most 5000).
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity with the IDs of the created featured programs, in request order, or error message.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createAll(@RequestBody List<FeaturedProgram> featuredPrograms, HttpServletRequest req) {
+        try {
+            List<Long> ids = featuredProgramService.createAll(featuredPrograms, getUser(req));
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                    "message", "Featured Programs created successfully",
+                    "data", Map.of("count", ids.size(), "ids", ids)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to create Featured Programs",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Update featured programs in bulk. Every item must carry the ID of the featured program it updates.
+     * If any item is invalid or not found, nothing is updated.
+     * Items that carry a version are only updated if still at that version; otherwise nothing is updated and 412 is returned.
+     *
+     * @param featuredPrograms The featured programs with updated data (at most 5000).
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity with the IDs of the updated featured programs or error message.
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<?> updateAll(@RequestBody List<FeaturedProgram> featuredPrograms, HttpServletRequest req) {
+        try {
+            List<Long> ids = featuredProgramService.updateAll(featuredPrograms, getUser(req));
+            return ResponseEntity.ok(Map.of(
+                    "message", "Featured Programs updated successfully",
+                    "data", Map.of("count", ids.size(), "ids", ids)
+            ));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(Map.of(
+                    "message", "Failed to update Featured Programs",
+                    "error", e.getMessage()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to update Featured Programs",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Soft delete featured programs in bulk. If any ID is not found, nothing is deleted.
+     *
+     * @param ids The IDs of the featured programs to delete (at most 5000).
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity with the IDs of the deleted featured programs or error message.
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<?> deleteAll(@RequestBody List<Long> ids, HttpServletRequest req) {
+        try {
+            List<Long> deleted = featuredProgramService.deleteAll(ids, getUser(req));
+            return ResponseEntity.ok(Map.of(
+                    "message", "Featured Programs deleted successfully",
+                    "data", Map.of("count", deleted.size(), "ids", deleted)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to delete Featured Programs",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
 }
@@ -0,0 +1,133 @@
+package com.university.universitymanagement.controller;
+
+import com.university.universitymanagement.dto.ImportReport;
+import com.university.universitymanagement.entity.User;
+import com.university.universitymanagement.service.ImportService;
+import com.university.universitymanagement.service.ImportService.Format;
+import com.university.universitymanagement.service.UserService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * REST controller for importing faculties and departments from files.
+ * Files are uploaded as multipart form data in the "file" part, as CSV with a header
+ * row or as NDJSON. The response reports the outcome of every chunk of rows.
+ * All endpoints require a valid Authorization token passed in the header.
+ */
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    private final ImportService importService;
+    private final UserService userService;
+
+    /**
+     * Constructor for ImportController.
+     *
+     * @param importService Service for parsing and saving the imported rows.
+     * @param userService Service for handling user authentication and token validation.
+     */
+    public ImportController(ImportService importService, UserService userService) {
+        this.importService = importService;
+        this.userService = userService;
+    }
+
+    /**
+     * Helper method to retrieve the authenticated user from the Authorization header.
+     *
+     * @param req The HTTP request containing the Authorization header.
+     * @return Authenticated User object.
+     */
+    private User getUser(HttpServletRequest req) {
+        String token = req.getHeader("Authorization");
+        if (token == null || token.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing Authorization header");
+        }
+        return userService.findByToken(token);
+    }
+
+    /**
+     * Import faculties. Each row names its university by ID (universityId) or by name (university).
+     *
+     * @param file The CSV or NDJSON file.
+     * @param format Optional format, "csv" or "ndjson"; by default taken from the file name or content type.
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity containing the import report or error message.
+     */
+    @PostMapping("/faculties")
+    public ResponseEntity<?> importFaculties(@RequestParam("file") MultipartFile file,
+                                             @RequestParam(required = false) String format,
+                                             HttpServletRequest req) {
+        try {
+            User user = getUser(req);
+            ImportReport report;
+            try (InputStream in = file.getInputStream()) {
+                report = importService.importFaculties(in, format(file, format), user);
+            }
+            return ResponseEntity.ok(Map.of(
+                    "message", "Faculties imported",
+                    "data", report
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to import faculties",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Import departments. Each row names its faculty by ID (facultyId) or by name (faculty),
+     * optionally qualified by university ID or name when faculty names repeat across universities.
+     *
+     * @param file The CSV or NDJSON file.
+     * @param format Optional format, "csv" or "ndjson"; by default taken from the file name or content type.
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity containing the import report or error message.
+     */
+    @PostMapping("/departments")
+    public ResponseEntity<?> importDepartments(@RequestParam("file") MultipartFile file,
+                                               @RequestParam(required = false) String format,
+                                               HttpServletRequest req) {
+        try {
+            User user = getUser(req);
+            ImportReport report;
+            try (InputStream in = file.getInputStream()) {
+                report = importService.importDepartments(in, format(file, format), user);
+            }
+            return ResponseEntity.ok(Map.of(
+                    "message", "Departments imported",
+                    "data", report
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to import departments",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
+    /** Determines the file format from the explicit parameter, the file name or the content type (CSV by default). */
+    private static Format format(MultipartFile file, String format) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported format: " + format);
+            }
+        }
+        String name = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase(Locale.ROOT);
+        String type = file.getContentType() == null ? "" : file.getContentType().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || type.contains("ndjson")) return Format.NDJSON;
+        return Format.CSV;
+    }
+}
@@ -0,0 +1,94 @@
+package com.university.universitymanagement.controller;
+
+import com.university.universitymanagement.entity.User;
+import com.university.universitymanagement.service.EntityCacheService;
+import com.university.universitymanagement.service.UserService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Map;
+
+/**
+ * Controller exposing runtime statistics of the application's in-memory caches.
+ * All endpoints require an Authorization token.
+ */
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private final UserService userService;
+    private final EntityCacheService entityCacheService;
+
+    /**
+     * Constructor for StatsController.
+     *
+     * @param userService Service for handling user authentication and token validation.
+     * @param entityCacheService Service exposing the second-level cache regions.
+     */
+    public StatsController(UserService userService, EntityCacheService entityCacheService) {
+        this.userService = userService;
+        this.entityCacheService = entityCacheService;
+    }
+
+    /**
+     * Helper method to retrieve the authenticated user from the Authorization header.
+     *
+     * @param req The HTTP request containing the Authorization header.
+     * @return Authenticated User object.
+     */
+    private User getUser(HttpServletRequest req) {
+        String token = req.getHeader("Authorization");
+        if (token == null || token.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing Authorization header");
+        }
+        return userService.findByToken(token);
+    }
+
+    /**
+     * Fetch the hit/miss counters of the authentication token cache.
+     *
+     * @param req The HTTP request containing the Authorization header.
+     * @return ResponseEntity containing the token cache statistics and message.
+     */
+    @GetMapping("/token-cache")
+    public ResponseEntity<?> tokenCache(HttpServletRequest req) {
+        try {
+            getUser(req);
+            return ResponseEntity.ok(Map.of(
+                    "message", "Token cache statistics fetched successfully",
+                    "data", userService.tokenCacheStats()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to fetch token cache statistics",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Fetch the counters of every region of the Hibernate second-level cache.
+     *
+     * @param req The HTTP request containing the Authorization header.
+     * @return ResponseEntity containing the statistics per region and message.
+     */
+    @GetMapping("/entity-cache")
+    public ResponseEntity<?> entityCache(HttpServletRequest req) {
+        try {
+            getUser(req);
+            return ResponseEntity.ok(Map.of(
+                    "message", "Entity cache statistics fetched successfully",
+                    "data", entityCacheService.stats()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to fetch entity cache statistics",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+}
@@ -1,23 +1,35 @@
 package com.university.universitymanagement.controller;
 
+import com.university.universitymanagement.dto.UniversitySummary;
+import com.university.universitymanagement.dto.UniversityTree;
 import com.university.universitymanagement.entity.*;
 import com.university.universitymanagement.service.*;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Map;
+import static com.university.universitymanagement.utility.PaginationUtils.cursorMeta;
+import static com.university.universitymanagement.utility.PaginationUtils.meta;
+import static com.university.universitymanagement.utility.PaginationUtils.summaryView;
+import static com.university.universitymanagement.utility.ETagUtils.ifMatchVersion;
+import static com.university.universitymanagement.utility.ETagUtils.etag;
 
 /**
  * Controller for managing universities.
  * 
  * Provides endpoints for creating, reading, updating, and deleting universities,
- * as well as searching universities by name.
+ * as well as searching universities by name and fetching the cached
+ * University → Faculty → Department hierarchy.
  * All endpoints require an Authorization token.
  */
 @RestController
@@ -26,16 +38,20 @@ public class UniversityController {
 
     private final UniversityService universityService;
     private final UserService userService;
+    private final UniversityTreeService universityTreeService;
 
     /**
      * Constructor for UniversityController.
      *
      * @param universityService Service for handling university-related operations.
      * @param userService Service for handling user authentication and token validation.
+     * @param universityTreeService Service for assembling and caching university hierarchies.
      */
-    public UniversityController(UniversityService universityService, UserService userService) {
+    public UniversityController(UniversityService universityService, UserService userService,
+                                UniversityTreeService universityTreeService) {
         this.universityService = universityService;
         this.userService = userService;
+        this.universityTreeService = universityTreeService;
     }
 
     /**
@@ -82,20 +98,54 @@ public class UniversityController {
      *
      * @param page Page index (default 0).
      * @param size Page size (default 50).
+     * @param after Optional cursor from a previous response; switches to keyset pagination (blank for the first page).
+     * @param view "full" (default) or "summary", which returns only the columns and the number of active children of each row.
      * @param req The HTTP request containing the Authorization header.
-     * @return ResponseEntity containing a list of Universities and message.
+     * @param webRequest The request, checked against its If-None-Match header.
+     * @return ResponseEntity containing a list of Universities, pagination info and message.
      */
     @GetMapping
     public ResponseEntity<?> all(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size,
-            HttpServletRequest req) {
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "full") String view,
+            HttpServletRequest req,
+            WebRequest webRequest) {
         try {
             getUser(req);
-            List<University> universities = universityService.all(page, size);
+            boolean summary = summaryView(view);
+            String etag = after != null ? universityService.etagAfter(after, size) : universityService.etagOfPage(page, size);
+            if (webRequest.checkNotModified(summary ? etag(view, etag) : etag)) return null;
+            if (summary && after != null) {
+                Slice<UniversitySummary> slice = universityService.summariesAfter(after, size);
+                return ResponseEntity.ok(Map.of(
+                        "message", "Universities fetched successfully",
+                        "data", slice.getContent(),
+                        "pagination", cursorMeta(slice, UniversitySummary::id)
+                ));
+            }
+            if (summary) {
+                Page<UniversitySummary> universities = universityService.summaries(page, size);
+                return ResponseEntity.ok(Map.of(
+                        "message", "Universities fetched successfully",
+                        "data", universities.getContent(),
+                        "pagination", meta(universities)
+                ));
+            }
+            if (after != null) {
+                Slice<University> slice = universityService.allAfter(after, size);
+                return ResponseEntity.ok(Map.of(
+                        "message", "Universities fetched successfully",
+                        "data", slice.getContent(),
+                        "pagination", cursorMeta(slice, University::getId)
+                ));
+            }
+            Page<University> universities = universityService.all(page, size);
             return ResponseEntity.ok(Map.of(
                     "message", "Universities fetched successfully",
-                    "data", universities
+                    "data", universities.getContent(),
+                    "pagination", meta(universities)
             ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
@@ -110,12 +160,14 @@ public class UniversityController {
      *
      * @param id University ID.
      * @param req The HTTP request containing the Authorization header.
+     * @param webRequest The request, checked against its If-None-Match header.
      * @return ResponseEntity containing the University and message.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> get(@PathVariable Long id, HttpServletRequest req) {
+    public ResponseEntity<?> get(@PathVariable Long id, HttpServletRequest req, WebRequest webRequest) {
         try {
             getUser(req);
+            if (webRequest.checkNotModified(universityService.etag(id))) return null;
             University university = universityService.get(id);
             return ResponseEntity.ok(Map.of(
                     "message", "University fetched successfully",
@@ -134,17 +186,27 @@ public class UniversityController {
      *
      * @param id University ID.
      * @param university Updated university data.
+     * @param ifMatch Optional ETag or quoted version of the university last read; 412 if it has changed since.
      * @param req The HTTP request containing the Authorization header.
      * @return ResponseEntity containing the updated University and message.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<?> update(@PathVariable Long id, @Valid @RequestBody University university, HttpServletRequest req) {
+    public ResponseEntity<?> update(
+            @PathVariable Long id,
+            @Valid @RequestBody University university,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            HttpServletRequest req) {
         try {
-            University updated = universityService.update(id, university, getUser(req));
+            University updated = universityService.update(id, university, ifMatchVersion(ifMatch), getUser(req));
             return ResponseEntity.ok(Map.of(
                     "message", "University updated successfully",
                     "data", updated
             ));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(Map.of(
+                    "message", "Failed to update university",
+                    "error", e.getMessage()
+            ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
                     "message", "Failed to update university",
@@ -181,21 +243,37 @@ public class UniversityController {
      * @param name Name to search for.
      * @param page Page index (default 0).
      * @param size Page size (default 50).
+     * @param view "full" (default) or "summary", which returns only the columns and the number of active children of each row.
      * @param req The HTTP request containing the Authorization header.
-     * @return ResponseEntity containing the search results and message.
+     * @param webRequest The request, checked against its If-None-Match header.
+     * @return ResponseEntity containing the search results, pagination info and message.
      */
     @GetMapping("/search")
     public ResponseEntity<?> searchByName(
             @RequestParam String name,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size,
-            HttpServletRequest req) {
+            @RequestParam(defaultValue = "full") String view,
+            HttpServletRequest req,
+            WebRequest webRequest) {
         try {
             getUser(req);
-            List<University> results = universityService.searchByName(name, page, size);
+            boolean summary = summaryView(view);
+            String etag = universityService.etagOfSearch(name, page, size);
+            if (webRequest.checkNotModified(summary ? etag(view, etag) : etag)) return null;
+            if (summary) {
+                Slice<UniversitySummary> results = universityService.searchSummariesByName(name, page, size);
+                return ResponseEntity.ok(Map.of(
+                        "message", "Universities fetched successfully",
+                        "data", results.getContent(),
+                        "pagination", meta(results)
+                ));
+            }
+            Slice<University> results = universityService.searchByName(name, page, size);
             return ResponseEntity.ok(Map.of(
                     "message", "Universities fetched successfully",
-                    "data", results
+                    "data", results.getContent(),
+                    "pagination", meta(results)
             ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
@@ -204,5 +282,152 @@ public class UniversityController {
             ));
         }
     }
- 
+
+    /**
+     * Fetch the hierarchy of the active universities, a page at a time: faculties, departments and featured programs.
+     *
+     * @param page Page index (default 0).
+     * @param size Page size (default 50).
+     * @param after Optional cursor from a previous response; switches to keyset pagination (blank for the first page).
+     * @param req The HTTP request containing the Authorization header.
+     * @param webRequest The request, checked against its If-None-Match header.
+     * @return ResponseEntity containing a page of university trees, pagination info and message.
+     */
+    @GetMapping("/tree")
+    public ResponseEntity<?> allTrees(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String after,
+            HttpServletRequest req,
+            WebRequest webRequest) {
+        try {
+            getUser(req);
+            if (after != null) {
+                Slice<UniversityTree> slice = universityTreeService.allAfter(after, size);
+                if (webRequest.checkNotModified(etag(slice.getContent(), slice.getSize(), slice.hasNext()))) return null;
+                return ResponseEntity.ok(Map.of(
+                        "message", "University trees fetched successfully",
+                        "data", slice.getContent(),
+                        "pagination", cursorMeta(slice, UniversityTree::id)
+                ));
+            }
+            Page<UniversityTree> trees = universityTreeService.all(page, size);
+            if (webRequest.checkNotModified(etag(trees.getContent(), trees.getNumber(), trees.getSize(),
+                    trees.getTotalElements()))) return null;
+            return ResponseEntity.ok(Map.of(
+                    "message", "University trees fetched successfully",
+                    "data", trees.getContent(),
+                    "pagination", meta(trees)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to fetch university trees",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Fetch the hierarchy of one university: faculties, departments and featured programs.
+     *
+     * @param id University ID.
+     * @param req The HTTP request containing the Authorization header.
+     * @param webRequest The request, checked against its If-None-Match header.
+     * @return ResponseEntity containing the university tree and message.
+     */
+    @GetMapping("/{id}/tree")
+    public ResponseEntity<?> tree(@PathVariable Long id, HttpServletRequest req, WebRequest webRequest) {
+        try {
+            getUser(req);
+            UniversityTree tree = universityTreeService.get(id);
+            if (webRequest.checkNotModified(etag(tree))) return null;
+            return ResponseEntity.ok(Map.of(
+                    "message", "University tree fetched successfully",
+                    "data", tree
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                    "message", "Failed to fetch university tree",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Create universities in bulk.
+     * The rows are inserted with batched statements in a single transaction; if any item is invalid, nothing is created.
+     *
+     * @param universities The universities to create (at most 5000).
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity with the IDs of the created universities, in request order, or error message.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createAll(@RequestBody List<@Valid University> universities, HttpServletRequest req) {
+        try {
+            List<Long> ids = universityService.createAll(universities, getUser(req));
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                    "message", "Universities created successfully",
+                    "data", Map.of("count", ids.size(), "ids", ids)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to create universities",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Update universities in bulk. Every item must carry the ID of the university it updates.
+     * If any item is invalid or not found, nothing is updated.
+     * Items that carry a version are only updated if still at that version; otherwise nothing is updated and 412 is returned.
+     *
+     * @param universities The universities with updated data (at most 5000).
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity with the IDs of the updated universities or error message.
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<?> updateAll(@RequestBody List<@Valid University> universities, HttpServletRequest req) {
+        try {
+            List<Long> ids = universityService.updateAll(universities, getUser(req));
+            return ResponseEntity.ok(Map.of(
+                    "message", "Universities updated successfully",
+                    "data", Map.of("count", ids.size(), "ids", ids)
+            ));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(Map.of(
+                    "message", "Failed to update universities",
+                    "error", e.getMessage()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to update universities",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Soft delete universities in bulk. If any ID is not found, nothing is deleted.
+     *
+     * @param ids The IDs of the universities to delete (at most 5000).
+     * @param req HTTP request for user authentication.
+     * @return ResponseEntity with the IDs of the deleted universities or error message.
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<?> deleteAll(@RequestBody List<Long> ids, HttpServletRequest req) {
+        try {
+            List<Long> deleted = universityService.deleteAll(ids, getUser(req));
+            return ResponseEntity.ok(Map.of(
+                    "message", "Universities deleted successfully",
+                    "data", Map.of("count", deleted.size(), "ids", deleted)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                    "message", "Failed to delete universities",
+                    "error", e.getMessage()
+            ));
+        }
+    }
+
 }
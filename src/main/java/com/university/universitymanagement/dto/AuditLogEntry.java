@@ -0,0 +1,26 @@
+package com.university.universitymanagement.dto;
+
+import com.university.universitymanagement.entity.AuditLog;
+import java.time.LocalDateTime;
+
+/**
+ * An audit log entry as returned by the audit query API, with the user reduced to its ID.
+ *
+ * @param id        The entry ID.
+ * @param tableName The table of the changed record.
+ * @param recordId  The ID of the changed record.
+ * @param action    The action performed (CREATE, UPDATE, DELETE).
+ * @param timestamp When the action was performed.
+ * @param oldValue  The previous values of the changed fields, as JSON.
+ * @param newValue  The new values of the changed fields, as JSON.
+ * @param userId    The ID of the user who performed the action.
+ */
+public record AuditLogEntry(Long id, String tableName, Long recordId, String action, LocalDateTime timestamp,
+                            String oldValue, String newValue, Long userId) {
+
+    /** Copies an entry; reads only the ID of the lazily loaded user. */
+    public static AuditLogEntry of(AuditLog log) {
+        return new AuditLogEntry(log.getId(), log.getTableName(), log.getRecordId(), log.getAction(),
+                log.getTimestamp(), log.getOldValue(), log.getNewValue(), log.getUser().getId());
+    }
+}
@@ -0,0 +1,15 @@
+package com.university.universitymanagement.dto;
+
+/**
+ * Version and audited fields of a department, read from the database and locked without loading
+ * the entity, before a conditional update.
+ *
+ * @param version   The row version.
+ * @param name      The department name.
+ * @param location  The department location.
+ * @param isActive  Whether the department is active.
+ * @param isDeleted Whether the department is deleted.
+ * @param facultyId The ID of its faculty.
+ */
+public record DepartmentSnapshot(Long version, String name, String location, Boolean isActive, Boolean isDeleted,
+                                 Long facultyId) {}
@@ -0,0 +1,12 @@
+package com.university.universitymanagement.dto;
+
+/**
+ * Summary of a department for list responses, selected without loading the entity.
+ *
+ * @param id        The department ID.
+ * @param facultyId The ID of the faculty the department belongs to.
+ * @param name      The department name.
+ * @param location  The department location.
+ * @param version   The department version.
+ */
+public record DepartmentSummary(Long id, Long facultyId, String name, String location, Long version) {}
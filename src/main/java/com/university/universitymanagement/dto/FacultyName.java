@@ -0,0 +1,10 @@
+package com.university.universitymanagement.dto;
+
+/**
+ * ID, university and name of a faculty, selected without loading the entity.
+ *
+ * @param id           The faculty ID.
+ * @param universityId The ID of the university the faculty belongs to.
+ * @param name         The faculty name.
+ */
+public record FacultyName(Long id, Long universityId, String name) {}
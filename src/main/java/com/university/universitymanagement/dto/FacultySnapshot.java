@@ -0,0 +1,13 @@
+package com.university.universitymanagement.dto;
+
+/**
+ * Version and audited fields of a faculty, read from the database and locked without loading
+ * the entity, before a conditional update.
+ *
+ * @param version      The row version.
+ * @param name         The faculty name.
+ * @param isActive     Whether the faculty is active.
+ * @param isDeleted    Whether the faculty is deleted.
+ * @param universityId The ID of its university.
+ */
+public record FacultySnapshot(Long version, String name, Boolean isActive, Boolean isDeleted, Long universityId) {}
@@ -0,0 +1,13 @@
+package com.university.universitymanagement.dto;
+
+/**
+ * Summary of a faculty for list responses, selected without loading the entity
+ * or its departments.
+ *
+ * @param id              The faculty ID.
+ * @param universityId    The ID of the university the faculty belongs to.
+ * @param name            The faculty name.
+ * @param version         The faculty version.
+ * @param departmentCount Number of active departments of the faculty.
+ */
+public record FacultySummary(Long id, Long universityId, String name, Long version, long departmentCount) {}
@@ -0,0 +1,15 @@
+package com.university.universitymanagement.dto;
+
+/**
+ * Version and audited fields of a featured program, read from the database and locked without
+ * loading the entity, before a conditional update.
+ *
+ * @param version      The row version.
+ * @param title        The program title.
+ * @param description  The program description.
+ * @param isActive     Whether the program is active.
+ * @param isDeleted    Whether the program is deleted.
+ * @param universityId The ID of its university.
+ */
+public record FeaturedProgramSnapshot(Long version, String title, String description, Boolean isActive,
+                                      Boolean isDeleted, Long universityId) {}
@@ -0,0 +1,11 @@
+package com.university.universitymanagement.dto;
+
+/**
+ * Summary of a featured program for list responses, selected without loading the entity.
+ *
+ * @param id           The featured program ID.
+ * @param universityId The ID of the university offering the program.
+ * @param title        The program title.
+ * @param version      The program version.
+ */
+public record FeaturedProgramSummary(Long id, Long universityId, String title, Long version) {}
@@ -0,0 +1,38 @@
+package com.university.universitymanagement.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of an import: totals, plus one report per chunk of records.
+ *
+ * @param rows     The number of records read, excluding the CSV header.
+ * @param imported The number of rows saved.
+ * @param failed   The number of rows rejected, either individually or with a failed chunk.
+ * @param chunks   The per-chunk reports, in input order.
+ */
+public record ImportReport(long rows, long imported, long failed, List<ChunkReport> chunks) {
+
+    /**
+     * Outcome of one chunk. Each chunk is committed in its own transaction: valid rows
+     * are saved even when other rows of the chunk are rejected, unless saving fails,
+     * in which case none of the chunk's rows are saved.
+     *
+     * @param chunk     The chunk number, starting at 1.
+     * @param firstLine The input line of the chunk's first record.
+     * @param lastLine  The input line of the chunk's last record.
+     * @param imported  The number of rows saved.
+     * @param failed    The number of rows rejected.
+     * @param ids       The IDs of the saved rows.
+     * @param errors    The rejected rows and why; at most the first 100 are listed.
+     */
+    public record ChunkReport(int chunk, long firstLine, long lastLine, int imported, int failed,
+                              List<Long> ids, List<RowError> errors) {}
+
+    /**
+     * A rejected row.
+     *
+     * @param line    The input line the record starts on (0 when the whole chunk failed).
+     * @param message Why the row was rejected.
+     */
+    public record RowError(long line, String message) {}
+}
@@ -0,0 +1,9 @@
+package com.university.universitymanagement.dto;
+
+/**
+ * ID and name of a university, selected without loading the entity.
+ *
+ * @param id   The university ID.
+ * @param name The university name.
+ */
+public record UniversityName(Long id, String name) {}
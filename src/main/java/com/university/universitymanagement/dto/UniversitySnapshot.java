@@ -0,0 +1,12 @@
+package com.university.universitymanagement.dto;
+
+/**
+ * Version and audited fields of a university, read from the database and locked without loading
+ * the entity, before a conditional update.
+ *
+ * @param version   The row version.
+ * @param name      The university name.
+ * @param isActive  Whether the university is active.
+ * @param isDeleted Whether the university is deleted.
+ */
+public record UniversitySnapshot(Long version, String name, Boolean isActive, Boolean isDeleted) {}
@@ -0,0 +1,13 @@
+package com.university.universitymanagement.dto;
+
+/**
+ * Summary of a university for list responses, selected without loading the entity
+ * or its collections.
+ *
+ * @param id                   The university ID.
+ * @param name                 The university name.
+ * @param version              The university version.
+ * @param facultyCount         Number of active faculties of the university.
+ * @param featuredProgramCount Number of active featured programs of the university.
+ */
+public record UniversitySummary(Long id, String name, Long version, long facultyCount, long featuredProgramCount) {}
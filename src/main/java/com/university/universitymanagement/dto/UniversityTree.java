@@ -0,0 +1,24 @@
+package com.university.universitymanagement.dto;
+
+import java.util.List;
+
+/**
+ * Read-only view of a university with its active faculties, their active
+ * departments, and its active featured programs.
+ *
+ * @param id               The university ID.
+ * @param name             The university name.
+ * @param faculties        The active faculties of the university.
+ * @param featuredPrograms The active featured programs of the university.
+ */
+public record UniversityTree(Long id, String name, List<FacultyNode> faculties, List<FeaturedProgramNode> featuredPrograms) {
+
+    /** A faculty within the tree, with its active departments. */
+    public record FacultyNode(Long id, String name, List<DepartmentNode> departments) {}
+
+    /** A department within the tree. */
+    public record DepartmentNode(Long id, String name, String location) {}
+
+    /** A featured program within the tree. */
+    public record FeaturedProgramNode(Long id, String title, String description) {}
+}
@@ -0,0 +1,9 @@
+package com.university.universitymanagement.dto;
+
+/**
+ * ID and version of a row, selected without loading the entity, to compute ETags.
+ *
+ * @param id      The row ID.
+ * @param version The row version.
+ */
+public record VersionStamp(Long id, Long version) {}
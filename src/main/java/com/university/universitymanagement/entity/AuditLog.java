@@ -30,19 +30,25 @@ public class AuditLog {
     /** The timestamp when the action was performed. */
     private LocalDateTime timestamp;
 
-    /** The previous value of the record (stored as text). */
+    /** The previous values of the changed fields, as a compact JSON object. */
     @Column(columnDefinition = "TEXT")
     private String oldValue;
     
-    /** The new value of the record (stored as text). */
+    /** The new values of the changed fields, as a compact JSON object. */
     @Column(columnDefinition = "TEXT")
     private String newValue;
 
      /** The user who performed the action. Cannot be null. */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    /** The random ID of the journal file the entry was shipped from, if it went through the journal. */
+    private Long journalFile;
+
+    /** The offset of the entry in its journal file; with journalFile, identifies a replayed entry. */
+    private Long journalOffset;
+
     /** Getters & Setters */
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -67,5 +73,11 @@ public class AuditLog {
 
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
+
+    public Long getJournalFile() { return journalFile; }
+    public void setJournalFile(Long journalFile) { this.journalFile = journalFile; }
+
+    public Long getJournalOffset() { return journalOffset; }
+    public void setJournalOffset(Long journalOffset) { this.journalOffset = journalOffset; }
 }
 
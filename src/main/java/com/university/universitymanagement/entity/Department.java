@@ -2,6 +2,8 @@ package com.university.universitymanagement.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -11,11 +13,17 @@ import jakarta.validation.constraints.NotNull;
  * Each department belongs to one faculty.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "departments")
 @Table(name = "departments")
 public class Department {
-    /** The unique identifier for the department. */
+    /**
+     * The unique identifier for the department.
+     * Allocated in blocks from the id_generators table, so that inserts can be batched.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "departments_id")
+    @TableGenerator(name = "departments_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "departments", allocationSize = 50)
     private Long id;
 
     /** The name of the department. Cannot be blank. */
@@ -30,12 +38,16 @@ public class Department {
     /** Indicates whether the department is deleted. Defaults to false. */
     private Boolean isDeleted = false;
 
+    /** Version of the department, incremented by Hibernate on every update. Used for ETags. */
+    @Version
+    private Long version;
+
      /**
      * The Faculty this department belongs to.
      * Back reference for JSON serialization to prevent infinite recursion.
      */
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "faculty_id", nullable = false)
     @JsonBackReference
     private Faculty faculty;
@@ -56,6 +68,9 @@ public class Department {
     public Boolean getIsDeleted() { return isDeleted; }
     public void setIsDeleted(Boolean isDeleted) { this.isDeleted = isDeleted; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public Faculty getFaculty() { return faculty; }
     public void setFaculty(Faculty faculty) { this.faculty = faculty; }
 }
@@ -1,6 +1,8 @@
 package com.university.universitymanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
@@ -13,11 +15,17 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
  * Each faculty belongs to one university and can have multiple department associated with it.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "faculties")
 @Table(name = "faculties")
 public class Faculty {
-    /** The unique identifier for the faculty. */
+    /**
+     * The unique identifier for the faculty.
+     * Allocated in blocks from the id_generators table, so that inserts can be batched.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "faculties_id")
+    @TableGenerator(name = "faculties_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "faculties", allocationSize = 50)
     private Long id;
 
     /** The name of the faculty. Cannot be blank. */
@@ -29,18 +37,23 @@ public class Faculty {
     /** Indicates whether the faculty is deleted. Defaults to false. */
     private Boolean isDeleted = false;
 
+    /** Version of the faculty, incremented by Hibernate on every update. Used for ETags. */
+    @Version
+    private Long version;
+
     /**
      * The university this faculty belongs to.
      * Back reference for JSON serialization to prevent infinite recursion.
      */
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "university_id", nullable = false)
     @JsonBackReference 
     private University university;
 
     /** List of departments associated with this faculty */
     @OneToMany(mappedBy = "faculty")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "faculty-departments")
     @JsonManagedReference
     private List<Department> departments;
 
@@ -57,6 +70,9 @@ public class Faculty {
     public Boolean getIsDeleted() { return isDeleted; }
     public void setIsDeleted(Boolean isDeleted) { this.isDeleted = isDeleted; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public University getUniversity() { return university; }
     public void setUniversity(University university) { this.university = university; }
 
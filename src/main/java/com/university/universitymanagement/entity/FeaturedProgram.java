@@ -2,6 +2,8 @@ package com.university.universitymanagement.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -12,12 +14,18 @@ import jakarta.validation.constraints.NotNull;
  * that should be visible across all universities regardless of faculty.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "featured-programs")
 @Table(name = "featured_programs")
 public class FeaturedProgram {
 
-    /** Unique identifier for the featured program. */
+    /**
+     * Unique identifier for the featured program.
+     * Allocated in blocks from the id_generators table, so that inserts can be batched.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "featured_programs_id")
+    @TableGenerator(name = "featured_programs_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "featured_programs", allocationSize = 50)
     private Long id;
 
     /** The title or name of the featured program. Cannot be blank. */
@@ -33,12 +41,16 @@ public class FeaturedProgram {
     /** Indicates whether the featured program is deleted. Defaults to false. */
     private Boolean isDeleted = false;
 
+    /** Version of the featured program, incremented by Hibernate on every update. Used for ETags. */
+    @Version
+    private Long version;
+
     /**
      * The department associated with this featured program.
      * Back reference for JSON serialization to prevent infinite recursion.
      */
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "university_id", nullable = false)
     @JsonBackReference
     private University university;
@@ -59,6 +71,9 @@ public class FeaturedProgram {
     public Boolean getIsDeleted() { return isDeleted; }
     public void setIsDeleted(Boolean isDeleted) { this.isDeleted = isDeleted; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public University getUniversity() { return university; }
     public void setUniversity(University university) { this.university = university; }
 }
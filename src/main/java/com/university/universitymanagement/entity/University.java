@@ -1,6 +1,8 @@
 package com.university.universitymanagement.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 import jakarta.validation.constraints.NotBlank;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
@@ -11,11 +13,17 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
  * Each university has a name, active status, deletion status, and a list of faculty associated with it.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "universities")
 @Table(name = "universities")
 public class University {
-    /** The unique identifier for the university. */
+    /**
+     * The unique identifier for the university.
+     * Allocated in blocks from the id_generators table, so that inserts can be batched.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "universities_id")
+    @TableGenerator(name = "universities_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "universities", allocationSize = 50)
     private Long id;
 
     /** The name of the university. Cannot be blank. */
@@ -27,13 +35,19 @@ public class University {
     /** Indicates whether the university is deleted. Defaults to false. */
     private Boolean isDeleted = false;
 
+    /** Version of the university, incremented by Hibernate on every update. Used for ETags. */
+    @Version
+    private Long version;
+
     /** List of faculties associated with this university */
     @OneToMany(mappedBy = "university")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "university-faculties")
     @JsonManagedReference
     private List<Faculty> faculties;
 
     /** List of featured programs offered by this university */
     @OneToMany(mappedBy = "university")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "university-featured-programs")
     @JsonManagedReference
     private List<FeaturedProgram> featuredPrograms;
 
@@ -50,6 +64,9 @@ public class University {
     public Boolean getIsDeleted() { return isDeleted; }
     public void setIsDeleted(Boolean isDeleted) { this.isDeleted = isDeleted; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public List<Faculty> getFaculties() { return faculties; }
     public void setFaculties(List<Faculty> faculties) { this.faculties = faculties; }
 
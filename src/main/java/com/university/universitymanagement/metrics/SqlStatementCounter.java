@@ -0,0 +1,75 @@
+package com.university.universitymanagement.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records the SQL statements Hibernate prepares on a thread between
+ * {@link #startRecording()} and {@link #stopRecording()}.
+ *
+ * Registered through hibernate.session_factory.statement_inspector, so Hibernate
+ * creates the instance itself; the recording is therefore kept in a static thread-local.
+ * Statements prepared while no recording is active are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<Map<String, Integer>> RECORDING = new ThreadLocal<>();
+
+    /** Starts recording the statements of the current thread, discarding any recording in progress. */
+    public static void startRecording() {
+        RECORDING.set(new HashMap<>());
+    }
+
+    /**
+     * Stops recording on the current thread.
+     *
+     * @return Map from SQL text to the number of times it was prepared; empty if no recording was active.
+     */
+    public static Map<String, Integer> stopRecording() {
+        Map<String, Integer> statements = RECORDING.get();
+        RECORDING.remove();
+        return statements == null ? Map.of() : statements;
+    }
+
+    /** Returns the total number of statements in a recording. */
+    public static int total(Map<String, Integer> statements) {
+        int total = 0;
+        for (int count : statements.values()) total += count;
+        return total;
+    }
+
+    /**
+     * Groups the statements of a recording by fingerprint and keeps those issued more than once,
+     * which is what an N+1 pattern looks like.
+     *
+     * @param statements A recording returned by {@link #stopRecording()}.
+     * @return Map from fingerprint to count, most repeated first.
+     */
+    public static Map<String, Integer> repeated(Map<String, Integer> statements) {
+        Map<String, Integer> byFingerprint = new HashMap<>();
+        statements.forEach((sql, count) -> byFingerprint.merge(fingerprint(sql), count, Integer::sum));
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        byFingerprint.entrySet().stream()
+                .filter(e -> e.getValue() > 1)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(e -> repeated.put(e.getKey(), e.getValue()));
+        return repeated;
+    }
+
+    /** Normalizes whitespace, literals and IN lists, so statements that differ only by their values compare equal. */
+    static String fingerprint(String sql) {
+        return sql.replaceAll("\\s+", " ")
+                .replaceAll("'(?:[^']|'')*'", "?")
+                .replaceAll("\\b\\d+\\b", "?")
+                .replaceAll("\\(\\?(?:\\s*,\\s*\\?)*\\)", "(?...)")
+                .trim();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Map<String, Integer> statements = RECORDING.get();
+        if (statements != null) statements.merge(sql, 1, Integer::sum);
+        return sql;
+    }
+}
@@ -0,0 +1,102 @@
+package com.university.universitymanagement.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements of each request and holds them to a budget.
+ *
+ * The count is recorded as the http.server.requests.sql distribution, tagged with the
+ * same method and uri as http.server.requests. Only statements prepared by Hibernate on
+ * the request thread are counted (see {@link SqlStatementCounter}); second-level cache
+ * hits issue none.
+ *
+ * Every endpoint has a budget, sql.budget.default unless sql.budget.endpoints lists one
+ * for it as {@code METHOD /uri/template=N}. A request over its budget is counted in
+ * http.server.requests.sql.over.budget and, depending on sql.budget.mode, either logged
+ * with the statements it repeated ("log") or failed with an IllegalStateException ("fail",
+ * used by the test suite so that N+1 regressions break the build).
+ */
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int defaultBudget;
+    private final Map<String, Integer> budgets = new HashMap<>();
+    private final boolean failOverBudget;
+
+    /** Constructor for SqlStatementFilter */
+    public SqlStatementFilter(MeterRegistry meterRegistry,
+                              @Value("${sql.budget.default:25}") int defaultBudget,
+                              @Value("${sql.budget.endpoints:}") List<String> endpointBudgets,
+                              @Value("${sql.budget.mode:log}") String mode) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+        for (String entry : endpointBudgets) {
+            int eq = entry.lastIndexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Invalid SQL budget '" + entry + "', expected METHOD /uri=N");
+            budgets.put(entry.substring(0, eq).trim().replaceAll("\\s+", " "), Integer.parseInt(entry.substring(eq + 1).trim()));
+        }
+        if (!mode.equals("log") && !mode.equals("fail")) {
+            throw new IllegalArgumentException("Invalid sql.budget.mode '" + mode + "', expected log or fail");
+        }
+        this.failOverBudget = mode.equals("fail");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.startRecording();
+        Map<String, Integer> statements;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            statements = SqlStatementCounter.stopRecording();
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        int total = SqlStatementCounter.total(statements);
+        DistributionSummary.builder("http.server.requests.sql")
+                .description("SQL statements issued per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1000.0)
+                .register(meterRegistry)
+                .record(total);
+
+        String endpoint = request.getMethod() + " " + uri;
+        int budget = budgets.getOrDefault(endpoint, defaultBudget);
+        if (total <= budget) return;
+        Counter.builder("http.server.requests.sql.over.budget")
+                .description("Requests that issued more SQL statements than their budget")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+        StringBuilder repeated = new StringBuilder();
+        SqlStatementCounter.repeated(statements).forEach((sql, count) ->
+                repeated.append("\n  ").append(count).append(" x ").append(sql));
+        String message = endpoint + " issued " + total + " SQL statements, budget is " + budget
+                + (repeated.isEmpty() ? "" : "; repeated statements:" + repeated);
+        if (failOverBudget) throw new IllegalStateException(message);
+        log.warn(message);
+    }
+}
@@ -1,11 +1,58 @@
 package com.university.universitymanagement.repository;
 
 import com.university.universitymanagement.entity.*;
+import com.university.universitymanagement.utility.PaginationUtils.TimeCursor;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Repository interface for AuditLog entity.
  * 
  * Provides standard CRUD operations and query methods for AuditLog.
+ * Audit queries combine the optional filters of {@link #matching} with
+ * {@link #NEWEST_FIRST}; every combination seeks on one of the
+ * (filter columns, timestamp, id) indexes and, on MySQL, only reads the monthly
+ * partitions within the time range.
  */
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {}
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, JpaSpecificationExecutor<AuditLog> {
+
+    /** The order of audit query results, which the keyset cursor follows. */
+    Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("id"));
+
+    /**
+     * Filters entries by the given criteria; null criteria are left out of the query.
+     *
+     * @param table    The table name.
+     * @param recordId The record ID (only meaningful together with a table).
+     * @param userId   The ID of the user who made the change.
+     * @param from     Inclusive lower bound of the timestamp.
+     * @param to       Exclusive upper bound of the timestamp.
+     * @param after    Keyset position: only entries older than it, in {@link #NEWEST_FIRST} order.
+     * @return The specification.
+     */
+    static Specification<AuditLog> matching(String table, Long recordId, Long userId,
+                                            LocalDateTime from, LocalDateTime to, TimeCursor after) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (table != null) predicates.add(cb.equal(root.get("tableName"), table));
+            if (recordId != null) predicates.add(cb.equal(root.get("recordId"), recordId));
+            if (userId != null) predicates.add(cb.equal(root.get("user").get("id"), userId));
+            if (from != null) predicates.add(cb.greaterThanOrEqualTo(root.get("timestamp"), from));
+            if (to != null) predicates.add(cb.lessThan(root.get("timestamp"), to));
+            if (after != null) {
+                // The first condition alone bounds the index range and the partitions read
+                predicates.add(cb.lessThanOrEqualTo(root.get("timestamp"), after.timestamp()));
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("timestamp"), after.timestamp()),
+                        cb.lessThan(root.get("id"), after.id())));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -1,21 +1,110 @@
 package com.university.universitymanagement.repository;
 
+import com.university.universitymanagement.dto.DepartmentSummary;
+import com.university.universitymanagement.dto.DepartmentSnapshot;
+import com.university.universitymanagement.dto.VersionStamp;
 import com.university.universitymanagement.entity.*;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 //import java.util.Optional;
 
 /**
- * Repository interface for Store entity.
+ * Repository interface for Department entity.
  * 
- * Provides standard CRUD operations and query methods for Store.
+ * Provides standard CRUD operations and query methods for Department.
  * 
- * Additionally, this repository defines a custom query method:
- * {@link #findByIsActiveTrueAndIsDeletedFalse()} - returns a list of stores
+ * Additionally, this repository defines custom query methods:
+ * {@link #findByIsActiveTrueAndIsDeletedFalse(Pageable)} - returns a page of departments
  * that are active and not deleted.
+ * {@link #findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(Long, Pageable)} - returns the next keyset
+ * page of departments that are active and not deleted, after the given ID.
+ * {@link #findByIsActiveTrueAndIsDeletedFalse(Sort)} - returns all departments that are active and not deleted.
+ * {@link #findByFacultyUniversityIdAndIsActiveTrueAndIsDeletedFalse(Long, Sort)} - returns the active, not deleted
+ * departments of all faculties of one university.
+ * {@link #findByFacultyUniversityIdInAndIsActiveTrueAndIsDeletedFalse(Collection, Sort)} - returns the active, not deleted
+ * departments of the given universities, for one page of university trees.
+ * {@link #findActiveVersions(Pageable)}, {@link #findActiveVersionsAfter(Long, Pageable)} and {@link #findVersions(Collection)} -
+ * return only the ID and version of the same rows as the page queries or of the given departments, to compute ETags.
+ * {@link #findVersionsByFacultyIds(Collection)} and {@link #findVersionsByUniversityIds(Collection)} - return the ID and
+ * version of every department of the given faculties, or of all faculties of the given universities.
+ * {@link #findActiveSummaries(Pageable)} and {@link #findActiveSummariesAfter(Long, Pageable)} - return the same rows as
+ * the page queries as summaries.
+ * {@link #findSnapshot(Long)} - returns the version and audited fields of one department, read from the database and locked until the end of the transaction, before a conditional update.
+ * {@link #updateIfVersion(Long, Long, String, String, Boolean, Boolean, Long)} - writes the fields of one department
+ * only if it is still at the given version, incrementing the version, and returns the number of rows changed (0 or 1).
+ * {@link #findByIdIn(Collection)} - returns the given departments read from the database, bypassing the
+ * second-level cache, for the version checks of the bulk updates.
  */
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
-    List<Department> findByIsActiveTrueAndIsDeletedFalse();
+    Page<Department> findByIsActiveTrueAndIsDeletedFalse(Pageable pageable);
+    Slice<Department> findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(Long id, Pageable pageable);
+    List<Department> findByIsActiveTrueAndIsDeletedFalse(Sort sort);
+    List<Department> findByFacultyUniversityIdAndIsActiveTrueAndIsDeletedFalse(Long universityId, Sort sort);
+    List<Department> findByFacultyUniversityIdInAndIsActiveTrueAndIsDeletedFalse(Collection<Long> universityIds, Sort sort);
 
     //Optional<Department> findByNameContainingIgnoreCaseAndIsActiveTrueAndIsDeletedFalse(String universityName);
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(d.id, d.version) "
+            + "from Department d where d.isActive = true and d.isDeleted = false")
+    Page<VersionStamp> findActiveVersions(Pageable pageable);
+
+    @Query("select new com.university.universitymanagement.dto.DepartmentSummary(d.id, d.faculty.id, d.name, d.location, d.version) "
+            + "from Department d where d.isActive = true and d.isDeleted = false")
+    Page<DepartmentSummary> findActiveSummaries(Pageable pageable);
+
+    @Query("select new com.university.universitymanagement.dto.DepartmentSummary(d.id, d.faculty.id, d.name, d.location, d.version) "
+            + "from Department d where d.id > :id and d.isActive = true and d.isDeleted = false")
+    Slice<DepartmentSummary> findActiveSummariesAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(d.id, d.version) "
+            + "from Department d where d.id > :id and d.isActive = true and d.isDeleted = false")
+    Slice<VersionStamp> findActiveVersionsAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(d.id, d.version) "
+            + "from Department d where d.id in :ids order by d.id")
+    List<VersionStamp> findVersions(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(d.id, d.version) "
+            + "from Department d where d.faculty.id in :ids order by d.id")
+    List<VersionStamp> findVersionsByFacultyIds(@Param("ids") Collection<Long> facultyIds);
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(d.id, d.version) "
+            + "from Department d where d.faculty.university.id in :ids order by d.id")
+    List<VersionStamp> findVersionsByUniversityIds(@Param("ids") Collection<Long> universityIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.university.universitymanagement.dto.DepartmentSnapshot(d.version, d.name, d.location, d.isActive, "
+            + "d.isDeleted, d.faculty.id) from Department d where d.id = :id")
+    Optional<DepartmentSnapshot> findSnapshot(@Param("id") Long id);
+
+    /**
+     * Native, so that Hibernate does not clear the whole cache region as it does after an HQL
+     * update; the empty query space tells it that no cached data is affected, and the caller
+     * evicts the one row instead (see EntityCacheService).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = ""))
+    @Query(value = "update departments set name = :name, location = :location, "
+            + "is_active = :isActive, is_deleted = :isDeleted, faculty_id = :facultyId, "
+            + "version = version + 1 where id = :id and version = :version", nativeQuery = true)
+    int updateIfVersion(@Param("id") Long id, @Param("version") Long version, @Param("name") String name,
+                        @Param("location") String location, @Param("isActive") Boolean isActive, @Param("isDeleted") Boolean isDeleted,
+                        @Param("facultyId") Long facultyId);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"))
+    List<Department> findByIdIn(Collection<Long> ids);
 }
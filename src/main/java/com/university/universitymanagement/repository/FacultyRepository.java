@@ -1,18 +1,111 @@
 package com.university.universitymanagement.repository;
 
+import com.university.universitymanagement.dto.FacultyName;
+import com.university.universitymanagement.dto.FacultySummary;
+import com.university.universitymanagement.dto.FacultySnapshot;
+import com.university.universitymanagement.dto.VersionStamp;
 import com.university.universitymanagement.entity.*;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for faculty entity.
  * 
  * Provides standard CRUD operations and query methods for faculty.
  * 
- * Additionally, this repository defines a custom query method:
- * {@link #findByIsActiveTrueAndIsDeletedFalse()} - returns a list of faculties
+ * Additionally, this repository defines custom query methods:
+ * {@link #findByIsActiveTrueAndIsDeletedFalse(Pageable)} - returns a page of faculties
  * that are active and not deleted.
+ * {@link #findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(Long, Pageable)} - returns the next keyset
+ * page of faculties that are active and not deleted, after the given ID.
+ * {@link #findByIsActiveTrueAndIsDeletedFalse(Sort)} - returns all faculties that are active and not deleted.
+ * {@link #findByUniversityIdAndIsActiveTrueAndIsDeletedFalse(Long, Sort)} - returns the active, not deleted
+ * faculties of one university.
+ * {@link #findByUniversityIdInAndIsActiveTrueAndIsDeletedFalse(Collection, Sort)} - returns the active, not deleted
+ * faculties of the given universities, for one page of university trees.
+ * {@link #findActiveNames()} - returns the ID, university ID and name of every active faculty that is not deleted,
+ * used to resolve faculty references during imports.
+ * {@link #findActiveVersions(Pageable)}, {@link #findActiveVersionsAfter(Long, Pageable)} and {@link #findVersions(Collection)} -
+ * return only the ID and version of the same rows as the page queries or of the given faculties, to compute ETags.
+ * {@link #findVersionsByUniversityIds(Collection)} - returns the ID and version of every faculty of the given universities.
+ * {@link #findActiveSummaries(Pageable)} and {@link #findActiveSummariesAfter(Long, Pageable)} - return the same rows as
+ * the page queries as summaries, with their active departments counted instead of loaded.
+ * {@link #findSnapshot(Long)} - returns the version and audited fields of one faculty, read from the database and locked until the end of the transaction, before a conditional update.
+ * {@link #updateIfVersion(Long, Long, String, Boolean, Boolean, Long)} - writes the fields of one faculty
+ * only if it is still at the given version, incrementing the version, and returns the number of rows changed (0 or 1).
+ * {@link #findByIdIn(Collection)} - returns the given faculties read from the database, bypassing the
+ * second-level cache, for the version checks of the bulk updates.
  */
 public interface FacultyRepository extends JpaRepository<Faculty, Long> {
-    List<Faculty> findByIsActiveTrueAndIsDeletedFalse();
+    Page<Faculty> findByIsActiveTrueAndIsDeletedFalse(Pageable pageable);
+    Slice<Faculty> findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(Long id, Pageable pageable);
+    List<Faculty> findByIsActiveTrueAndIsDeletedFalse(Sort sort);
+    List<Faculty> findByUniversityIdAndIsActiveTrueAndIsDeletedFalse(Long universityId, Sort sort);
+    List<Faculty> findByUniversityIdInAndIsActiveTrueAndIsDeletedFalse(Collection<Long> universityIds, Sort sort);
+
+    @Query("select new com.university.universitymanagement.dto.FacultyName(f.id, f.university.id, f.name) "
+            + "from Faculty f where f.isActive = true and f.isDeleted = false")
+    List<FacultyName> findActiveNames();
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(f.id, f.version) "
+            + "from Faculty f where f.isActive = true and f.isDeleted = false")
+    Page<VersionStamp> findActiveVersions(Pageable pageable);
+
+    String SUMMARY = "select new com.university.universitymanagement.dto.FacultySummary(f.id, f.university.id, f.name, f.version, "
+            + "(select count(d) from Department d where d.faculty = f and d.isActive = true and d.isDeleted = false)) "
+            + "from Faculty f ";
+
+    @Query(value = SUMMARY + "where f.isActive = true and f.isDeleted = false",
+            countQuery = "select count(f) from Faculty f where f.isActive = true and f.isDeleted = false")
+    Page<FacultySummary> findActiveSummaries(Pageable pageable);
+
+    @Query(SUMMARY + "where f.id > :id and f.isActive = true and f.isDeleted = false")
+    Slice<FacultySummary> findActiveSummariesAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(f.id, f.version) "
+            + "from Faculty f where f.id > :id and f.isActive = true and f.isDeleted = false")
+    Slice<VersionStamp> findActiveVersionsAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(f.id, f.version) "
+            + "from Faculty f where f.id in :ids order by f.id")
+    List<VersionStamp> findVersions(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(f.id, f.version) "
+            + "from Faculty f where f.university.id in :ids order by f.id")
+    List<VersionStamp> findVersionsByUniversityIds(@Param("ids") Collection<Long> universityIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.university.universitymanagement.dto.FacultySnapshot(f.version, f.name, f.isActive, f.isDeleted, "
+            + "f.university.id) from Faculty f where f.id = :id")
+    Optional<FacultySnapshot> findSnapshot(@Param("id") Long id);
+
+    /**
+     * Native, so that Hibernate does not clear the whole cache region as it does after an HQL
+     * update; the empty query space tells it that no cached data is affected, and the caller
+     * evicts the one row instead (see EntityCacheService).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = ""))
+    @Query(value = "update faculties set name = :name, "
+            + "is_active = :isActive, is_deleted = :isDeleted, university_id = :universityId, "
+            + "version = version + 1 where id = :id and version = :version", nativeQuery = true)
+    int updateIfVersion(@Param("id") Long id, @Param("version") Long version, @Param("name") String name,
+                        @Param("isActive") Boolean isActive, @Param("isDeleted") Boolean isDeleted, @Param("universityId") Long universityId);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"))
+    List<Faculty> findByIdIn(Collection<Long> ids);
 }
@@ -1,17 +1,107 @@
 package com.university.universitymanagement.repository;
 
+import com.university.universitymanagement.dto.FeaturedProgramSummary;
+import com.university.universitymanagement.dto.FeaturedProgramSnapshot;
+import com.university.universitymanagement.dto.VersionStamp;
 import com.university.universitymanagement.entity.*;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repository interface for Featured Program entity.
  * 
  * Provides standard CRUD operations and query methods for FeaturedProgram.
  * 
+ * Additionally, this repository defines custom query methods:
+ * {@link #findByIsActiveTrueAndIsDeletedFalse(Pageable)} - returns a page of featured programs
+ * that are active and not deleted.
+ * {@link #findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(Long, Pageable)} - returns the next keyset
+ * page of featured programs that are active and not deleted, after the given ID.
+ * {@link #findByIsActiveTrueAndIsDeletedFalse(Sort)} - returns all featured programs that are active and not deleted.
+ * {@link #findByUniversityIdAndIsActiveTrueAndIsDeletedFalse(Long, Sort)} - returns the active, not deleted
+ * featured programs of one university.
+ * {@link #findByUniversityIdInAndIsActiveTrueAndIsDeletedFalse(Collection, Sort)} - returns the active, not deleted
+ * featured programs of the given universities, for one page of university trees.
+ * {@link #findActiveVersions(Pageable)}, {@link #findActiveVersionsAfter(Long, Pageable)} and {@link #findVersions(Collection)} -
+ * return only the ID and version of the same rows as the page queries or of the given featured programs, to compute ETags.
+ * {@link #findVersionsByUniversityIds(Collection)} - returns the ID and version of every featured program of the given universities.
+ * {@link #findActiveSummaries(Pageable)} and {@link #findActiveSummariesAfter(Long, Pageable)} - return the same rows as
+ * the page queries as summaries.
+ * {@link #findSnapshot(Long)} - returns the version and audited fields of one featured program, read from the
+ * database and locked until the end of the transaction, before a conditional update.
+ * {@link #updateIfVersion(Long, Long, String, String, Boolean, Boolean, Long)} - writes the fields of one featured program
+ * only if it is still at the given version, incrementing the version, and returns the number of rows changed (0 or 1).
+ * {@link #findByIdIn(Collection)} - returns the given featured programs read from the database, bypassing the
+ * second-level cache, for the version checks of the bulk updates.
  */
 public interface FeaturedProgramRepository extends JpaRepository<FeaturedProgram, Long> {
     //boolean existsByDepartment(Department department);
 
     List<FeaturedProgram> findByUniversityAndIsActiveTrueAndIsDeletedFalse(University university);
+
+    Page<FeaturedProgram> findByIsActiveTrueAndIsDeletedFalse(Pageable pageable);
+    Slice<FeaturedProgram> findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(Long id, Pageable pageable);
+    List<FeaturedProgram> findByIsActiveTrueAndIsDeletedFalse(Sort sort);
+    List<FeaturedProgram> findByUniversityIdAndIsActiveTrueAndIsDeletedFalse(Long universityId, Sort sort);
+    List<FeaturedProgram> findByUniversityIdInAndIsActiveTrueAndIsDeletedFalse(Collection<Long> universityIds, Sort sort);
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(p.id, p.version) "
+            + "from FeaturedProgram p where p.isActive = true and p.isDeleted = false")
+    Page<VersionStamp> findActiveVersions(Pageable pageable);
+
+    @Query("select new com.university.universitymanagement.dto.FeaturedProgramSummary(p.id, p.university.id, p.title, p.version) "
+            + "from FeaturedProgram p where p.isActive = true and p.isDeleted = false")
+    Page<FeaturedProgramSummary> findActiveSummaries(Pageable pageable);
+
+    @Query("select new com.university.universitymanagement.dto.FeaturedProgramSummary(p.id, p.university.id, p.title, p.version) "
+            + "from FeaturedProgram p where p.id > :id and p.isActive = true and p.isDeleted = false")
+    Slice<FeaturedProgramSummary> findActiveSummariesAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(p.id, p.version) "
+            + "from FeaturedProgram p where p.id > :id and p.isActive = true and p.isDeleted = false")
+    Slice<VersionStamp> findActiveVersionsAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(p.id, p.version) "
+            + "from FeaturedProgram p where p.id in :ids order by p.id")
+    List<VersionStamp> findVersions(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(p.id, p.version) "
+            + "from FeaturedProgram p where p.university.id in :ids order by p.id")
+    List<VersionStamp> findVersionsByUniversityIds(@Param("ids") Collection<Long> universityIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.university.universitymanagement.dto.FeaturedProgramSnapshot(p.version, p.title, p.description, "
+            + "p.isActive, p.isDeleted, p.university.id) from FeaturedProgram p where p.id = :id")
+    Optional<FeaturedProgramSnapshot> findSnapshot(@Param("id") Long id);
+
+    /**
+     * Native, so that Hibernate does not clear the whole cache region as it does after an HQL
+     * update; the empty query space tells it that no cached data is affected, and the caller
+     * evicts the one row instead (see EntityCacheService).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = ""))
+    @Query(value = "update featured_programs set title = :title, description = :description, "
+            + "is_active = :isActive, is_deleted = :isDeleted, university_id = :universityId, "
+            + "version = version + 1 where id = :id and version = :version", nativeQuery = true)
+    int updateIfVersion(@Param("id") Long id, @Param("version") Long version, @Param("title") String title,
+                        @Param("description") String description, @Param("isActive") Boolean isActive, @Param("isDeleted") Boolean isDeleted,
+                        @Param("universityId") Long universityId);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"))
+    List<FeaturedProgram> findByIdIn(Collection<Long> ids);
 }
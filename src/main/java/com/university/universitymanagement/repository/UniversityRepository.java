@@ -1,19 +1,122 @@
 package com.university.universitymanagement.repository;
 
+import com.university.universitymanagement.dto.UniversityName;
+import com.university.universitymanagement.dto.UniversitySnapshot;
+import com.university.universitymanagement.dto.UniversitySummary;
+import com.university.universitymanagement.dto.VersionStamp;
 import com.university.universitymanagement.entity.*;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 /**
  * Repository interface for University entity.
  * 
- * Provides standard CRUD operations and query methods for Province.
+ * Provides standard CRUD operations and query methods for University.
  * 
  * Additionally, this repository defines custom query methods:
- * {@link #findByIsActiveTrueAndIsDeletedFalse()} - returns all active universities that are not deleted.
- * {@link #findByNameContainingIgnoreCaseAndIsActiveTrueAndIsDeletedFalse(String)} - returns all active and not deleted universities whose names contain the given string, ignoring case.
+ * {@link #findByIsActiveTrueAndIsDeletedFalse(Pageable)} - returns a page of active universities that are not deleted.
+ * {@link #findByIsActiveTrueAndIsDeletedFalse(Sort)} - returns all active universities that are not deleted.
+ * {@link #findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(Long, Pageable)} - returns the next keyset page of active universities that are not deleted, after the given ID.
+ * {@link #findActiveNames()} - returns the ID and name of every active university that is not deleted, used to build the name search index.
+ * {@link #findActiveIdsByNameLike(String, Pageable)} - returns a page of the IDs of active universities that are not deleted
+ * whose lower-cased name matches a pattern built by {@link #containsPattern(String)}, for names too short for the search index.
+ * {@link #findActiveVersions(Pageable)}, {@link #findActiveVersionsAfter(Long, Pageable)} and {@link #findVersions(Collection)} -
+ * return only the ID and version of the same rows as the page queries or of the given universities, to compute ETags.
+ * {@link #findActiveSummaries(Pageable)}, {@link #findActiveSummariesAfter(Long, Pageable)} and {@link #findSummaries(Collection)} -
+ * return the same rows as the page queries or those of the given universities still active and not deleted as summaries, with their active faculties and
+ * featured programs counted instead of loaded.
+ * {@link #findSnapshot(Long)} - returns the version and audited fields of one university, read from the
+ * database and locked until the end of the transaction, before a conditional update.
+ * {@link #updateIfVersion(Long, Long, String, Boolean, Boolean)} - writes the fields of one university
+ * only if it is still at the given version, incrementing the version, and returns the number of rows changed (0 or 1).
+ * {@link #findByIdIn(Collection)} - returns the given universities read from the database, bypassing the
+ * second-level cache, for the version checks of the bulk updates.
  */
 public interface UniversityRepository extends JpaRepository<University, Long> {
-    List<University> findByIsActiveTrueAndIsDeletedFalse();
-    List<University> findByNameContainingIgnoreCaseAndIsActiveTrueAndIsDeletedFalse(String name);
+    Page<University> findByIsActiveTrueAndIsDeletedFalse(Pageable pageable);
+    List<University> findByIsActiveTrueAndIsDeletedFalse(Sort sort);
+    Slice<University> findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(Long id, Pageable pageable);
+
+    @Query("select new com.university.universitymanagement.dto.UniversityName(u.id, u.name) "
+            + "from University u where u.isActive = true and u.isDeleted = false")
+    List<UniversityName> findActiveNames();
+
+    @Query("select u.id from University u where lower(u.name) like :pattern escape '!' "
+            + "and u.isActive = true and u.isDeleted = false")
+    Slice<Long> findActiveIdsByNameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Builds the LIKE pattern of {@link #findActiveIdsByNameLike(String, Pageable)} matching names that
+     * contain the given string, ignoring case. Wildcards in the string match only themselves.
+     *
+     * @param name The substring to search for; null matches every name.
+     * @return The lower-cased pattern, escaped with '!'.
+     */
+    static String containsPattern(String name) {
+        String value = name == null ? "" : name.toLowerCase(Locale.ROOT);
+        return "%" + value.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(u.id, u.version) "
+            + "from University u where u.isActive = true and u.isDeleted = false")
+    Page<VersionStamp> findActiveVersions(Pageable pageable);
+
+    String SUMMARY = "select new com.university.universitymanagement.dto.UniversitySummary(u.id, u.name, u.version, "
+            + "(select count(f) from Faculty f where f.university = u and f.isActive = true and f.isDeleted = false), "
+            + "(select count(p) from FeaturedProgram p where p.university = u and p.isActive = true and p.isDeleted = false)) "
+            + "from University u ";
+
+    @Query(value = SUMMARY + "where u.isActive = true and u.isDeleted = false",
+            countQuery = "select count(u) from University u where u.isActive = true and u.isDeleted = false")
+    Page<UniversitySummary> findActiveSummaries(Pageable pageable);
+
+    @Query(SUMMARY + "where u.id > :id and u.isActive = true and u.isDeleted = false")
+    Slice<UniversitySummary> findActiveSummariesAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY + "where u.id in :ids and u.isActive = true and u.isDeleted = false")
+    List<UniversitySummary> findSummaries(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(u.id, u.version) "
+            + "from University u where u.id > :id and u.isActive = true and u.isDeleted = false")
+    Slice<VersionStamp> findActiveVersionsAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.university.universitymanagement.dto.VersionStamp(u.id, u.version) "
+            + "from University u where u.id in :ids order by u.id")
+    List<VersionStamp> findVersions(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.university.universitymanagement.dto.UniversitySnapshot(u.version, u.name, u.isActive, u.isDeleted) "
+            + "from University u where u.id = :id")
+    Optional<UniversitySnapshot> findSnapshot(@Param("id") Long id);
+
+    /**
+     * Native, so that Hibernate does not clear the whole cache region as it does after an HQL
+     * update; the empty query space tells it that no cached data is affected, and the caller
+     * evicts the one row instead (see EntityCacheService).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = ""))
+    @Query(value = "update universities set name = :name, "
+            + "is_active = :isActive, is_deleted = :isDeleted, "
+            + "version = version + 1 where id = :id and version = :version", nativeQuery = true)
+    int updateIfVersion(@Param("id") Long id, @Param("version") Long version, @Param("name") String name,
+                        @Param("isActive") Boolean isActive, @Param("isDeleted") Boolean isDeleted);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"))
+    List<University> findByIdIn(Collection<Long> ids);
 }
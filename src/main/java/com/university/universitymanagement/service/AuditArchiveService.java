@@ -0,0 +1,288 @@
+package com.university.universitymanagement.service;
+
+import com.university.universitymanagement.dto.AuditLogEntry;
+import com.university.universitymanagement.utility.AuditSegment;
+import com.university.universitymanagement.utility.PaginationUtils.TimeCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Moves old audit log entries out of the audit_log table into segment files (see
+ * {@link AuditSegment}) and reads them back for the audit query API.
+ *
+ * Daily, the entries older than audit.archive.after-days are copied, oldest first and
+ * audit.archive.batch-size at a time, into a new segment file in audit.archive.dir, and
+ * then deleted from the table. Segments are never modified; each batch adds one. The
+ * small segments left by the last, partial batch of each run are then merged with their
+ * neighbours into segments of up to audit.archive.batch-size entries.
+ *
+ * A segment is complete on disk before its entries are deleted by ID, so a crash at worst
+ * leaves entries in both places; the next run deletes the entries of the newest segment
+ * again. Only the IDs written to a segment are deleted: entries replayed from the journal
+ * or retried by the audit writer are inserted late with their original timestamps, and
+ * are archived by the next run instead. Segment files are named after the range of batch sequence numbers
+ * they hold (audit-0000000007.seg, or audit-0000000003-0000000006.seg once merged), and a
+ * merged segment is durable before the segments it replaces are deleted; segments left
+ * behind by an interrupted merge are covered by its range and deleted at startup.
+ *
+ * The archive is local to the instance that runs the job, so the job should be enabled
+ * on exactly one instance, the one serving archived history. The other instances are
+ * marked with audit.archive.remote, and searches there that reach the archived range are
+ * rejected rather than answered from the table alone, see {@link #isRemote}.
+ */
+@Service
+public class AuditArchiveService {
+    private static final Logger log = LoggerFactory.getLogger(AuditArchiveService.class);
+
+    private static final String SELECT_OLDEST =
+            "SELECT id, table_name, record_id, action, timestamp, old_value, new_value, user_id FROM audit_log "
+                    + "WHERE timestamp < ? ORDER BY timestamp, id LIMIT ?";
+    private static final String DELETE_BY_ID = "DELETE FROM audit_log WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final boolean remote;
+    private final int afterDays;
+    private final int batchSize;
+    private final Path dir;
+    /** The segments in archive order; replaced as a whole, so searches see a consistent list. */
+    private volatile List<AuditSegment> segments = List.of();
+
+    /** Constructor for AuditArchiveService; opens the existing segments. */
+    public AuditArchiveService(JdbcTemplate jdbcTemplate,
+                               @Value("${audit.archive.enabled:false}") boolean enabled,
+                               @Value("${audit.archive.remote:false}") boolean remote,
+                               @Value("${audit.archive.after-days:180}") int afterDays,
+                               @Value("${audit.archive.batch-size:10000}") int batchSize,
+                               @Value("${audit.archive.dir:data/audit-archive}") String dir) {
+        if (afterDays < 1) throw new IllegalArgumentException("audit.archive.after-days must be at least 1");
+        if (batchSize < 1) throw new IllegalArgumentException("audit.archive.batch-size must be at least 1");
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.remote = remote;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+        this.dir = Paths.get(dir);
+        openSegments();
+    }
+
+    /**
+     * Whether entries of a search range may have been archived on another instance, out
+     * of this instance's reach: true on a remote instance when the range starts before the
+     * archiving age, or has no start.
+     *
+     * @param from The start of the range (optional).
+     */
+    public boolean isRemote(LocalDateTime from) {
+        return remote && !enabled && (from == null || from.isBefore(LocalDateTime.now().minusDays(afterDays)));
+    }
+
+    /** Returns the age in days after which entries are archived. */
+    public int getAfterDays() {
+        return afterDays;
+    }
+
+    /**
+     * Archives the entries older than the configured age.
+     *
+     * An entry inserted late with an old timestamp may fall inside the range of a segment
+     * already written; it stays in the table until the next run archives it in a new
+     * segment, so segments are only roughly in time order.
+     */
+    @Scheduled(cron = "${audit.archive.cron:0 0 4 * * *}")
+    public synchronized void archive() {
+        if (!enabled) return;
+        AuditSegment newest = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (newest != null) deleteArchived(newest);
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        long archived = 0;
+        List<AuditLogEntry> batch;
+        do {
+            batch = jdbcTemplate.query(SELECT_OLDEST, (rs, i) -> new AuditLogEntry(
+                    rs.getLong("id"),
+                    rs.getString("table_name"),
+                    rs.getObject("record_id", Long.class),
+                    rs.getString("action"),
+                    rs.getTimestamp("timestamp").toLocalDateTime(),
+                    rs.getString("old_value"),
+                    rs.getString("new_value"),
+                    rs.getLong("user_id")), cutoff, batchSize);
+            if (batch.isEmpty()) break;
+            writeSegment(batch);
+            deleteArchived(batch);
+            archived += batch.size();
+        } while (batch.size() == batchSize);
+        if (archived > 0) log.info("Archived {} audit log entries older than {} to {}", archived, cutoff, dir);
+        compact();
+    }
+
+    /**
+     * Merges runs of adjacent segments whose entries together fit in one batch. Merging
+     * only neighbours keeps the segments in archive order, which {@link #search} relies on.
+     */
+    synchronized void compact() {
+        List<AuditSegment> current = segments;
+        List<AuditSegment> compacted = new ArrayList<>();
+        List<AuditSegment> replaced = new ArrayList<>();
+        int merged = 0;
+        int i = 0;
+        while (i < current.size()) {
+            int end = i;
+            long entries = 0;
+            while (end < current.size() && entries + current.get(end).entryCount() <= batchSize) {
+                entries += current.get(end++).entryCount();
+            }
+            if (end - i < 2) {
+                compacted.add(current.get(i++));
+                continue;
+            }
+            List<AuditSegment> run = current.subList(i, end);
+            compacted.add(merge(run));
+            replaced.addAll(run);
+            merged++;
+            i = end;
+        }
+        if (replaced.isEmpty()) return;
+        segments = List.copyOf(compacted);
+        try {
+            for (AuditSegment segment : replaced) Files.delete(segment.path());
+            AuditSegment.forceDirectory(dir);
+        } catch (IOException e) {
+            // The merged segments cover the leftovers, which are deleted at the next startup
+            log.warn("Cannot delete merged audit archive segments in {}", dir, e);
+        }
+        log.info("Merged {} audit archive segments into {}", replaced.size(), merged);
+    }
+
+    /**
+     * Finds archived entries, newest first. Takes the same filters as the audit query API.
+     *
+     * @param after Only entries older than this position (optional).
+     * @param limit Maximum number of entries to return.
+     * @return Up to {@code limit} entries, newest first.
+     */
+    public List<AuditLogEntry> search(String table, Long recordId, Long userId,
+                                      LocalDateTime from, LocalDateTime to, TimeCursor after, int limit) {
+        // Keeps the newest entries found so far; the head is the oldest of them
+        PriorityQueue<AuditLogEntry> newest = new PriorityQueue<>(AuditSegment.NEWEST_FIRST.reversed());
+        List<AuditSegment> current = segments;
+        for (int i = current.size() - 1; i >= 0; i--) {
+            AuditSegment segment = current.get(i);
+            // A segment whose newest entry is older than every entry kept cannot improve the result;
+            // late entries put older segments out of time order, so the rest are still checked
+            if (newest.size() == limit && segment.highWaterMark().timestamp().isBefore(newest.peek().timestamp())) continue;
+            segment.scan(table, recordId, userId, from, to, after, entry -> {
+                newest.add(entry);
+                if (newest.size() > limit) newest.poll();
+            });
+        }
+        List<AuditLogEntry> entries = new ArrayList<>(newest);
+        entries.sort(AuditSegment.NEWEST_FIRST);
+        return entries;
+    }
+
+    private void openSegments() {
+        if (!Files.isDirectory(dir)) return;
+        List<AuditSegment> opened = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            // By first sequence, the widest range first, so that a merged segment precedes the ones it covers
+            List<Path> paths = files.filter(f -> f.getFileName().toString().endsWith(".seg"))
+                    .sorted(Comparator.comparingLong((Path f) -> firstSequence(f))
+                            .thenComparing(Comparator.comparingLong((Path f) -> lastSequence(f)).reversed()))
+                    .toList();
+            long covered = 0;
+            boolean deleted = false;
+            for (Path file : paths) {
+                if (lastSequence(file) <= covered) {
+                    log.info("Deleting audit archive segment {}, left behind by an interrupted merge", file);
+                    Files.delete(file);
+                    deleted = true;
+                    continue;
+                }
+                opened.add(AuditSegment.open(file));
+                covered = lastSequence(file);
+            }
+            if (deleted) AuditSegment.forceDirectory(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open audit archive " + dir, e);
+        }
+        segments = List.copyOf(opened);
+        log.info("Opened {} audit archive segments in {}", opened.size(), dir);
+    }
+
+    private AuditSegment writeSegment(List<AuditLogEntry> entries) {
+        long sequence = segments.isEmpty() ? 1 : lastSequence(segments.get(segments.size() - 1).path()) + 1;
+        AuditSegment segment = writeSegment(segmentFile(sequence, sequence), entries);
+        List<AuditSegment> updated = new ArrayList<>(segments);
+        updated.add(segment);
+        segments = List.copyOf(updated);
+        return segment;
+    }
+
+    /** Writes the entries of adjacent segments to one segment covering their sequence numbers. */
+    private AuditSegment merge(List<AuditSegment> run) {
+        List<AuditLogEntry> entries = new ArrayList<>();
+        for (AuditSegment segment : run) segment.scan(null, null, null, null, null, null, entries::add);
+        Path file = segmentFile(firstSequence(run.get(0).path()), lastSequence(run.get(run.size() - 1).path()));
+        return writeSegment(file, entries);
+    }
+
+    private AuditSegment writeSegment(Path file, List<AuditLogEntry> entries) {
+        try {
+            Files.createDirectories(dir);
+            AuditSegment.write(file, entries);
+            return AuditSegment.open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write audit archive segment in " + dir, e);
+        }
+    }
+
+    /** Zero-padded, so that the name order of unmerged segments is the archive order. */
+    private Path segmentFile(long first, long last) {
+        return dir.resolve(first == last
+                ? String.format("audit-%010d.seg", first)
+                : String.format("audit-%010d-%010d.seg", first, last));
+    }
+
+    private static long firstSequence(Path file) {
+        return Long.parseLong(sequences(file)[0]);
+    }
+
+    private static long lastSequence(Path file) {
+        String[] sequences = sequences(file);
+        return Long.parseLong(sequences[sequences.length - 1]);
+    }
+
+    private static String[] sequences(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring("audit-".length(), name.length() - ".seg".length()).split("-");
+    }
+
+    /** Deletes the entries of a segment that are still in the table, after a crash between writing and deleting. */
+    private void deleteArchived(AuditSegment segment) {
+        List<AuditLogEntry> entries = new ArrayList<>();
+        segment.scan(null, null, null, null, null, null, entries::add);
+        deleteArchived(entries);
+    }
+
+    /** Deletes the archived entries by ID, as JDBC batches. */
+    private void deleteArchived(List<AuditLogEntry> entries) {
+        jdbcTemplate.batchUpdate(DELETE_BY_ID, entries.stream().map(entry -> new Object[]{entry.id()}).toList());
+    }
+}
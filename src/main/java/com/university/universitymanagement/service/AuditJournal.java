@@ -0,0 +1,398 @@
+package com.university.universitymanagement.service;
+
+import com.university.universitymanagement.entity.AuditLog;
+import com.university.universitymanagement.entity.User;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local, memory-mapped journal for audit log entries.
+ *
+ * {@link #append} copies an entry into a memory-mapped journal file and returns, so a
+ * mutation pays for a memory copy instead of an INSERT. Once in the mapping, the entry
+ * survives a crash of the application; a syncer thread forces the mapping to disk every
+ * audit.journal.sync-interval-ms, which bounds what an operating system crash can lose.
+ *
+ * A shipper thread replays the journal into audit_log with batch inserts on the audit
+ * connection pool, oldest first, and records how far it got in the header of the journal
+ * file. Journal files have a fixed size; when one is full, appends move on to a new file
+ * and the old one is deleted once it has been shipped. At startup, the files left by the
+ * previous run are shipped before the new entries.
+ *
+ * A crash between a batch insert and its checkpoint ships that batch again. Every entry is
+ * therefore inserted with its journal key, the random ID of its file and its offset in the
+ * file, and a replayed entry hits the unique key on those columns and is skipped (see the
+ * V7 migration). The ID is drawn for each file, so keys stay unique after shipped files are
+ * deleted and the file sequence starts over.
+ *
+ * File layout: magic (8 bytes), shipped offset (8 bytes), file ID (8 bytes), then records
+ * of length (4 bytes), CRC-32 of the payload (4 bytes) and payload. A zero length or a
+ * CRC mismatch marks the end of the records.
+ */
+@Service
+public class AuditJournal {
+    private static final Logger log = LoggerFactory.getLogger(AuditJournal.class);
+
+    private static final long MAGIC = 0x41554449544a4e02L; // "AUDITJN" + format version 2
+    private static final int CHECKPOINT = 8;
+    private static final int FILE_ID = 16;
+    private static final int HEADER = 24;
+    private static final int RECORD_HEADER = 8;
+
+    /** A journal file and how far it has been written and shipped. */
+    private static final class JournalFile {
+        final Path path;
+        final MappedByteBuffer buffer;
+        /** Random ID, the first half of the journal key of the file's entries. */
+        final long id;
+        /** End of the complete records, published after each append. */
+        volatile int written;
+        /** Set once appends have moved on to the next file. */
+        volatile boolean sealed;
+        int shipped;
+
+        JournalFile(Path path, MappedByteBuffer buffer, long id, int written, int shipped) {
+            this.path = path;
+            this.buffer = buffer;
+            this.id = id;
+            this.written = written;
+            this.shipped = shipped;
+        }
+    }
+
+    private final AuditLogWriter writer;
+    private final boolean enabled;
+    private final Path dir;
+    private final int fileSize;
+    private final int batchSize;
+    private final long syncIntervalMs;
+    private final long shipIntervalMs;
+    private final long shutdownTimeoutMs;
+    private final ConcurrentLinkedDeque<JournalFile> files = new ConcurrentLinkedDeque<>();
+    private final SecureRandom random = new SecureRandom();
+    private final AtomicLong pending = new AtomicLong();
+    private final Object appendLock = new Object();
+    private final Thread syncer;
+    private final Thread shipper;
+    private volatile JournalFile current;
+    private long nextSequence = 1;
+    private volatile boolean running;
+
+    /** Constructor for AuditJournal */
+    public AuditJournal(AuditLogWriter writer,
+                        MeterRegistry meterRegistry,
+                        @Value("${audit.journal.enabled:false}") boolean enabled,
+                        @Value("${audit.journal.dir:data/audit-journal}") String dir,
+                        @Value("${audit.journal.file-size-mb:64}") int fileSizeMb,
+                        @Value("${audit.journal.batch-size:500}") int batchSize,
+                        @Value("${audit.journal.sync-interval-ms:50}") long syncIntervalMs,
+                        @Value("${audit.journal.ship-interval-ms:200}") long shipIntervalMs,
+                        @Value("${audit.journal.shutdown-timeout-ms:30000}") long shutdownTimeoutMs) {
+        this.writer = writer;
+        this.enabled = enabled;
+        this.dir = Paths.get(dir);
+        this.fileSize = Math.multiplyExact(fileSizeMb, 1024 * 1024);
+        this.batchSize = batchSize;
+        this.syncIntervalMs = syncIntervalMs;
+        this.shipIntervalMs = shipIntervalMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.syncer = new Thread(this::runSyncer, "audit-journal-syncer");
+        this.syncer.setDaemon(true);
+        this.shipper = new Thread(this::runShipper, "audit-journal-shipper");
+        this.shipper.setDaemon(true);
+        Gauge.builder("audit.journal.pending", pending, AtomicLong::get)
+                .description("Audit log entries in the journal that have not been shipped to the database yet")
+                .register(meterRegistry);
+    }
+
+    /** Opens the journal files left by the previous run and starts the syncer and the shipper */
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        try {
+            Files.createDirectories(dir);
+            try (Stream<Path> existing = Files.list(dir)) {
+                for (Path path : existing.filter(p -> p.getFileName().toString().endsWith(".journal")).sorted().toList()) {
+                    JournalFile file = open(path);
+                    file.sealed = true;
+                    files.add(file);
+                    nextSequence = sequence(path) + 1;
+                }
+            }
+            if (!files.isEmpty()) log.info("Replaying {} audit log entries from the journal in {}", pending.get(), dir);
+            current = create();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open audit journal in " + dir, e);
+        }
+        running = true;
+        syncer.start();
+        shipper.start();
+    }
+
+    /** Stops the threads after shipping what is in the journal; what is left is replayed at the next start */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) return;
+        running = false;
+        shipper.join(shutdownTimeoutMs);
+        syncer.join(shutdownTimeoutMs);
+        synchronized (appendLock) {
+            current.buffer.force();
+        }
+        if (pending.get() > 0) log.warn("{} audit log entries left in the journal, they will be replayed at the next start", pending.get());
+    }
+
+    /** Whether audit entries go through the journal */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Appends an entry to the journal. Entries too large for a journal file, or appended
+     * while the journal is stopping, are inserted on the calling thread instead.
+     */
+    public void append(AuditLog entry) {
+        byte[] payload = encode(entry);
+        int length = RECORD_HEADER + payload.length;
+        if (!running || length > fileSize - HEADER) {
+            writer.insertSeparately(List.of(entry));
+            return;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        synchronized (appendLock) {
+            if (current.written + length > fileSize) roll();
+            JournalFile file = current;
+            int offset = file.written;
+            file.buffer.putInt(offset + 4, (int) crc.getValue());
+            file.buffer.put(offset + RECORD_HEADER, payload);
+            // The length goes last: a record cut short by a crash reads as the end of the journal
+            file.buffer.putInt(offset, payload.length);
+            file.written = offset + length;
+        }
+        pending.incrementAndGet();
+    }
+
+    /** Seals the current file and continues in a new one; called with the append lock held */
+    private void roll() {
+        current.buffer.force();
+        current.sealed = true;
+        try {
+            current = create();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create audit journal file in " + dir, e);
+        }
+    }
+
+    private JournalFile create() throws IOException {
+        Path path = dir.resolve(String.format("audit-%010d.journal", nextSequence++));
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        }
+        long id = random.nextLong();
+        buffer.putLong(0, MAGIC);
+        buffer.putLong(CHECKPOINT, HEADER);
+        buffer.putLong(FILE_ID, id);
+        buffer.force();
+        JournalFile file = new JournalFile(path, buffer, id, HEADER, HEADER);
+        files.add(file);
+        return file;
+    }
+
+    /** Maps an existing journal file and finds the end of its records. */
+    private JournalFile open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER || buffer.getLong(0) != MAGIC) throw new IOException("Not an audit journal: " + path);
+        int shipped = (int) buffer.getLong(CHECKPOINT);
+        int end = shipped;
+        for (int next = nextRecord(buffer, end); next > 0; next = nextRecord(buffer, end)) {
+            end = next;
+            pending.incrementAndGet();
+        }
+        return new JournalFile(path, buffer, buffer.getLong(FILE_ID), end, shipped);
+    }
+
+    /** Returns the offset after the valid record at {@code offset}, or -1 if there is none. */
+    private static int nextRecord(ByteBuffer buffer, int offset) {
+        if (offset + RECORD_HEADER > buffer.capacity()) return -1;
+        int length = buffer.getInt(offset);
+        if (length <= 0 || offset + RECORD_HEADER + length > buffer.capacity()) return -1;
+        byte[] payload = new byte[length];
+        buffer.get(offset + RECORD_HEADER, payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == buffer.getInt(offset + 4) ? offset + RECORD_HEADER + length : -1;
+    }
+
+    /** Syncer loop: forces the current file to disk at the sync interval */
+    private void runSyncer() {
+        while (running) {
+            try {
+                Thread.sleep(syncIntervalMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+            JournalFile file = current;
+            file.buffer.force();
+        }
+    }
+
+    /** Shipper loop: ships batches until the journal is empty, then waits for the ship interval */
+    private void runShipper() {
+        while (running) {
+            try {
+                if (!shipBatch()) Thread.sleep(shipIntervalMs);
+            } catch (InterruptedException e) {
+                break;
+            } catch (RuntimeException e) {
+                log.warn("Shipping the audit journal failed, retrying in {} ms", shipIntervalMs, e);
+                try {
+                    Thread.sleep(shipIntervalMs);
+                } catch (InterruptedException ie) {
+                    break;
+                }
+            }
+        }
+        // Drain on shutdown; entries that cannot be shipped stay in the journal
+        try {
+            while (shipBatch()) {
+                // keep shipping
+            }
+        } catch (RuntimeException e) {
+            log.warn("Shipping the audit journal on shutdown failed", e);
+        }
+    }
+
+    /**
+     * Inserts the next batch of the oldest journal file and moves its checkpoint, deleting
+     * the file once it is sealed and fully shipped.
+     *
+     * @return Whether anything was shipped.
+     */
+    private boolean shipBatch() {
+        JournalFile file = files.peekFirst();
+        if (file == null) return false;
+        boolean sealed = file.sealed;
+        int limit = file.written;
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        int offset = file.shipped;
+        while (batch.size() < batchSize && offset < limit) {
+            int length = file.buffer.getInt(offset);
+            byte[] payload = new byte[length];
+            file.buffer.get(offset + RECORD_HEADER, payload);
+            AuditLog entry = decode(payload);
+            entry.setJournalFile(file.id);
+            entry.setJournalOffset((long) offset);
+            batch.add(entry);
+            offset += RECORD_HEADER + length;
+        }
+        if (!batch.isEmpty()) {
+            writer.insertSeparately(batch);
+            file.shipped = offset;
+            file.buffer.putLong(CHECKPOINT, offset);
+            file.buffer.force();
+            pending.addAndGet(-batch.size());
+        }
+        if (sealed && file.shipped == limit) {
+            files.pollFirst();
+            try {
+                Files.delete(file.path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete shipped audit journal file " + file.path, e);
+            }
+            return true;
+        }
+        return !batch.isEmpty();
+    }
+
+    private static long sequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring("audit-".length(), name.length() - ".journal".length()));
+    }
+
+    private static byte[] encode(AuditLog entry) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            LocalDateTime timestamp = entry.getTimestamp();
+            out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(timestamp.getNano());
+            out.writeLong(entry.getRecordId() == null ? Long.MIN_VALUE : entry.getRecordId());
+            out.writeLong(entry.getUser().getId());
+            writeString(out, entry.getTableName());
+            writeString(out, entry.getAction());
+            writeString(out, entry.getOldValue());
+            writeString(out, entry.getNewValue());
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static AuditLog decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        AuditLog entry = new AuditLog();
+        entry.setTimestamp(LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC));
+        long recordId = in.getLong();
+        entry.setRecordId(recordId == Long.MIN_VALUE ? null : recordId);
+        User user = new User();
+        user.setId(in.getLong());
+        entry.setUser(user);
+        entry.setTableName(readString(in));
+        entry.setAction(readString(in));
+        entry.setOldValue(readString(in));
+        entry.setNewValue(readString(in));
+        return entry;
+    }
+
+    /** Strings are length-prefixed UTF-8, -1 for null. */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,28 +1,69 @@
 package com.university.universitymanagement.service;
 
+import com.university.universitymanagement.dto.AuditLogEntry;
 import com.university.universitymanagement.entity.AuditLog;
 import com.university.universitymanagement.entity.User;
 import com.university.universitymanagement.repository.AuditLogRepository;
+import com.university.universitymanagement.utility.PaginationUtils.TimeCursor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static com.university.universitymanagement.repository.AuditLogRepository.NEWEST_FIRST;
+import static com.university.universitymanagement.repository.AuditLogRepository.matching;
+import static com.university.universitymanagement.utility.PaginationUtils.cursorRequest;
+import static com.university.universitymanagement.utility.PaginationUtils.decodeTimeCursor;
+import static com.university.universitymanagement.utility.TransactionUtils.afterCommit;
 
 /**
  * Service class for managing audit logs in the University Management system.
  * 
  * Provides functionality to create and save audit log entries whenever
- * a database record is created, updated, or deleted.
+ * a database record is created, updated, or deleted, and to query them.
+ * When write-behind is enabled, entries are handed to {@link AuditLogWriter} once the
+ * surrounding transaction commits instead of being inserted inside it; when the journal
+ * is enabled, they are appended to {@link AuditJournal} at that point instead.
+ * Queries continue into the entries moved out of the table by {@link AuditArchiveService}.
  */
 @Service
 public class AuditLogService {
     private final AuditLogRepository repo;
+    private final AuditLogWriter writer;
+    private final AuditJournal journal;
+    private final AuditArchiveService archive;
 
     /** Constructor for AuditLogService */
-    public AuditLogService(AuditLogRepository repo) {
+    public AuditLogService(AuditLogRepository repo, AuditLogWriter writer, AuditJournal journal,
+                           AuditArchiveService archive) {
         this.repo = repo;
+        this.writer = writer;
+        this.journal = journal;
+        this.archive = archive;
     }
 
     /** Creates and saves an audit log entry */
     public void log(String table, Long recordId, User user, String action, String oldValue, String newValue) {
+        AuditLog log = entry(table, recordId, user, action, oldValue, newValue);
+        if (journal.isEnabled()) afterCommit(() -> journal.append(log));
+        else if (writer.isEnabled()) afterCommit(() -> writer.submit(log));
+        else repo.save(log);
+    }
+
+    /**
+     * Saves several audit log entries at once, as JDBC batches rather than one INSERT per entry.
+     * Used by the bulk operations.
+     */
+    public void logAll(List<AuditLog> logs) {
+        if (logs.isEmpty()) return;
+        if (journal.isEnabled()) afterCommit(() -> logs.forEach(journal::append));
+        else if (writer.isEnabled()) afterCommit(() -> logs.forEach(writer::submit));
+        else writer.insert(logs);
+    }
+
+    /** Builds an audit log entry stamped with the current time, without saving it */
+    public AuditLog entry(String table, Long recordId, User user, String action, String oldValue, String newValue) {
         AuditLog log = new AuditLog();
         log.setTableName(table);
         log.setRecordId(recordId);
@@ -31,7 +72,51 @@ public class AuditLogService {
         log.setTimestamp(LocalDateTime.now());
         log.setOldValue(oldValue);
         log.setNewValue(newValue);
-        repo.save(log);
+        return log;
     }
-}
 
+    /**
+     * Queries audit log entries, newest first, one keyset page at a time.
+     *
+     * Archived entries are older than the entries left in the table (but for late entries
+     * not archived yet), so a page that runs past the end of the table is filled from the
+     * archive, continuing after its last entry. On an instance without the archive, such a
+     * page is rejected when the range reaches the archiving age, see
+     * {@link AuditArchiveService#isRemote}.
+     *
+     * @param table    Only entries of this table (optional).
+     * @param recordId Only entries of this record (optional; requires a table).
+     * @param userId   Only changes made by this user (optional).
+     * @param from     Only entries at or after this time (optional).
+     * @param to       Only entries before this time (optional).
+     * @param after    Cursor from the previous page (blank for the first page).
+     * @param size     Number of entries per page.
+     * @return A slice of entries; its last element gives the cursor of the next page.
+     * @throws IllegalArgumentException if the criteria, the cursor or the size are invalid, or the
+     *                                  page needs archived entries held by another instance.
+     */
+    public Slice<AuditLogEntry> search(String table, Long recordId, Long userId,
+                                       LocalDateTime from, LocalDateTime to, String after, int size) {
+        if (recordId != null && table == null) throw new IllegalArgumentException("recordId requires table");
+        if (from != null && to != null && !from.isBefore(to)) throw new IllegalArgumentException("from must be before to");
+        TimeCursor cursor = decodeTimeCursor(after);
+        Slice<AuditLogEntry> hot = repo.findBy(matching(table, recordId, userId, from, to, cursor),
+                query -> query.slice(cursorRequest(size, NEWEST_FIRST))).map(AuditLogEntry::of);
+        if (hot.hasNext()) return hot;
+        if (archive.isRemote(from)) {
+            throw new IllegalArgumentException("Entries older than " + archive.getAfterDays()
+                    + " days are archived on another instance; query from a later time or on the archiving instance");
+        }
+
+        List<AuditLogEntry> entries = new ArrayList<>(hot.getContent());
+        if (!entries.isEmpty()) {
+            AuditLogEntry last = entries.get(entries.size() - 1);
+            cursor = new TimeCursor(last.timestamp(), last.id());
+        }
+        int remaining = size - entries.size();
+        List<AuditLogEntry> archived = archive.search(table, recordId, userId, from, to, cursor, remaining + 1);
+        boolean hasNext = archived.size() > remaining;
+        entries.addAll(hasNext ? archived.subList(0, remaining) : archived);
+        return new SliceImpl<>(entries, hot.getPageable(), hasNext);
+    }
+}
@@ -0,0 +1,375 @@
+package com.university.universitymanagement.service;
+
+import com.university.universitymanagement.config.Bulkhead;
+import com.university.universitymanagement.entity.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind pipeline for audit log entries.
+ *
+ * Entries are put on a bounded in-memory queue and a background flusher writes them
+ * to the audit_log table with multi-row JDBC batch inserts, either when a batch is full
+ * or when the flush interval has elapsed. When the queue stays full for longer than the
+ * offer timeout, the calling thread writes its entry itself, which slows producers down
+ * instead of dropping rows. On shutdown the queue is drained before the application stops.
+ *
+ * Everything written behind the caller goes through the audit connection pool and the
+ * audit bulkhead, so a burst of audit writes cannot take the connections of the requests.
+ * Those writes run on their own connection and commit on their own: a fallback write made
+ * from an after-commit callback never joins the business transaction's finished
+ * connection. A calling thread that finds both the queue and the audit bulkhead full
+ * waits for room on the queue instead of adding another insert.
+ *
+ * A batch that still fails after a few attempts is parked in memory and retried every
+ * audit.write-behind.retry-interval-ms, and once more at shutdown; only entries still
+ * parked when the application stops are given up on, each logged in full. Parking is
+ * bounded by audit.write-behind.max-parked: once that many entries are parked (say, during
+ * a database outage), the flusher stops taking entries off the queue, the queue fills up
+ * and submit waits for room, so producers are slowed down instead of the heap growing.
+ *
+ * Every batch insert is timed as audit.write (tagged with its outcome), the queue
+ * depth is exposed as audit.queue.size, parked entries as audit.parked.size, and entries
+ * given up on at shutdown are counted in audit.write.dropped.
+ */
+@Service
+public class AuditLogWriter {
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    /** Entries replayed from the journal hit uk_audit_log_journal and are skipped */
+    private static final String INSERT_SQL = "INSERT INTO audit_log "
+            + "(table_name, record_id, action, timestamp, old_value, new_value, user_id, journal_file, journal_offset) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE journal_offset = journal_offset";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate auditJdbcTemplate;
+    private final Bulkhead auditBulkhead;
+    private final boolean enabled;
+    private final BlockingQueue<AuditLog> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutMs;
+    private final long shutdownTimeoutMs;
+    private final Thread flusher;
+    private final Timer writeTimer;
+    private final Timer failedWriteTimer;
+    private final Counter droppedEntries;
+    private final ConcurrentLinkedQueue<AuditLog> parked = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger parkedCount = new AtomicInteger();
+    private final int maxParked;
+    private volatile boolean running;
+
+    /** Constructor for AuditLogWriter */
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          @Qualifier("auditDataSource") DataSource auditDataSource,
+                          @Qualifier("auditBulkhead") Bulkhead auditBulkhead,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit.write-behind.enabled:true}") boolean enabled,
+                          @Value("${audit.write-behind.queue-capacity:10000}") int queueCapacity,
+                          @Value("${audit.write-behind.batch-size:200}") int batchSize,
+                          @Value("${audit.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                          @Value("${audit.write-behind.offer-timeout-ms:100}") long offerTimeoutMs,
+                          @Value("${audit.write-behind.shutdown-timeout-ms:30000}") long shutdownTimeoutMs,
+                          @Value("${audit.write-behind.max-parked:10000}") int maxParked) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditJdbcTemplate = new JdbcTemplate(auditDataSource);
+        this.auditBulkhead = auditBulkhead;
+        this.enabled = enabled;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.maxParked = maxParked;
+        this.flusher = new Thread(this::runFlusher, "audit-log-writer");
+        this.flusher.setDaemon(true);
+        this.writeTimer = writeTimer(meterRegistry, "success");
+        this.failedWriteTimer = writeTimer(meterRegistry, "error");
+        this.droppedEntries = Counter.builder("audit.write.dropped")
+                .description("Audit log entries still unwritten when the application stopped")
+                .register(meterRegistry);
+        Gauge.builder("audit.queue.size", queue, BlockingQueue::size)
+                .description("Audit log entries waiting for the write-behind flusher")
+                .register(meterRegistry);
+        Gauge.builder("audit.parked.size", parkedCount, AtomicInteger::get)
+                .description("Audit log entries whose insert failed, waiting to be retried")
+                .register(meterRegistry);
+    }
+
+    private static Timer writeTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("audit.write")
+                .description("Latency of audit log batch inserts")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /** Starts the background flusher when write-behind is enabled */
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        flusher.start();
+    }
+
+    /**
+     * Stops accepting queued entries, drains everything still in the queue and retries the
+     * parked entries a last time; entries that still cannot be written are logged in full.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (running) {
+            running = false;
+            flusher.join(shutdownTimeoutMs);
+            if (flusher.isAlive()) {
+                log.error("Audit log writer did not drain within {} ms, {} entries left", shutdownTimeoutMs, queue.size());
+                return;
+            }
+            // Entries offered while the flusher was exiting
+            List<AuditLog> rest = new ArrayList<>();
+            queue.drainTo(rest);
+            if (!rest.isEmpty()) writeAdmitted(rest);
+        }
+        retryParked();
+        AuditLog entry;
+        while ((entry = parked.poll()) != null) {
+            parkedCount.decrementAndGet();
+            droppedEntries.increment();
+            log.error("Failed to write audit log entry: table={} recordId={} userId={} action={} timestamp={} oldValue={} newValue={}",
+                    entry.getTableName(), entry.getRecordId(), entry.getUser().getId(), entry.getAction(),
+                    entry.getTimestamp(), entry.getOldValue(), entry.getNewValue());
+        }
+    }
+
+    /** Number of entries parked after failed inserts */
+    public int parkedCount() {
+        return parkedCount.get();
+    }
+
+    /**
+     * Retries the parked entries in batches, stopping at the first batch that fails
+     * again (it is parked anew for the next run).
+     */
+    @Scheduled(fixedDelayString = "${audit.write-behind.retry-interval-ms:5000}")
+    public void retryParked() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (true) {
+            AuditLog entry;
+            while (batch.size() < batchSize && (entry = parked.poll()) != null) {
+                parkedCount.decrementAndGet();
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) return;
+            try {
+                insertSeparately(batch);
+            } catch (RuntimeException e) {
+                log.warn("Retrying {} parked audit log entries failed, {} still parked", batch.size(), parkedCount.get(), e);
+                park(batch);
+                return;
+            }
+            log.info("Wrote {} parked audit log entries", batch.size());
+            batch.clear();
+        }
+    }
+
+    private void park(List<AuditLog> entries) {
+        parked.addAll(entries);
+        if (parkedCount.addAndGet(entries.size()) >= maxParked) {
+            log.warn("{} audit log entries parked, holding the queue back until they are written", parkedCount.get());
+        }
+    }
+
+    /** Whether the parked entries reached their limit, so that no more should be taken off the queue */
+    private boolean parkingFull() {
+        return parkedCount.get() >= maxParked;
+    }
+
+    /** Whether entries are written behind the caller or synchronously */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues an entry for insertion. If the queue is full for longer than the offer
+     * timeout, or the writer is shutting down, the entry is written on the calling thread;
+     * if the audit bulkhead does not admit that write either, or the parked entries are at
+     * their limit, the caller waits for room on the queue.
+     */
+    public void submit(AuditLog entry) {
+        if (!running) {
+            writeAdmitted(List.of(entry));
+            return;
+        }
+        try {
+            if (queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) return;
+            if (parkingFull() || !auditBulkhead.tryAcquire()) {
+                queue.put(entry);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write(List.of(entry));
+            return;
+        }
+        try {
+            write(List.of(entry));
+        } finally {
+            auditBulkhead.release();
+        }
+    }
+
+    /**
+     * Flusher loop: collects up to batchSize entries or until the flush interval elapses, then
+     * writes them. While the parked entries are at their limit it leaves the queue alone until
+     * {@link #retryParked()} has written some; on shutdown it drains the queue regardless.
+     */
+    private void runFlusher() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                if (running && parkingFull()) {
+                    TimeUnit.NANOSECONDS.sleep(flushIntervalNanos);
+                    continue;
+                }
+                AuditLog first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) break;
+                    AuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                writeAdmitted(batch);
+            } catch (InterruptedException e) {
+                running = false;
+                if (!batch.isEmpty()) writeAdmitted(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Inserts the entries as JDBC batches of at most batchSize rows on the calling thread.
+     * Runs inside the caller's transaction, if any, and lets failures propagate.
+     */
+    public void insert(List<AuditLog> entries) {
+        insert(jdbcTemplate, entries);
+    }
+
+    /**
+     * Inserts the entries as JDBC batches on the audit pool, in their own transaction,
+     * once the audit bulkhead admits them (waiting as long as that takes). Lets failures propagate.
+     */
+    public void insertSeparately(List<AuditLog> entries) {
+        try {
+            auditBulkhead.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the audit bulkhead", e);
+        }
+        try {
+            insert(auditJdbcTemplate, entries);
+        } finally {
+            auditBulkhead.release();
+        }
+    }
+
+    private void insert(JdbcTemplate template, List<AuditLog> entries) {
+        long start = System.nanoTime();
+        try {
+            doInsert(template, entries);
+            writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            failedWriteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private void doInsert(JdbcTemplate template, List<AuditLog> entries) {
+        template.batchUpdate(INSERT_SQL, entries, batchSize, (ps, entry) -> {
+            ps.setString(1, entry.getTableName());
+            if (entry.getRecordId() == null) ps.setNull(2, Types.BIGINT);
+            else ps.setLong(2, entry.getRecordId());
+            ps.setString(3, entry.getAction());
+            ps.setTimestamp(4, Timestamp.valueOf(entry.getTimestamp()));
+            ps.setString(5, entry.getOldValue());
+            ps.setString(6, entry.getNewValue());
+            ps.setLong(7, entry.getUser().getId());
+            if (entry.getJournalFile() == null) {
+                ps.setNull(8, Types.BIGINT);
+                ps.setNull(9, Types.BIGINT);
+            } else {
+                ps.setLong(8, entry.getJournalFile());
+                ps.setLong(9, entry.getJournalOffset());
+            }
+        });
+    }
+
+    /** {@link #write(List)} once the audit bulkhead admits the entries, however long that takes */
+    private void writeAdmitted(List<AuditLog> entries) {
+        try {
+            auditBulkhead.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write(entries);
+            return;
+        }
+        try {
+            write(entries);
+        } finally {
+            auditBulkhead.release();
+        }
+    }
+
+    /**
+     * Inserts the entries as one JDBC batch on the audit pool, retrying a few times before
+     * parking them for {@link #retryParked()}. The caller holds a slot of the audit bulkhead.
+     */
+    private void write(List<AuditLog> entries) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(auditJdbcTemplate, entries);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    log.error("Audit log batch of {} entries failed {} times, parked for retry", entries.size(), attempt, e);
+                    park(entries);
+                    return;
+                }
+                log.warn("Audit log batch of {} entries failed (attempt {}), retrying", entries.size(), attempt, e);
+                try {
+                    Thread.sleep(100L * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
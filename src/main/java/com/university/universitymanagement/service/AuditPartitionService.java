@@ -0,0 +1,111 @@
+package com.university.universitymanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains the monthly partitions of the audit_log table on MySQL (see the V5 migration
+ * in db/vendor/mysql).
+ *
+ * At startup and then daily, it splits partitions for the current month and the next
+ * few months off the catch-all p_future partition, so that new entries always land in
+ * their own month, and drops the months older than the retention period. Dropping a
+ * partition removes a month of entries without deleting them row by row.
+ * Other databases have no partitions and are left alone.
+ */
+@Service
+public class AuditPartitionService {
+    private static final Logger log = LoggerFactory.getLogger(AuditPartitionService.class);
+
+    private static final String FUTURE = "p_future";
+    private static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    /** A partition and the first day it no longer contains (null for p_future). */
+    private record Partition(String name, LocalDate upperBound) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    /** Constructor for AuditPartitionService */
+    public AuditPartitionService(JdbcTemplate jdbcTemplate,
+                                 @Value("${audit.partitions.months-ahead:3}") int monthsAhead,
+                                 @Value("${audit.partitions.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    /** Adds the upcoming monthly partitions and drops expired ones. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${audit.partitions.cron:0 30 3 * * *}")
+    public void maintain() {
+        if (!isMySql()) return;
+        List<Partition> partitions = partitions();
+        if (partitions.stream().noneMatch(p -> p.name().equals(FUTURE))) {
+            log.warn("audit_log has no {} partition, skipping partition maintenance", FUTURE);
+            return;
+        }
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        addPartitions(partitions, thisMonth.plusMonths(monthsAhead + 1L));
+        if (retentionMonths > 0) dropPartitions(partitions, thisMonth.minusMonths(retentionMonths));
+    }
+
+    /** Splits monthly partitions off p_future until the partitions cover every day before {@code until}. */
+    private void addPartitions(List<Partition> partitions, LocalDate until) {
+        LocalDate covered = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(bound -> bound != null)
+                .max(LocalDate::compareTo)
+                .orElse(until);
+        while (covered.isBefore(until)) {
+            LocalDate next = covered.withDayOfMonth(1).plusMonths(1);
+            jdbcTemplate.execute("ALTER TABLE audit_log REORGANIZE PARTITION " + FUTURE + " INTO ("
+                    + "PARTITION " + NAME.format(covered) + " VALUES LESS THAN ('" + next + " 00:00:00'), "
+                    + "PARTITION " + FUTURE + " VALUES LESS THAN (MAXVALUE))");
+            log.info("Added audit_log partition {} for entries before {}", NAME.format(covered), next);
+            covered = next;
+        }
+    }
+
+    /** Drops the partitions that only hold entries from before {@code cutoff}. */
+    private void dropPartitions(List<Partition> partitions, LocalDate cutoff) {
+        List<String> expired = new ArrayList<>();
+        for (Partition partition : partitions) {
+            if (partition.upperBound() != null && !partition.upperBound().isAfter(cutoff)) expired.add(partition.name());
+        }
+        if (expired.isEmpty()) return;
+        jdbcTemplate.execute("ALTER TABLE audit_log DROP PARTITION " + String.join(", ", expired));
+        log.info("Dropped audit_log partitions {} (entries before {})", expired, cutoff);
+    }
+
+    private List<Partition> partitions() {
+        return jdbcTemplate.query(
+                "SELECT partition_name, partition_description FROM information_schema.partitions "
+                        + "WHERE table_schema = DATABASE() AND table_name = 'audit_log' AND partition_name IS NOT NULL "
+                        + "ORDER BY partition_ordinal_position",
+                (rs, i) -> {
+                    String description = rs.getString(2);
+                    LocalDate bound = description == null || description.equalsIgnoreCase("MAXVALUE")
+                            ? null
+                            : LocalDate.parse(description.replace("'", "").substring(0, 10));
+                    return new Partition(rs.getString(1), bound);
+                });
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        return product != null && (product.equalsIgnoreCase("MySQL") || product.equalsIgnoreCase("MariaDB"));
+    }
+}
@@ -1,27 +1,53 @@
 package com.university.universitymanagement.service;
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
+import com.university.universitymanagement.dto.DepartmentSummary;
+import com.university.universitymanagement.dto.DepartmentSnapshot;
+import com.university.universitymanagement.dto.VersionStamp;
 import com.university.universitymanagement.entity.*;
 import com.university.universitymanagement.repository.*;
+import com.university.universitymanagement.utility.ETagUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import static com.university.universitymanagement.utility.PaginationUtils.paginate;
+import java.util.Map;
+import java.util.Set;
+import static com.university.universitymanagement.utility.PaginationUtils.*;
+import static com.university.universitymanagement.utility.AuditDiffUtils.*;
+import static com.university.universitymanagement.utility.BulkUtils.*;
+import static com.university.universitymanagement.utility.ETagUtils.requireUpdated;
+import static com.university.universitymanagement.utility.ETagUtils.requireVersion;
 
 /**
  * Service class for managing Department entities.
  * Handles CRUD and audit logging.
+ * Bulk methods resolve rows and parents with one set-based query each and leave the
+ * INSERTs and UPDATEs to Hibernate's JDBC batching at flush time.
+ * The etag methods answer with the ETag of the matching read method from row versions alone,
+ * evicting the rows cached at an older version first.
+ * Updates are one UPDATE conditional on the row version, as in {@link UniversityService},
+ * after a locking read of the version and audited fields, from the database, which also
+ * tells which cached collections a move affects; only the department row is locked.
  */
 @Service
 public class DepartmentService {
     private final DepartmentRepository repo;
     private final AuditLogService auditLogService;
     private final FacultyRepository facultyRepository;
+    private final UniversityTreeService treeService;
+    private final EntityCacheService entityCacheService;
 
     public DepartmentService(DepartmentRepository repo, AuditLogService auditLogService,
-                             FacultyRepository facultyRepository) {
+                             FacultyRepository facultyRepository, UniversityTreeService treeService,
+                             EntityCacheService entityCacheService) {
         this.repo = repo;
         this.auditLogService = auditLogService;
         this.facultyRepository = facultyRepository;
+        this.treeService = treeService;
+        this.entityCacheService = entityCacheService;
     }
 
     @Transactional
@@ -34,44 +60,191 @@ public class DepartmentService {
         department.setFaculty(faculty);
 
         Department saved = repo.save(department);
-        auditLogService.log("departments", saved.getId(), user, "CREATE", null, saved.toString());
+        auditLogService.log("departments", saved.getId(), user, "CREATE", null, toJson(snapshot(saved)));
+        treeService.evict(faculty.getUniversity().getId());
+        entityCacheService.evictDepartments(faculty.getId());
         return saved;
     }
 
-    public List<Department> all(int page, int size) {
-        List<Department> departments = repo.findByIsActiveTrueAndIsDeletedFalse();
-        return paginate(departments, page, size);
+    @Transactional(readOnly = true)
+    public Page<Department> all(int page, int size) {
+        return repo.findByIsActiveTrueAndIsDeletedFalse(pageRequest(page, size));
     }
 
+    @Transactional(readOnly = true)
+    public Slice<Department> allAfter(String cursor, int size) {
+        return repo.findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(decodeCursor(cursor), cursorRequest(size));
+    }
+
+    /** Summaries of the departments of {@link #all(int, int)}. */
+    @Transactional(readOnly = true)
+    public Page<DepartmentSummary> summaries(int page, int size) {
+        return repo.findActiveSummaries(pageRequest(page, size));
+    }
+
+    /** Summaries of the departments of {@link #allAfter(String, int)}. */
+    @Transactional(readOnly = true)
+    public Slice<DepartmentSummary> summariesAfter(String cursor, int size) {
+        return repo.findActiveSummariesAfter(decodeCursor(cursor), cursorRequest(size));
+    }
+
+    @Transactional(readOnly = true)
     public Department get(Long id) {
         return repo.findById(id).orElseThrow(() -> new RuntimeException("Department not found"));
     }
 
-    @Transactional
-    public Department update(Long id, Department data, User user) {
-        Department department = get(id);
-        String old = department.toString();
-        department.setName(data.getName());
-        department.setLocation(data.getLocation());
-        department.setIsActive(data.getIsActive());
-        department.setIsDeleted(data.getIsDeleted());
+    /** ETag of {@link #get(Long)}, computed from row versions without loading the department. */
+    @Transactional(readOnly = true)
+    public String etag(Long id) {
+        List<VersionStamp> stamps = repo.findVersions(List.of(id));
+        if (stamps.isEmpty()) throw new RuntimeException("Department not found");
+        entityCacheService.evictStale(Department.class, stamps);
+        return ETagUtils.versionedEtag(stamps.get(0).version(), stamps);
+    }
 
-        if (data.getFaculty() != null && data.getFaculty().getId() != null) {
+    /** ETag of {@link #all(int, int)}, computed from row versions without loading the rows. */
+    @Transactional(readOnly = true)
+    public String etagOfPage(int page, int size) {
+        Page<VersionStamp> stamps = repo.findActiveVersions(pageRequest(page, size));
+        entityCacheService.evictStale(Department.class, stamps.getContent());
+        return ETagUtils.etag(stamps.getNumber(), stamps.getSize(), stamps.getTotalElements(), stamps.getContent());
+    }
+
+    /** ETag of {@link #allAfter(String, int)}, computed from row versions without loading the rows. */
+    @Transactional(readOnly = true)
+    public String etagAfter(String cursor, int size) {
+        Slice<VersionStamp> stamps = repo.findActiveVersionsAfter(decodeCursor(cursor), cursorRequest(size));
+        entityCacheService.evictStale(Department.class, stamps.getContent());
+        return ETagUtils.etag(cursor, stamps.getSize(), stamps.hasNext(), stamps.getContent());
+    }
+
+    @Transactional
+    public Department update(Long id, Department data, Long version, User user) {
+        DepartmentSnapshot current = repo.findSnapshot(id).orElseThrow(() -> new RuntimeException("Department not found"));
+        requireVersion("Department", id, version, current.version());
+        Long previousFacultyId = current.facultyId();
+        Long previousUniversityId = facultyRepository.findById(previousFacultyId)
+                .map(faculty -> faculty.getUniversity().getId()).orElse(null);
+        Long facultyId = previousFacultyId;
+        Long universityId = previousUniversityId;
+        if (data.getFaculty() != null && data.getFaculty().getId() != null && !data.getFaculty().getId().equals(previousFacultyId)) {
             Faculty faculty = facultyRepository.findById(data.getFaculty().getId())
                     .orElseThrow(() -> new RuntimeException("Faculty not found"));
-            department.setFaculty(faculty);
+            facultyId = faculty.getId();
+            universityId = faculty.getUniversity().getId();
         }
 
-        Department updated = repo.save(department);
-        auditLogService.log("departments", id, user, "UPDATE", old, updated.toString());
-        return updated;
+        int rows = repo.updateIfVersion(id, current.version(), data.getName(), data.getLocation(),
+                data.getIsActive(), data.getIsDeleted(), facultyId);
+        requireUpdated("Department", id, current.version(), rows);
+        entityCacheService.evictDepartment(id);
+
+        Map<String, Object> written = snapshot(data);
+        written.put("facultyId", facultyId);
+        Diff diff = diff(snapshot(current), written);
+        auditLogService.log("departments", id, user, "UPDATE", diff.oldValue(), diff.newValue());
+        if (previousUniversityId != null) treeService.evict(previousUniversityId);
+        treeService.evict(universityId);
+        if (!previousFacultyId.equals(facultyId)) {
+            entityCacheService.evictDepartments(previousFacultyId);
+            entityCacheService.evictDepartments(facultyId);
+        }
+        return get(id);
     }
 
     @Transactional
     public void delete(Long id, User user) {
         Department department = get(id);
+        Map<String, Object> before = snapshot(department);
         department.setIsDeleted(true);
         repo.save(department);
-        auditLogService.log("departments", id, user, "DELETE", department.toString(), null);
+        Diff diff = diff(before, snapshot(department));
+        auditLogService.log("departments", id, user, "DELETE", diff.oldValue(), diff.newValue());
+        treeService.evict(department.getFaculty().getUniversity().getId());
+    }
+
+    @Transactional
+    public List<Long> createAll(List<Department> departments, User user) {
+        checkSize(departments);
+        if (departments.stream().anyMatch(d -> facultyId(d) == null))
+            throw new RuntimeException("Faculty must be provided");
+        Map<Long, Faculty> faculties = faculties(departments);
+
+        for (Department department : departments) {
+            department.setId(null);
+            department.setFaculty(faculties.get(facultyId(department)));
+        }
+        List<Department> saved = repo.saveAll(departments);
+        auditLogService.logAll(saved.stream()
+                .map(d -> auditLogService.entry("departments", d.getId(), user, "CREATE", null, toJson(snapshot(d))))
+                .toList());
+        faculties.values().stream().map(f -> f.getUniversity().getId()).distinct().forEach(treeService::evict);
+        faculties.keySet().forEach(entityCacheService::evictDepartments);
+        return saved.stream().map(Department::getId).toList();
+    }
+
+    @Transactional
+    public List<Long> updateAll(List<Department> data, User user) {
+        checkSize(data);
+        Set<Long> ids = requireIds(data, Department::getId, "Department");
+        Map<Long, Department> departments = requireAll(repo.findByIdIn(ids), ids, Department::getId, "Department");
+        Map<Long, Faculty> faculties = faculties(data);
+
+        List<AuditLog> logs = new ArrayList<>(data.size());
+        Set<Long> affectedUniversityIds = new LinkedHashSet<>();
+        Set<Long> membershipChangedIds = new LinkedHashSet<>();
+        for (Department item : data) {
+            Department department = departments.get(item.getId());
+            requireVersion("Department", item.getId(), item.getVersion(), department.getVersion());
+            Map<String, Object> before = snapshot(department);
+            Long previousFacultyId = department.getFaculty().getId();
+            affectedUniversityIds.add(department.getFaculty().getUniversity().getId());
+            department.setName(item.getName());
+            department.setLocation(item.getLocation());
+            department.setIsActive(item.getIsActive());
+            department.setIsDeleted(item.getIsDeleted());
+            if (facultyId(item) != null) department.setFaculty(faculties.get(facultyId(item)));
+            affectedUniversityIds.add(department.getFaculty().getUniversity().getId());
+            if (!previousFacultyId.equals(department.getFaculty().getId())) {
+                membershipChangedIds.add(previousFacultyId);
+                membershipChangedIds.add(department.getFaculty().getId());
+            }
+            Diff diff = diff(before, snapshot(department));
+            logs.add(auditLogService.entry("departments", department.getId(), user, "UPDATE", diff.oldValue(), diff.newValue()));
+        }
+        auditLogService.logAll(logs);
+        affectedUniversityIds.forEach(treeService::evict);
+        membershipChangedIds.forEach(entityCacheService::evictDepartments);
+        return List.copyOf(ids);
+    }
+
+    @Transactional
+    public List<Long> deleteAll(List<Long> requestedIds, User user) {
+        checkSize(requestedIds);
+        Set<Long> ids = requireIds(requestedIds, id -> id, "Department");
+        Map<Long, Department> departments = requireAll(repo.findAllById(ids), ids, Department::getId, "Department");
+
+        List<AuditLog> logs = new ArrayList<>(ids.size());
+        Set<Long> affectedUniversityIds = new LinkedHashSet<>();
+        for (Department department : departments.values()) {
+            Map<String, Object> before = snapshot(department);
+            department.setIsDeleted(true);
+            Diff diff = diff(before, snapshot(department));
+            logs.add(auditLogService.entry("departments", department.getId(), user, "DELETE", diff.oldValue(), diff.newValue()));
+            affectedUniversityIds.add(department.getFaculty().getUniversity().getId());
+        }
+        auditLogService.logAll(logs);
+        affectedUniversityIds.forEach(treeService::evict);
+        return List.copyOf(ids);
+    }
+
+    /** Loads the faculties referenced by the departments with one query, failing if any is missing. */
+    private Map<Long, Faculty> faculties(List<Department> departments) {
+        Set<Long> ids = ids(departments, DepartmentService::facultyId);
+        return requireAll(facultyRepository.findAllById(ids), ids, Faculty::getId, "Faculty");
+    }
+
+    private static Long facultyId(Department department) {
+        return department.getFaculty() == null ? null : department.getFaculty().getId();
     }
 }
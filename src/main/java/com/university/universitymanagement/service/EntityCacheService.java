@@ -0,0 +1,212 @@
+package com.university.universitymanagement.service;
+
+import com.university.universitymanagement.entity.Department;
+import com.university.universitymanagement.entity.Faculty;
+import com.university.universitymanagement.entity.FeaturedProgram;
+import com.university.universitymanagement.entity.University;
+import com.university.universitymanagement.dto.VersionStamp;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.ehcache.core.internal.statistics.DefaultTierStatistics;
+import org.ehcache.core.statistics.TierStatistics;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.stereotype.Service;
+import javax.cache.Cache;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import static com.university.universitymanagement.utility.TransactionUtils.afterCommit;
+import static com.university.universitymanagement.utility.TransactionUtils.afterCompletion;
+
+/**
+ * Service class for the Hibernate second-level cache of the catalog entities.
+ *
+ * Hibernate keeps the entity regions current for every update it flushes, but it
+ * does not touch the cached members of a mapped-by collection when a child is
+ * added or moved, since the change is made on the child. The other services call
+ * {@link #evictFaculties(Long)}, {@link #evictFeaturedPrograms(Long)} and
+ * {@link #evictDepartments(Long)} in those cases.
+ * Eviction happens immediately and again after commit, so a load that raced with
+ * the transaction cannot leave the old membership in the cache.
+ *
+ * Updates issued as conditional UPDATE statements bypass Hibernate altogether, so the
+ * services evict the updated row itself with {@link #evictUniversity(Long)},
+ * {@link #evictFaculty(Long)}, {@link #evictDepartment(Long)} or
+ * {@link #evictFeaturedProgram(Long)}: immediately, so that the transaction reloads the
+ * row from the database, and again once it completes, as that reload puts the
+ * uncommitted row into the cache.
+ *
+ * The cache is local to each instance, so it keeps a row changed on another instance
+ * until the entry expires, while the ETags are computed from the versions in the
+ * database. The services therefore pass those versions to {@link #evictStale(Class, Collection)}
+ * before answering with an ETag, and the read that follows loads the rows it names.
+ */
+@Service
+public class EntityCacheService {
+    private static final String UNIVERSITY_FACULTIES = "com.university.universitymanagement.entity.University.faculties";
+    private static final String UNIVERSITY_FEATURED_PROGRAMS = "com.university.universitymanagement.entity.University.featuredPrograms";
+    private static final String FACULTY_DEPARTMENTS = "com.university.universitymanagement.entity.Faculty.departments";
+
+    /** The regions declared by the @Cache annotations on the entities, see ehcache.xml. */
+    private static final List<String> REGIONS = List.of(
+            "universities", "faculties", "departments", "featured-programs",
+            "university-faculties", "university-featured-programs", "faculty-departments");
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final Map<String, TierStatistics> heapStatistics = new ConcurrentHashMap<>();
+
+    private final EntityManager entityManager;
+
+    public EntityCacheService(EntityManagerFactory entityManagerFactory, EntityManager entityManager) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Evicts the cached faculties of a university; call when a faculty is added to or moved out of it.
+     *
+     * @param universityId The university ID (ignored if null).
+     */
+    public void evictFaculties(Long universityId) {
+        evictCollection(UNIVERSITY_FACULTIES, universityId);
+    }
+
+    /**
+     * Evicts the cached featured programs of a university; call when a program is added to or moved out of it.
+     *
+     * @param universityId The university ID (ignored if null).
+     */
+    public void evictFeaturedPrograms(Long universityId) {
+        evictCollection(UNIVERSITY_FEATURED_PROGRAMS, universityId);
+    }
+
+    /**
+     * Evicts the cached departments of a faculty; call when a department is added to or moved out of it.
+     *
+     * @param facultyId The faculty ID (ignored if null).
+     */
+    public void evictDepartments(Long facultyId) {
+        evictCollection(FACULTY_DEPARTMENTS, facultyId);
+    }
+
+    /**
+     * Evicts one cached university; call after updating it with a statement Hibernate did not issue.
+     *
+     * @param id The university ID.
+     */
+    public void evictUniversity(Long id) {
+        evictEntity(University.class, id);
+    }
+
+    /**
+     * Evicts one cached faculty; call after updating it with a statement Hibernate did not issue.
+     *
+     * @param id The faculty ID.
+     */
+    public void evictFaculty(Long id) {
+        evictEntity(Faculty.class, id);
+    }
+
+    /**
+     * Evicts one cached department; call after updating it with a statement Hibernate did not issue.
+     *
+     * @param id The department ID.
+     */
+    public void evictDepartment(Long id) {
+        evictEntity(Department.class, id);
+    }
+
+    /**
+     * Evicts one cached featured program; call after updating it with a statement Hibernate did not issue.
+     *
+     * @param id The featured program ID.
+     */
+    public void evictFeaturedProgram(Long id) {
+        evictEntity(FeaturedProgram.class, id);
+    }
+
+    /**
+     * Evicts the cached rows older than the given versions, read from the database in the
+     * current transaction. A row cached at a newer version (the database read may come from
+     * a lagging replica) is kept.
+     *
+     * @param entity The entity class of the rows.
+     * @param stamps The IDs and current versions of the rows.
+     * @return true if any of the rows was stale or not cached at all, in which case the
+     *         cached collections holding them may not list them either.
+     */
+    public boolean evictStale(Class<?> entity, Collection<VersionStamp> stamps) {
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(entity);
+        EntityDataAccess access = persister.getCacheAccessStrategy();
+        if (access == null) return false;
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        boolean stale = false;
+        for (VersionStamp stamp : stamps) {
+            Object cached = access.get(session, access.generateCacheKey(stamp.id(), persister, sessionFactory, null));
+            if (cached instanceof CacheEntry entry && entry.getVersion() instanceof Long version
+                    && version >= stamp.version()) continue;
+            if (cached != null) evictEntity(entity, stamp.id());
+            stale = true;
+        }
+        return stale;
+    }
+
+    private void evictEntity(Class<?> entity, Long id) {
+        sessionFactory.getCache().evictEntityData(entity, id);
+        afterCompletion(() -> sessionFactory.getCache().evictEntityData(entity, id));
+    }
+
+    private void evictCollection(String role, Long ownerId) {
+        if (ownerId == null) return;
+        sessionFactory.getCache().evictCollectionData(role, ownerId);
+        afterCommit(() -> sessionFactory.getCache().evictCollectionData(role, ownerId));
+    }
+
+    /**
+     * Returns the counters of every cache region.
+     *
+     * @return Map from region name to its hit and miss counts, hit ratio and current number of entries.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            CacheRegionStatistics statistics = sessionFactory.getStatistics().getDomainDataRegionStatistics(region);
+            long hits = statistics == null ? 0 : statistics.getHitCount();
+            long misses = statistics == null ? 0 : statistics.getMissCount();
+            long total = hits + misses;
+            regions.put(region, Map.of(
+                    "hits", hits,
+                    "misses", misses,
+                    "puts", statistics == null ? 0 : statistics.getPutCount(),
+                    "hitRatio", total == 0 ? 0.0 : (double) hits / total,
+                    "size", size(region)
+            ));
+        }
+        return regions;
+    }
+
+    /**
+     * Returns the number of entries of a region from the statistics Ehcache keeps for its heap
+     * tier, without walking the entries. JCache has no size operation, and Hibernate's
+     * {@link CacheRegionStatistics#getElementCountInMemory()} is not supported for JCache regions.
+     */
+    private long size(String region) {
+        TierStatistics statistics = heapStatistics.computeIfAbsent(region, this::heapStatistics);
+        return statistics == null ? 0 : Math.max(statistics.getMappings(), 0);
+    }
+
+    private TierStatistics heapStatistics(String region) {
+        if (!(sessionFactory.getCache().getRegionFactory() instanceof JCacheRegionFactory factory)) return null;
+        Cache<Object, Object> cache = factory.getCacheManager().getCache(region);
+        if (cache == null) return null;
+        return new DefaultTierStatistics(cache.unwrap(org.ehcache.Cache.class), "OnHeap");
+    }
+}
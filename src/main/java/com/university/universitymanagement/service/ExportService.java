@@ -0,0 +1,129 @@
+package com.university.universitymanagement.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Map;
+
+/**
+ * Service class streaming whole tables as NDJSON (one JSON object per line).
+ *
+ * Rows are read through a forward-only, read-only JDBC cursor with a bounded fetch
+ * size and written to the output as they arrive, without building entities or
+ * holding more than one fetch window in memory, so heap use does not grow with the
+ * table. Rows are ordered by ID and an export can resume after the last ID received.
+ * Exports run on the export pool (see DataSourceConfig), so a long export holds none of
+ * the connections the API requests use.
+ * Deleted and inactive rows are included, with their flags.
+ */
+@Service
+public class ExportService {
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /** A table that can be exported: its columns and the JSON field name of each column. */
+    private record Export(String table, String[] columns, String[] fields) {
+        String sql() {
+            return "SELECT " + String.join(", ", columns) + " FROM " + table + " WHERE id > ? ORDER BY id";
+        }
+    }
+
+    private static final Map<String, Export> EXPORTS = Map.of(
+            "universities", new Export("universities",
+                    new String[]{"id", "name", "is_active", "is_deleted"},
+                    new String[]{"id", "name", "isActive", "isDeleted"}),
+            "faculties", new Export("faculties",
+                    new String[]{"id", "name", "is_active", "is_deleted", "university_id"},
+                    new String[]{"id", "name", "isActive", "isDeleted", "universityId"}),
+            "departments", new Export("departments",
+                    new String[]{"id", "name", "location", "is_active", "is_deleted", "faculty_id"},
+                    new String[]{"id", "name", "location", "isActive", "isDeleted", "facultyId"}),
+            "featured-programs", new Export("featured_programs",
+                    new String[]{"id", "title", "description", "is_active", "is_deleted", "university_id"},
+                    new String[]{"id", "title", "description", "isActive", "isDeleted", "universityId"}),
+            "audit-log", new Export("audit_log",
+                    new String[]{"id", "table_name", "record_id", "action", "timestamp", "old_value", "new_value", "user_id"},
+                    new String[]{"id", "tableName", "recordId", "action", "timestamp", "oldValue", "newValue", "userId"})
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for ExportService.
+     *
+     * @param dataSource The export pool to read from.
+     * @param fetchSize  The number of rows the driver fetches per round trip.
+     */
+    public ExportService(@Qualifier("exportDataSource") DataSource dataSource, @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Whether a dataset can be exported.
+     *
+     * @param dataset The dataset name, e.g. "faculties" or "audit-log".
+     * @return true if the dataset is known.
+     */
+    public boolean exists(String dataset) {
+        return EXPORTS.containsKey(dataset);
+    }
+
+    /**
+     * Writes every row of a dataset with an ID greater than {@code afterId} to the output, as NDJSON.
+     *
+     * @param dataset The dataset name, e.g. "faculties" or "audit-log".
+     * @param afterId Only rows with a greater ID are exported (0 for all rows).
+     * @param out     The stream to write to; it is flushed but not closed.
+     * @return The number of rows written.
+     * @throws IllegalArgumentException if the dataset is unknown.
+     */
+    public long export(String dataset, long afterId, OutputStream out) throws IOException {
+        Export export = EXPORTS.get(dataset);
+        if (export == null) throw new IllegalArgumentException("Unknown dataset: " + dataset);
+
+        long[] rows = {0};
+        try (JsonGenerator json = JSON.createGenerator(out, JsonEncoding.UTF8)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            try {
+                jdbcTemplate.query(export.sql(), rs -> {
+                    writeRow(json, export, rs);
+                    rows[0]++;
+                }, afterId);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return rows[0];
+    }
+
+    private static void writeRow(JsonGenerator json, Export export, ResultSet rs) throws SQLException {
+        try {
+            json.writeStartObject();
+            for (int i = 0; i < export.columns().length; i++) {
+                json.writeFieldName(export.fields()[i]);
+                Object value = rs.getObject(i + 1);
+                if (value == null) json.writeNull();
+                else if (value instanceof Number number) json.writeNumber(number.longValue());
+                else if (value instanceof Boolean bool) json.writeBoolean(bool);
+                else if (value instanceof Timestamp timestamp) json.writeString(timestamp.toLocalDateTime().toString());
+                else json.writeString(value.toString());
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
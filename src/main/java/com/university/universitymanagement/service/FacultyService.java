@@ -1,27 +1,57 @@
 package com.university.universitymanagement.service;
 
+import com.university.universitymanagement.dto.FacultySummary;
+import com.university.universitymanagement.dto.FacultySnapshot;
+import com.university.universitymanagement.dto.VersionStamp;
 import com.university.universitymanagement.entity.*;
 import com.university.universitymanagement.repository.*;
-import jakarta.transaction.Transactional;
+import com.university.universitymanagement.utility.ETagUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import static com.university.universitymanagement.utility.PaginationUtils.paginate;
+import java.util.Map;
+import java.util.Set;
+import static com.university.universitymanagement.utility.PaginationUtils.*;
+import static com.university.universitymanagement.utility.AuditDiffUtils.*;
+import static com.university.universitymanagement.utility.BulkUtils.*;
+import static com.university.universitymanagement.utility.ETagUtils.requireUpdated;
+import static com.university.universitymanagement.utility.ETagUtils.requireVersion;
 
 /**
  * Service class for managing Faculty entities.
  * Provides CRUD operations and audit logging.
+ * Read methods initialize the departments of every returned faculty through the second-level cache.
+ * Bulk methods resolve rows and parents with one set-based query each and leave the
+ * INSERTs and UPDATEs to Hibernate's JDBC batching at flush time.
+ * The etag methods answer with the ETag of the matching read method from row versions alone,
+ * evicting the rows cached at an older version first.
+ * Updates are one UPDATE conditional on the row version, as in {@link UniversityService},
+ * after a locking read of the version and audited fields, from the database, which also
+ * tells which cached collections a move affects.
  */
 @Service
 public class FacultyService {
     private final FacultyRepository repo;
     private final AuditLogService auditLogService;
     private final UniversityRepository universityRepository;
+    private final DepartmentRepository departmentRepository;
+    private final UniversityTreeService treeService;
+    private final EntityCacheService entityCacheService;
 
     public FacultyService(FacultyRepository repo, AuditLogService auditLogService,
-                          UniversityRepository universityRepository) {
+                          UniversityRepository universityRepository, DepartmentRepository departmentRepository,
+                          UniversityTreeService treeService, EntityCacheService entityCacheService) {
         this.repo = repo;
         this.auditLogService = auditLogService;
         this.universityRepository = universityRepository;
+        this.departmentRepository = departmentRepository;
+        this.treeService = treeService;
+        this.entityCacheService = entityCacheService;
     }
 
     @Transactional
@@ -34,43 +64,211 @@ public class FacultyService {
 
         faculty.setUniversity(university);
         Faculty saved = repo.save(faculty);
-        auditLogService.log("faculties", saved.getId(), user, "CREATE", null, saved.toString());
+        auditLogService.log("faculties", saved.getId(), user, "CREATE", null, toJson(snapshot(saved)));
+        treeService.evict(university.getId());
+        entityCacheService.evictFaculties(university.getId());
         return saved;
     }
 
-    public List<Faculty> all(int page, int size) {
-        List<Faculty> faculties = repo.findByIsActiveTrueAndIsDeletedFalse();
-        return paginate(faculties, page, size);
+    @Transactional(readOnly = true)
+    public Page<Faculty> all(int page, int size) {
+        Page<Faculty> faculties = repo.findByIsActiveTrueAndIsDeletedFalse(pageRequest(page, size));
+        fetchDepartments(faculties.getContent());
+        return faculties;
     }
 
+    @Transactional(readOnly = true)
+    public Slice<Faculty> allAfter(String cursor, int size) {
+        Slice<Faculty> faculties = repo.findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(decodeCursor(cursor), cursorRequest(size));
+        fetchDepartments(faculties.getContent());
+        return faculties;
+    }
+
+    /** Summaries of the faculties of {@link #all(int, int)}, with the number of active departments. */
+    @Transactional(readOnly = true)
+    public Page<FacultySummary> summaries(int page, int size) {
+        return repo.findActiveSummaries(pageRequest(page, size));
+    }
+
+    /** Summaries of the faculties of {@link #allAfter(String, int)}, with the number of active departments. */
+    @Transactional(readOnly = true)
+    public Slice<FacultySummary> summariesAfter(String cursor, int size) {
+        return repo.findActiveSummariesAfter(decodeCursor(cursor), cursorRequest(size));
+    }
+
+    @Transactional(readOnly = true)
     public Faculty get(Long id) {
+        Faculty faculty = find(id);
+        fetchDepartments(List.of(faculty));
+        return faculty;
+    }
+
+    private Faculty find(Long id) {
         return repo.findById(id).orElseThrow(() -> new RuntimeException("Faculty not found"));
     }
 
+    /**
+     * Initializes the departments of the given faculties from the second-level cache,
+     * loading misses in batches; must run in the transaction that loaded them.
+     */
+    private void fetchDepartments(List<Faculty> faculties) {
+        faculties.forEach(faculty -> Hibernate.initialize(faculty.getDepartments()));
+    }
+
+    /** ETag of {@link #get(Long)}, computed from row versions without loading the faculty. */
+    @Transactional(readOnly = true)
+    public String etag(Long id) {
+        List<VersionStamp> stamps = repo.findVersions(List.of(id));
+        if (stamps.isEmpty()) throw new RuntimeException("Faculty not found");
+        return ETagUtils.versionedEtag(stamps.get(0).version(), graphEtag(stamps));
+    }
+
+    /** ETag of {@link #all(int, int)}, computed from row versions without loading the rows. */
+    @Transactional(readOnly = true)
+    public String etagOfPage(int page, int size) {
+        Page<VersionStamp> stamps = repo.findActiveVersions(pageRequest(page, size));
+        return ETagUtils.etag(stamps.getNumber(), stamps.getSize(), stamps.getTotalElements(), graphEtag(stamps.getContent()));
+    }
+
+    /** ETag of {@link #allAfter(String, int)}, computed from row versions without loading the rows. */
+    @Transactional(readOnly = true)
+    public String etagAfter(String cursor, int size) {
+        Slice<VersionStamp> stamps = repo.findActiveVersionsAfter(decodeCursor(cursor), cursorRequest(size));
+        return ETagUtils.etag(cursor, stamps.getSize(), stamps.hasNext(), graphEtag(stamps.getContent()));
+    }
+
+    /**
+     * Combines the versions of the faculties with those of the departments serialized with them, after evicting
+     * the cached rows older than these versions, as in {@link UniversityService}.
+     */
+    private String graphEtag(List<VersionStamp> faculties) {
+        if (faculties.isEmpty()) return ETagUtils.etag(faculties);
+        Set<Long> ids = ids(faculties, VersionStamp::id);
+        List<VersionStamp> departments = departmentRepository.findVersionsByFacultyIds(ids);
+
+        entityCacheService.evictStale(Faculty.class, faculties);
+        if (entityCacheService.evictStale(Department.class, departments)) ids.forEach(entityCacheService::evictDepartments);
+        return ETagUtils.etag(faculties, departments);
+    }
+
     @Transactional
-    public Faculty update(Long id, Faculty data, User user) {
-        Faculty faculty = get(id);
-        String old = faculty.toString();
-        faculty.setName(data.getName());
-        faculty.setIsActive(data.getIsActive());
-        faculty.setIsDeleted(data.getIsDeleted());
-
-        if (data.getUniversity() != null && data.getUniversity().getId() != null) {
-            University university = universityRepository.findById(data.getUniversity().getId())
-                    .orElseThrow(() -> new RuntimeException("University not found"));
-            faculty.setUniversity(university);
-        }
+    public Faculty update(Long id, Faculty data, Long version, User user) {
+        FacultySnapshot current = repo.findSnapshot(id).orElseThrow(() -> new RuntimeException("Faculty not found"));
+        requireVersion("Faculty", id, version, current.version());
+        Long previousUniversityId = current.universityId();
+        Long universityId = universityId(data) == null ? previousUniversityId : universityId(data);
+        if (!universityId.equals(previousUniversityId) && !universityRepository.existsById(universityId))
+            throw new RuntimeException("University not found");
+
+        int rows = repo.updateIfVersion(id, current.version(), data.getName(), data.getIsActive(), data.getIsDeleted(), universityId);
+        requireUpdated("Faculty", id, current.version(), rows);
+        entityCacheService.evictFaculty(id);
 
-        Faculty updated = repo.save(faculty);
-        auditLogService.log("faculties", id, user, "UPDATE", old, updated.toString());
-        return updated;
+        Map<String, Object> written = snapshot(data);
+        written.put("universityId", universityId);
+        Diff diff = diff(snapshot(current), written);
+        auditLogService.log("faculties", id, user, "UPDATE", diff.oldValue(), diff.newValue());
+        treeService.evict(previousUniversityId);
+        treeService.evict(universityId);
+        if (!previousUniversityId.equals(universityId)) {
+            entityCacheService.evictFaculties(previousUniversityId);
+            entityCacheService.evictFaculties(universityId);
+        }
+        return find(id);
     }
 
     @Transactional
     public void delete(Long id, User user) {
-        Faculty faculty = get(id);
+        Faculty faculty = find(id);
+        Map<String, Object> before = snapshot(faculty);
         faculty.setIsDeleted(true);
         repo.save(faculty);
-        auditLogService.log("faculties", id, user, "DELETE", faculty.toString(), null);
+        Diff diff = diff(before, snapshot(faculty));
+        auditLogService.log("faculties", id, user, "DELETE", diff.oldValue(), diff.newValue());
+        treeService.evict(faculty.getUniversity().getId());
+    }
+
+    @Transactional
+    public List<Long> createAll(List<Faculty> faculties, User user) {
+        checkSize(faculties);
+        if (faculties.stream().anyMatch(f -> universityId(f) == null))
+            throw new RuntimeException("University must be provided");
+        Map<Long, University> universities = universities(faculties);
+
+        for (Faculty faculty : faculties) {
+            faculty.setId(null);
+            faculty.setUniversity(universities.get(universityId(faculty)));
+        }
+        List<Faculty> saved = repo.saveAll(faculties);
+        auditLogService.logAll(saved.stream()
+                .map(f -> auditLogService.entry("faculties", f.getId(), user, "CREATE", null, toJson(snapshot(f))))
+                .toList());
+        universities.keySet().forEach(treeService::evict);
+        universities.keySet().forEach(entityCacheService::evictFaculties);
+        return saved.stream().map(Faculty::getId).toList();
+    }
+
+    @Transactional
+    public List<Long> updateAll(List<Faculty> data, User user) {
+        checkSize(data);
+        Set<Long> ids = requireIds(data, Faculty::getId, "Faculty");
+        Map<Long, Faculty> faculties = requireAll(repo.findByIdIn(ids), ids, Faculty::getId, "Faculty");
+        Map<Long, University> universities = universities(data);
+
+        List<AuditLog> logs = new ArrayList<>(data.size());
+        Set<Long> affectedUniversityIds = new LinkedHashSet<>();
+        Set<Long> membershipChangedIds = new LinkedHashSet<>();
+        for (Faculty item : data) {
+            Faculty faculty = faculties.get(item.getId());
+            requireVersion("Faculty", item.getId(), item.getVersion(), faculty.getVersion());
+            Map<String, Object> before = snapshot(faculty);
+            Long previousUniversityId = faculty.getUniversity().getId();
+            faculty.setName(item.getName());
+            faculty.setIsActive(item.getIsActive());
+            faculty.setIsDeleted(item.getIsDeleted());
+            if (universityId(item) != null) faculty.setUniversity(universities.get(universityId(item)));
+            affectedUniversityIds.add(previousUniversityId);
+            affectedUniversityIds.add(faculty.getUniversity().getId());
+            if (!previousUniversityId.equals(faculty.getUniversity().getId())) {
+                membershipChangedIds.add(previousUniversityId);
+                membershipChangedIds.add(faculty.getUniversity().getId());
+            }
+            Diff diff = diff(before, snapshot(faculty));
+            logs.add(auditLogService.entry("faculties", faculty.getId(), user, "UPDATE", diff.oldValue(), diff.newValue()));
+        }
+        auditLogService.logAll(logs);
+        affectedUniversityIds.forEach(treeService::evict);
+        membershipChangedIds.forEach(entityCacheService::evictFaculties);
+        return List.copyOf(ids);
+    }
+
+    @Transactional
+    public List<Long> deleteAll(List<Long> requestedIds, User user) {
+        checkSize(requestedIds);
+        Set<Long> ids = requireIds(requestedIds, id -> id, "Faculty");
+        Map<Long, Faculty> faculties = requireAll(repo.findAllById(ids), ids, Faculty::getId, "Faculty");
+
+        List<AuditLog> logs = new ArrayList<>(ids.size());
+        Set<Long> affectedUniversityIds = new LinkedHashSet<>();
+        for (Faculty faculty : faculties.values()) {
+            Map<String, Object> before = snapshot(faculty);
+            faculty.setIsDeleted(true);
+            Diff diff = diff(before, snapshot(faculty));
+            logs.add(auditLogService.entry("faculties", faculty.getId(), user, "DELETE", diff.oldValue(), diff.newValue()));
+            affectedUniversityIds.add(faculty.getUniversity().getId());
+        }
+        auditLogService.logAll(logs);
+        affectedUniversityIds.forEach(treeService::evict);
+        return List.copyOf(ids);
+    }
+
+    /** Loads the universities referenced by the faculties with one query, failing if any is missing. */
+    private Map<Long, University> universities(List<Faculty> faculties) {
+        Set<Long> ids = ids(faculties, FacultyService::universityId);
+        return requireAll(universityRepository.findAllById(ids), ids, University::getId, "University");
+    }
+
+    private static Long universityId(Faculty faculty) {
+        return faculty.getUniversity() == null ? null : faculty.getUniversity().getId();
     }
 }
@@ -1,28 +1,53 @@
 package com.university.universitymanagement.service;
 
+import com.university.universitymanagement.dto.FeaturedProgramSummary;
+import com.university.universitymanagement.dto.FeaturedProgramSnapshot;
+import com.university.universitymanagement.dto.VersionStamp;
 import com.university.universitymanagement.entity.*;
 import com.university.universitymanagement.repository.*;
-import jakarta.transaction.Transactional;
+import com.university.universitymanagement.utility.ETagUtils;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import static com.university.universitymanagement.utility.PaginationUtils.paginate;
+import java.util.Map;
+import java.util.Set;
+import static com.university.universitymanagement.utility.PaginationUtils.*;
+import static com.university.universitymanagement.utility.AuditDiffUtils.*;
+import static com.university.universitymanagement.utility.BulkUtils.*;
+import static com.university.universitymanagement.utility.ETagUtils.requireUpdated;
+import static com.university.universitymanagement.utility.ETagUtils.requireVersion;
 
 /**
  * Service class for managing FeaturedProgram entities.
  * Handles creation, listing, updating, and deletion of featured programs.
+ * The etag methods answer with the ETag of the matching read method from row versions alone,
+ * evicting the rows cached at an older version first.
+ * Updates are one UPDATE conditional on the row version, as in {@link UniversityService},
+ * after a locking read of the version and audited fields, from the database, which also
+ * tells which cached collections a move affects.
  */
 @Service
 public class FeaturedProgramService {
     private final FeaturedProgramRepository repo;
     private final UniversityRepository universityRepository;
     private final AuditLogService auditLogService;
+    private final UniversityTreeService treeService;
+    private final EntityCacheService entityCacheService;
 
     public FeaturedProgramService(FeaturedProgramRepository repo,
                                   UniversityRepository universityRepository,
-                                  AuditLogService auditLogService) {
+                                  AuditLogService auditLogService,
+                                  UniversityTreeService treeService,
+                                  EntityCacheService entityCacheService) {
         this.repo = repo;
         this.universityRepository = universityRepository;
         this.auditLogService = auditLogService;
+        this.treeService = treeService;
+        this.entityCacheService = entityCacheService;
     }
 
     /**
@@ -35,23 +60,48 @@ public class FeaturedProgramService {
 
         featuredProgram.setUniversity(university);
         FeaturedProgram saved = repo.save(featuredProgram);
-        auditLogService.log("featured_programs", saved.getUniversity().getId(), user, "CREATE", null, saved.toString());
+        auditLogService.log("featured_programs", saved.getId(), user, "CREATE", null, toJson(snapshot(saved)));
+        treeService.evict(university.getId());
+        entityCacheService.evictFeaturedPrograms(university.getId());
         return saved;
     }
 
     /**
      * Retrieve all featured programs (active and not deleted) with pagination.
      */
-    public List<FeaturedProgram> all(int page, int size) {
-        List<FeaturedProgram> featuredPrograms = repo.findAll().stream()
-                .filter(fp -> fp.getIsActive() && !fp.getIsDeleted())
-                .toList();
-        return paginate(featuredPrograms, page, size);
+    @Transactional(readOnly = true)
+    public Page<FeaturedProgram> all(int page, int size) {
+        return repo.findByIsActiveTrueAndIsDeletedFalse(pageRequest(page, size));
+    }
+
+    /**
+     * Retrieve the next keyset page of featured programs (active and not deleted) after the given cursor.
+     */
+    @Transactional(readOnly = true)
+    public Slice<FeaturedProgram> allAfter(String cursor, int size) {
+        return repo.findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(decodeCursor(cursor), cursorRequest(size));
+    }
+
+    /**
+     * Summaries of the featured programs of {@link #all(int, int)}.
+     */
+    @Transactional(readOnly = true)
+    public Page<FeaturedProgramSummary> summaries(int page, int size) {
+        return repo.findActiveSummaries(pageRequest(page, size));
+    }
+
+    /**
+     * Summaries of the featured programs of {@link #allAfter(String, int)}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<FeaturedProgramSummary> summariesAfter(String cursor, int size) {
+        return repo.findActiveSummariesAfter(decodeCursor(cursor), cursorRequest(size));
     }
 
     /**
      * Get a specific featured program by its ID.
      */
+    @Transactional(readOnly = true)
     public FeaturedProgram get(Long id) {
         return repo.findById(id).orElseThrow(() -> new RuntimeException("Featured program not found"));
     }
@@ -59,22 +109,48 @@ public class FeaturedProgramService {
     /**
      * Update the featured program details.
      */
+    /** ETag of {@link #all(int, int)}, computed from row versions without loading the rows. */
+    @Transactional(readOnly = true)
+    public String etagOfPage(int page, int size) {
+        Page<VersionStamp> stamps = repo.findActiveVersions(pageRequest(page, size));
+        entityCacheService.evictStale(FeaturedProgram.class, stamps.getContent());
+        return ETagUtils.etag(stamps.getNumber(), stamps.getSize(), stamps.getTotalElements(), stamps.getContent());
+    }
+
+    /** ETag of {@link #allAfter(String, int)}, computed from row versions without loading the rows. */
+    @Transactional(readOnly = true)
+    public String etagAfter(String cursor, int size) {
+        Slice<VersionStamp> stamps = repo.findActiveVersionsAfter(decodeCursor(cursor), cursorRequest(size));
+        entityCacheService.evictStale(FeaturedProgram.class, stamps.getContent());
+        return ETagUtils.etag(cursor, stamps.getSize(), stamps.hasNext(), stamps.getContent());
+    }
+
     @Transactional
-    public FeaturedProgram update(Long id, FeaturedProgram data, User user) {
-        FeaturedProgram existing = get(id);
-        University newUniversity = universityRepository.findById(data.getUniversity().getId())
-                .orElseThrow(() -> new RuntimeException("University not found"));
-        String old = existing.toString();
+    public FeaturedProgram update(Long id, FeaturedProgram data, Long version, User user) {
+        FeaturedProgramSnapshot current = repo.findSnapshot(id).orElseThrow(() -> new RuntimeException("Featured program not found"));
+        requireVersion("Featured program", id, version, current.version());
+        Long previousUniversityId = current.universityId();
+        Long universityId = data.getUniversity() == null || data.getUniversity().getId() == null
+                ? previousUniversityId : data.getUniversity().getId();
+        if (!universityId.equals(previousUniversityId) && !universityRepository.existsById(universityId))
+            throw new RuntimeException("University not found");
 
-        existing.setUniversity(newUniversity);
-        existing.setTitle(data.getTitle());
-        existing.setDescription(data.getDescription());
-        existing.setIsActive(data.getIsActive());
-        existing.setIsDeleted(data.getIsDeleted());
+        int rows = repo.updateIfVersion(id, current.version(), data.getTitle(), data.getDescription(),
+                data.getIsActive(), data.getIsDeleted(), universityId);
+        requireUpdated("Featured program", id, current.version(), rows);
+        entityCacheService.evictFeaturedProgram(id);
 
-        FeaturedProgram updated = repo.save(existing);
-        auditLogService.log("featured_programs", id, user, "UPDATE", old, updated.toString());
-        return updated;
+        Map<String, Object> written = snapshot(data);
+        written.put("universityId", universityId);
+        Diff diff = diff(snapshot(current), written);
+        auditLogService.log("featured_programs", id, user, "UPDATE", diff.oldValue(), diff.newValue());
+        treeService.evict(previousUniversityId);
+        treeService.evict(universityId);
+        if (!previousUniversityId.equals(universityId)) {
+            entityCacheService.evictFeaturedPrograms(previousUniversityId);
+            entityCacheService.evictFeaturedPrograms(universityId);
+        }
+        return get(id);
     }
 
     /**
@@ -83,8 +159,107 @@ public class FeaturedProgramService {
     @Transactional
     public void delete(Long id, User user) {
         FeaturedProgram featuredProgram = get(id);
+        Map<String, Object> before = snapshot(featuredProgram);
         featuredProgram.setIsDeleted(true);
         repo.save(featuredProgram);
-        auditLogService.log("featured_programs", id, user, "DELETE", null, null);
+        Diff diff = diff(before, snapshot(featuredProgram));
+        auditLogService.log("featured_programs", id, user, "DELETE", diff.oldValue(), diff.newValue());
+        treeService.evict(featuredProgram.getUniversity().getId());
+    }
+
+    /**
+     * Create several featured programs at once, with batched INSERTs.
+     */
+    @Transactional
+    public List<Long> createAll(List<FeaturedProgram> featuredPrograms, User user) {
+        checkSize(featuredPrograms);
+        if (featuredPrograms.stream().anyMatch(p -> universityId(p) == null))
+            throw new RuntimeException("University must be provided");
+        Map<Long, University> universities = universities(featuredPrograms);
+
+        for (FeaturedProgram featuredProgram : featuredPrograms) {
+            featuredProgram.setId(null);
+            featuredProgram.setUniversity(universities.get(universityId(featuredProgram)));
+        }
+        List<FeaturedProgram> saved = repo.saveAll(featuredPrograms);
+        auditLogService.logAll(saved.stream()
+                .map(p -> auditLogService.entry("featured_programs", p.getId(), user, "CREATE", null, toJson(snapshot(p))))
+                .toList());
+        universities.keySet().forEach(treeService::evict);
+        universities.keySet().forEach(entityCacheService::evictFeaturedPrograms);
+        return saved.stream().map(FeaturedProgram::getId).toList();
+    }
+
+    /**
+     * Update several featured programs at once, with batched UPDATEs.
+     */
+    @Transactional
+    public List<Long> updateAll(List<FeaturedProgram> data, User user) {
+        checkSize(data);
+        Set<Long> ids = requireIds(data, FeaturedProgram::getId, "Featured program");
+        if (data.stream().anyMatch(p -> universityId(p) == null))
+            throw new RuntimeException("University must be provided");
+        Map<Long, FeaturedProgram> featuredPrograms = requireAll(repo.findByIdIn(ids), ids, FeaturedProgram::getId, "Featured program");
+        Map<Long, University> universities = universities(data);
+
+        List<AuditLog> logs = new ArrayList<>(data.size());
+        Set<Long> affectedUniversityIds = new LinkedHashSet<>();
+        Set<Long> membershipChangedIds = new LinkedHashSet<>();
+        for (FeaturedProgram item : data) {
+            FeaturedProgram existing = featuredPrograms.get(item.getId());
+            requireVersion("Featured program", item.getId(), item.getVersion(), existing.getVersion());
+            Map<String, Object> before = snapshot(existing);
+            Long previousUniversityId = existing.getUniversity().getId();
+            affectedUniversityIds.add(previousUniversityId);
+            existing.setUniversity(universities.get(universityId(item)));
+            if (!previousUniversityId.equals(universityId(item))) {
+                membershipChangedIds.add(previousUniversityId);
+                membershipChangedIds.add(universityId(item));
+            }
+            existing.setTitle(item.getTitle());
+            existing.setDescription(item.getDescription());
+            existing.setIsActive(item.getIsActive());
+            existing.setIsDeleted(item.getIsDeleted());
+            affectedUniversityIds.add(existing.getUniversity().getId());
+            Diff diff = diff(before, snapshot(existing));
+            logs.add(auditLogService.entry("featured_programs", existing.getId(), user, "UPDATE", diff.oldValue(), diff.newValue()));
+        }
+        auditLogService.logAll(logs);
+        affectedUniversityIds.forEach(treeService::evict);
+        membershipChangedIds.forEach(entityCacheService::evictFeaturedPrograms);
+        return List.copyOf(ids);
+    }
+
+    /**
+     * Soft delete several featured programs at once.
+     */
+    @Transactional
+    public List<Long> deleteAll(List<Long> requestedIds, User user) {
+        checkSize(requestedIds);
+        Set<Long> ids = requireIds(requestedIds, id -> id, "Featured program");
+        Map<Long, FeaturedProgram> featuredPrograms = requireAll(repo.findAllById(ids), ids, FeaturedProgram::getId, "Featured program");
+
+        List<AuditLog> logs = new ArrayList<>(ids.size());
+        Set<Long> affectedUniversityIds = new LinkedHashSet<>();
+        for (FeaturedProgram featuredProgram : featuredPrograms.values()) {
+            Map<String, Object> before = snapshot(featuredProgram);
+            featuredProgram.setIsDeleted(true);
+            Diff diff = diff(before, snapshot(featuredProgram));
+            logs.add(auditLogService.entry("featured_programs", featuredProgram.getId(), user, "DELETE", diff.oldValue(), diff.newValue()));
+            affectedUniversityIds.add(featuredProgram.getUniversity().getId());
+        }
+        auditLogService.logAll(logs);
+        affectedUniversityIds.forEach(treeService::evict);
+        return List.copyOf(ids);
+    }
+
+    /** Loads the universities referenced by the featured programs with one query, failing if any is missing. */
+    private Map<Long, University> universities(List<FeaturedProgram> featuredPrograms) {
+        Set<Long> ids = ids(featuredPrograms, FeaturedProgramService::universityId);
+        return requireAll(universityRepository.findAllById(ids), ids, University::getId, "University");
+    }
+
+    private static Long universityId(FeaturedProgram featuredProgram) {
+        return featuredProgram.getUniversity() == null ? null : featuredProgram.getUniversity().getId();
     }
 }
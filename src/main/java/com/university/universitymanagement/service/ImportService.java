@@ -0,0 +1,368 @@
+package com.university.universitymanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.universitymanagement.dto.FacultyName;
+import com.university.universitymanagement.dto.ImportReport;
+import com.university.universitymanagement.dto.ImportReport.ChunkReport;
+import com.university.universitymanagement.dto.ImportReport.RowError;
+import com.university.universitymanagement.dto.UniversityName;
+import com.university.universitymanagement.entity.*;
+import com.university.universitymanagement.repository.*;
+import com.university.universitymanagement.utility.CsvUtils;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import static com.university.universitymanagement.utility.BulkUtils.MAX_BULK_SIZE;
+
+/**
+ * Service class importing faculties and departments from CSV or NDJSON files.
+ *
+ * The input is read sequentially and cut into chunks of records. Each chunk is parsed,
+ * validated and saved on a bounded worker pool; when the pool is saturated the reading
+ * thread processes the next chunk itself, which keeps memory bounded for large files.
+ * Parent references, by ID or by name, are resolved against maps of the active
+ * universities and faculties loaded once per import. Every chunk is saved through the
+ * bulk service methods, so it is one batched transaction with its own audit entries,
+ * and gets its own error report.
+ *
+ * Columns (CSV header names or NDJSON fields, case-insensitive):
+ * faculties: name, universityId or university (name), optional isActive;
+ * departments: name, location, facultyId or faculty (name, optionally qualified by
+ * universityId or university), optional isActive.
+ */
+@Service
+public class ImportService {
+    private static final int MAX_ERRORS_PER_CHUNK = 100;
+
+    /** Supported input formats */
+    public enum Format { CSV, NDJSON }
+
+    private final UniversityRepository universityRepository;
+    private final FacultyRepository facultyRepository;
+    private final FacultyService facultyService;
+    private final DepartmentService departmentService;
+    private final Validator validator;
+    private final ObjectMapper mapper;
+    private final ThreadPoolExecutor pool;
+    private final int chunkSize;
+
+    /**
+     * Constructor for ImportService.
+     *
+     * @param threads       The number of worker threads parsing and saving chunks.
+     * @param queueCapacity The number of chunks that may wait for a worker.
+     * @param chunkSize     The number of records per chunk, and so per transaction.
+     */
+    public ImportService(UniversityRepository universityRepository, FacultyRepository facultyRepository,
+                         FacultyService facultyService, DepartmentService departmentService,
+                         Validator validator, ObjectMapper mapper,
+                         @Value("${import.threads:4}") int threads,
+                         @Value("${import.queue-capacity:8}") int queueCapacity,
+                         @Value("${import.chunk-size:500}") int chunkSize) {
+        this.universityRepository = universityRepository;
+        this.facultyRepository = facultyRepository;
+        this.facultyService = facultyService;
+        this.departmentService = departmentService;
+        this.validator = validator;
+        this.mapper = mapper;
+        this.chunkSize = Math.min(chunkSize, MAX_BULK_SIZE);
+        AtomicInteger workers = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "import-worker-" + workers.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /** Stops the worker pool, letting running chunks finish */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Imports faculties.
+     *
+     * @param in     The file contents, UTF-8 encoded.
+     * @param format The file format.
+     * @param user   The user recorded in the audit log.
+     * @return The import report.
+     * @throws IOException if reading the input fails.
+     * @throws IllegalArgumentException if a required CSV column is missing.
+     */
+    public ImportReport importFaculties(InputStream in, Format format, User user) throws IOException {
+        Universities universities = new Universities(universityRepository.findActiveNames());
+        return run(in, format, List.of("name"), List.of("universityid", "university"),
+                fields -> faculty(fields, universities),
+                faculties -> facultyService.createAll(faculties, user));
+    }
+
+    /**
+     * Imports departments.
+     *
+     * @param in     The file contents, UTF-8 encoded.
+     * @param format The file format.
+     * @param user   The user recorded in the audit log.
+     * @return The import report.
+     * @throws IOException if reading the input fails.
+     * @throws IllegalArgumentException if a required CSV column is missing.
+     */
+    public ImportReport importDepartments(InputStream in, Format format, User user) throws IOException {
+        Universities universities = new Universities(universityRepository.findActiveNames());
+        Faculties faculties = new Faculties(facultyRepository.findActiveNames());
+        return run(in, format, List.of("name", "location"), List.of("facultyid", "faculty"),
+                fields -> department(fields, universities, faculties),
+                departments -> departmentService.createAll(departments, user));
+    }
+
+    /** A raw record and the input line it starts on */
+    private record Line(long number, String text) {}
+
+    /**
+     * Reads the input into chunks and hands each chunk to the pool, then waits for all
+     * of them and assembles the report.
+     */
+    private <T> ImportReport run(InputStream in, Format format, List<String> required, List<String> parentColumns,
+                                 Function<Map<String, String>, T> toEntity,
+                                 Function<List<T>, List<Long>> save) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        List<String> header = null;
+        if (format == Format.CSV) {
+            String record = CsvUtils.readRecord(reader);
+            if (record == null) throw new IllegalArgumentException("The file is empty");
+            lineNumber += 1 + newlines(record);
+            header = CsvUtils.parse(record).stream().map(ImportService::key).toList();
+            for (String column : required) {
+                if (!header.contains(column)) throw new IllegalArgumentException("Missing column: " + column);
+            }
+            if (parentColumns.stream().noneMatch(header::contains))
+                throw new IllegalArgumentException("Missing column: one of " + parentColumns);
+        }
+
+        List<CompletableFuture<ChunkReport>> futures = new ArrayList<>();
+        List<Line> chunk = new ArrayList<>(chunkSize);
+        String record;
+        while ((record = format == Format.CSV ? CsvUtils.readRecord(reader) : reader.readLine()) != null) {
+            long start = lineNumber + 1;
+            lineNumber += 1 + newlines(record);
+            if (record.isBlank()) continue;
+            chunk.add(new Line(start, record));
+            if (chunk.size() == chunkSize) {
+                futures.add(submit(futures.size() + 1, chunk, header, toEntity, save));
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) futures.add(submit(futures.size() + 1, chunk, header, toEntity, save));
+
+        List<ChunkReport> chunks = futures.stream().map(CompletableFuture::join).toList();
+        long imported = chunks.stream().mapToLong(ChunkReport::imported).sum();
+        long failed = chunks.stream().mapToLong(ChunkReport::failed).sum();
+        return new ImportReport(imported + failed, imported, failed, chunks);
+    }
+
+    private <T> CompletableFuture<ChunkReport> submit(int number, List<Line> lines, List<String> header,
+                                                      Function<Map<String, String>, T> toEntity,
+                                                      Function<List<T>, List<Long>> save) {
+        return CompletableFuture.supplyAsync(() -> process(number, lines, header, toEntity, save), pool);
+    }
+
+    /** Parses and validates every record of a chunk, then saves the valid ones in one transaction */
+    private <T> ChunkReport process(int number, List<Line> lines, List<String> header,
+                                    Function<Map<String, String>, T> toEntity,
+                                    Function<List<T>, List<Long>> save) {
+        List<T> valid = new ArrayList<>(lines.size());
+        List<RowError> errors = new ArrayList<>();
+        int failed = 0;
+        for (Line line : lines) {
+            try {
+                T entity = toEntity.apply(header == null ? json(line.text()) : csv(header, line.text()));
+                validate(entity);
+                valid.add(entity);
+            } catch (RuntimeException e) {
+                failed++;
+                if (errors.size() < MAX_ERRORS_PER_CHUNK) errors.add(new RowError(line.number(), e.getMessage()));
+            }
+        }
+
+        List<Long> ids = List.of();
+        if (!valid.isEmpty()) {
+            try {
+                ids = save.apply(valid);
+            } catch (RuntimeException e) {
+                failed += valid.size();
+                errors.add(0, new RowError(0, "Chunk not saved: " + e.getMessage()));
+            }
+        }
+        return new ChunkReport(number, lines.get(0).number(), lines.get(lines.size() - 1).number(),
+                ids.size(), failed, ids, errors);
+    }
+
+    private Faculty faculty(Map<String, String> fields, Universities universities) {
+        Faculty faculty = new Faculty();
+        faculty.setName(fields.get("name"));
+        faculty.setIsActive(bool(fields.get("isactive")));
+        faculty.setUniversity(universityRef(universities.resolve(fields.get("universityid"), fields.get("university"))));
+        return faculty;
+    }
+
+    private Department department(Map<String, String> fields, Universities universities, Faculties faculties) {
+        Long universityId = null;
+        if (!blank(fields.get("universityid")) || !blank(fields.get("university")))
+            universityId = universities.resolve(fields.get("universityid"), fields.get("university"));
+
+        Department department = new Department();
+        department.setName(fields.get("name"));
+        department.setLocation(fields.get("location"));
+        department.setIsActive(bool(fields.get("isactive")));
+        Faculty faculty = new Faculty();
+        faculty.setId(faculties.resolve(fields.get("facultyid"), fields.get("faculty"), universityId));
+        department.setFaculty(faculty);
+        return department;
+    }
+
+    private void validate(Object entity) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private static Map<String, String> csv(List<String> header, String record) {
+        List<String> values = CsvUtils.parse(record);
+        if (values.size() != header.size())
+            throw new IllegalArgumentException("Expected " + header.size() + " fields but found " + values.size());
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) fields.put(header.get(i), values.get(i).trim());
+        return fields;
+    }
+
+    private Map<String, String> json(String record) {
+        Map<?, ?> object;
+        try {
+            object = mapper.readValue(record, Map.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+        Map<String, String> fields = new HashMap<>();
+        object.forEach((name, value) -> {
+            if (value != null) fields.put(key(name.toString()), value.toString().trim());
+        });
+        return fields;
+    }
+
+    private static University universityRef(Long id) {
+        University university = new University();
+        university.setId(id);
+        return university;
+    }
+
+    private static Boolean bool(String value) {
+        if (blank(value)) return true;
+        if (value.equalsIgnoreCase("true")) return true;
+        if (value.equalsIgnoreCase("false")) return false;
+        throw new IllegalArgumentException("isActive must be true or false");
+    }
+
+    private static Long id(String value, String what) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(what + " ID is not a number: " + value);
+        }
+    }
+
+    private static boolean blank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /** Normalizes a column or lookup name: trimmed, lower case, without a byte order mark */
+    private static String key(String name) {
+        return name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long newlines(String record) {
+        return record.chars().filter(c -> c == '\n').count();
+    }
+
+    /** Active universities by ID and by name, loaded once per import */
+    private static class Universities {
+        private final Set<Long> ids;
+        private final Map<String, List<Long>> byName = new HashMap<>();
+
+        Universities(List<UniversityName> universities) {
+            ids = universities.stream().map(UniversityName::id).collect(Collectors.toSet());
+            for (UniversityName university : universities)
+                byName.computeIfAbsent(key(university.name()), k -> new ArrayList<>()).add(university.id());
+        }
+
+        Long resolve(String id, String name) {
+            if (!blank(id)) {
+                Long universityId = ImportService.id(id, "University");
+                if (!ids.contains(universityId)) throw new IllegalArgumentException("University not found: " + id);
+                return universityId;
+            }
+            if (blank(name)) throw new IllegalArgumentException("University must be provided");
+            List<Long> matches = byName.getOrDefault(key(name), List.of());
+            if (matches.isEmpty()) throw new IllegalArgumentException("University not found: " + name);
+            if (matches.size() > 1) throw new IllegalArgumentException("University name is not unique: " + name);
+            return matches.get(0);
+        }
+    }
+
+    /** Active faculties by ID and by name, loaded once per import */
+    private static class Faculties {
+        private final Set<Long> ids;
+        private final Map<String, List<FacultyName>> byName = new LinkedHashMap<>();
+
+        Faculties(List<FacultyName> faculties) {
+            ids = faculties.stream().map(FacultyName::id).collect(Collectors.toSet());
+            for (FacultyName faculty : faculties)
+                byName.computeIfAbsent(key(faculty.name()), k -> new ArrayList<>()).add(faculty);
+        }
+
+        /** Resolves a faculty by ID, or by name within the given university (null: any university) */
+        Long resolve(String id, String name, Long universityId) {
+            if (!blank(id)) {
+                Long facultyId = ImportService.id(id, "Faculty");
+                if (!ids.contains(facultyId)) throw new IllegalArgumentException("Faculty not found: " + id);
+                return facultyId;
+            }
+            if (blank(name)) throw new IllegalArgumentException("Faculty must be provided");
+            List<FacultyName> matches = byName.getOrDefault(key(name), List.of()).stream()
+                    .filter(f -> universityId == null || universityId.equals(f.universityId()))
+                    .toList();
+            if (matches.isEmpty()) throw new IllegalArgumentException("Faculty not found: " + name);
+            if (matches.size() > 1)
+                throw new IllegalArgumentException("Faculty name is not unique, specify the university: " + name);
+            return matches.get(0).id();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.university.universitymanagement.service;
+
+import com.university.universitymanagement.dto.UniversityName;
+import com.university.universitymanagement.repository.UniversityRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory trigram index over the names of active, not deleted universities.
+ *
+ * Every lower-cased name is split into its overlapping three-character sequences, and
+ * each trigram maps to the sorted set of university IDs containing it, with its size kept
+ * alongside. A substring query of three or more characters only visits the IDs in the
+ * smallest posting set of its trigrams, then checks the remaining sets and the full name,
+ * and stops as soon as the requested page and one more match are found, so its cost
+ * depends on the page and the rarest trigram rather than on the table size. Shorter
+ * queries have no trigram to look up; {@link #answers(String)} tells them apart, and
+ * {@link UniversityService} sends them to the database instead.
+ *
+ * The index is built from the database at startup and kept up to date by
+ * {@link UniversityService} after each committed create, update and delete. Changes made
+ * by other instances are picked up by a full rebuild every
+ * university-name-index.rebuild-interval-ms.
+ */
+@Service
+public class UniversityNameIndex {
+    /** Length of the shortest query the index can answer */
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private final UniversityRepository repo;
+    private volatile Index index = new Index();
+    /** Changes made while a rebuild reads the database, replayed onto the rebuilt index */
+    private List<Runnable> changesDuringRebuild;
+
+    public UniversityNameIndex(UniversityRepository repo) {
+        this.repo = repo;
+    }
+
+    /**
+     * One page of matching university IDs.
+     *
+     * @param ids     The IDs on the requested page, in ascending order.
+     * @param hasNext Whether more matches follow the page.
+     */
+    public record Matches(List<Long> ids, boolean hasNext) {}
+
+    /** The IDs of the universities containing one trigram, and how many there are */
+    private static final class Posting {
+        final ConcurrentSkipListSet<Long> ids = new ConcurrentSkipListSet<>();
+        final AtomicInteger size = new AtomicInteger();
+    }
+
+    private static final class Index {
+        final ConcurrentSkipListMap<Long, String> names = new ConcurrentSkipListMap<>();
+        final Map<String, Posting> postings = new ConcurrentHashMap<>();
+
+        void put(Long id, String normalized) {
+            remove(id);
+            names.put(id, normalized);
+            for (String trigram : trigrams(normalized)) {
+                Posting posting = postings.computeIfAbsent(trigram, t -> new Posting());
+                if (posting.ids.add(id)) posting.size.incrementAndGet();
+            }
+        }
+
+        void remove(Long id) {
+            String previous = names.remove(id);
+            if (previous == null) return;
+            for (String trigram : trigrams(previous)) {
+                Posting posting = postings.get(trigram);
+                if (posting == null || !posting.ids.remove(id)) continue;
+                if (posting.size.decrementAndGet() == 0) postings.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Loads the names of all active universities into a new index and swaps it in.
+     * Searches keep using the previous index until then.
+     */
+    @PostConstruct
+    @Scheduled(initialDelayString = "${university-name-index.rebuild-interval-ms:300000}",
+            fixedDelayString = "${university-name-index.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        synchronized (this) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        Index rebuilt = new Index();
+        try {
+            for (UniversityName university : repo.findActiveNames()) rebuilt.put(university.id(), normalize(university.name()));
+        } finally {
+            synchronized (this) {
+                List<Runnable> changes = changesDuringRebuild;
+                changesDuringRebuild = null;
+                index = rebuilt;
+                changes.forEach(Runnable::run);
+            }
+        }
+    }
+
+    /**
+     * Adds or replaces the indexed name of a university.
+     *
+     * @param id   The university ID.
+     * @param name The current name.
+     */
+    public synchronized void put(Long id, String name) {
+        String normalized = normalize(name);
+        index.put(id, normalized);
+        if (changesDuringRebuild != null) changesDuringRebuild.add(() -> index.put(id, normalized));
+    }
+
+    /**
+     * Removes a university from the index, e.g. after it was deleted or deactivated.
+     *
+     * @param id The university ID.
+     */
+    public synchronized void remove(Long id) {
+        index.remove(id);
+        if (changesDuringRebuild != null) changesDuringRebuild.add(() -> index.remove(id));
+    }
+
+    /**
+     * Whether the index can answer the query, i.e. it is at least {@value #MIN_QUERY_LENGTH} characters long.
+     *
+     * @param query The substring to search for.
+     * @return true if {@link #search(String, long, int)} accepts the query.
+     */
+    public static boolean answers(String query) {
+        return normalize(query).length() >= MIN_QUERY_LENGTH;
+    }
+
+    /**
+     * Finds the universities whose name contains the query, ignoring case.
+     *
+     * @param query  The substring to search for, at least {@value #MIN_QUERY_LENGTH} characters.
+     * @param offset The number of matches to skip.
+     * @param limit  The maximum number of IDs to return.
+     * @return The matching IDs for the page, ordered by ID, and whether more follow.
+     * @throws IllegalArgumentException if the query is too short.
+     */
+    public Matches search(String query, long offset, int limit) {
+        String needle = normalize(query);
+        if (needle.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search name must be at least " + MIN_QUERY_LENGTH + " characters");
+        }
+        Index current = index;
+        List<Posting> postings = new ArrayList<>();
+        for (String gram : trigrams(needle)) {
+            Posting posting = current.postings.get(gram);
+            if (posting == null) return new Matches(List.of(), false);
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(p -> p.size.get()));
+        List<Posting> others = postings.subList(1, postings.size());
+
+        List<Long> page = new ArrayList<>(limit);
+        long skipped = 0;
+        candidates:
+        for (Long id : postings.get(0).ids) {
+            for (Posting other : others) {
+                if (!other.ids.contains(id)) continue candidates;
+            }
+            String name = current.names.get(id);
+            if (name == null || !name.contains(needle)) continue;
+            if (skipped < offset) skipped++;
+            else if (page.size() < limit) page.add(id);
+            else return new Matches(page, true);
+        }
+        return new Matches(page, false);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> trigrams(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= value.length(); i++) grams.add(value.substring(i, i + 3));
+        return grams;
+    }
+}
@@ -1,67 +1,345 @@
 package com.university.universitymanagement.service;
 
+import com.university.universitymanagement.dto.UniversitySnapshot;
+import com.university.universitymanagement.dto.UniversitySummary;
+import com.university.universitymanagement.dto.VersionStamp;
 import com.university.universitymanagement.entity.*;
 import com.university.universitymanagement.repository.*;
-import jakarta.transaction.Transactional;
+import com.university.universitymanagement.utility.ETagUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
-import static com.university.universitymanagement.utility.PaginationUtils.paginate;
+import static com.university.universitymanagement.utility.PaginationUtils.*;
+import static com.university.universitymanagement.utility.AuditDiffUtils.*;
+import static com.university.universitymanagement.utility.BulkUtils.*;
+import static com.university.universitymanagement.utility.ETagUtils.requireUpdated;
+import static com.university.universitymanagement.utility.ETagUtils.requireVersion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import static com.university.universitymanagement.utility.TransactionUtils.afterCommit;
 
 /**
  * Service class for managing University entities.
  * Provides functionality to create, read, update, delete (soft delete),
  * and search universities. Also allows searching departments by university
  * including featured programs visible across all universities.
+ *
+ * Read methods initialize the faculties, their departments and the featured programs of
+ * every returned university up front, from the second-level cache or with batched
+ * queries, so serializing the result does not trigger lazy loading per row.
+ * The summary methods return the same rows as projections with the number of active
+ * faculties and featured programs, and load no entities at all.
+ * Name search is answered by the in-memory {@link UniversityNameIndex}, which every
+ * write keeps up to date once it commits.
+ * Bulk methods load the rows they change with one query and leave the INSERTs and
+ * UPDATEs to Hibernate's JDBC batching at flush time.
+ * The etag methods answer with the ETag of the matching read method from the ID and
+ * version of every serialized row, so an unchanged response costs no entity loading;
+ * they evict the rows this instance caches at an older version, so the body that
+ * follows matches the tag.
+ * An update reads the version and audited fields of the row from the database with a
+ * locking read, not from the second-level cache, which is local to each instance and may
+ * be stale. It fails with an optimistic locking exception if the client last read
+ * another version, see {@link ETagUtils#requireVersion}; without one it applies to the
+ * current row, which the lock keeps from changing before the single UPDATE conditional
+ * on its version. Only the updated row is evicted from the cache, and the audit entry
+ * holds the old and new values of the fields that changed.
+ * Bulk updates read their rows from the database instead of the cache and check the
+ * versions before Hibernate's own versioned UPDATEs, see {@link ETagUtils#requireVersion}.
  */
 @Service
 public class UniversityService {
     private final UniversityRepository repo;
     private final AuditLogService auditLogService;
+    private final FacultyRepository facultyRepository;
+    private final DepartmentRepository departmentRepository;
+    private final FeaturedProgramRepository featuredProgramRepository;
+    private final UniversityTreeService treeService;
+    private final UniversityNameIndex nameIndex;
+    private final EntityCacheService entityCacheService;
 
-    public UniversityService(UniversityRepository repo, AuditLogService auditLogService) {
+    public UniversityService(UniversityRepository repo, AuditLogService auditLogService,
+                             FacultyRepository facultyRepository, DepartmentRepository departmentRepository,
+                             FeaturedProgramRepository featuredProgramRepository, UniversityTreeService treeService,
+                             UniversityNameIndex nameIndex, EntityCacheService entityCacheService) {
         this.repo = repo;
         this.auditLogService = auditLogService;
+        this.facultyRepository = facultyRepository;
+        this.departmentRepository = departmentRepository;
+        this.featuredProgramRepository = featuredProgramRepository;
+        this.treeService = treeService;
+        this.nameIndex = nameIndex;
+        this.entityCacheService = entityCacheService;
     }
 
     @Transactional
     public University create(University university, User user) {
         University saved = repo.save(university);
-        auditLogService.log("universities", saved.getId(), user, "CREATE", null, saved.toString());
+        auditLogService.log("universities", saved.getId(), user, "CREATE", null, toJson(snapshot(saved)));
+        treeService.evict(saved.getId());
+        reindex(saved);
         return saved;
     }
 
-    public List<University> all(int page, int size) {
-        List<University> universities = repo.findByIsActiveTrueAndIsDeletedFalse();
-        return paginate(universities, page, size);
+    @Transactional(readOnly = true)
+    public Page<University> all(int page, int size) {
+        Page<University> universities = repo.findByIsActiveTrueAndIsDeletedFalse(pageRequest(page, size));
+        fetchGraph(universities.getContent());
+        return universities;
     }
 
+    @Transactional(readOnly = true)
+    public Slice<University> allAfter(String cursor, int size) {
+        Slice<University> universities = repo.findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(decodeCursor(cursor), cursorRequest(size));
+        fetchGraph(universities.getContent());
+        return universities;
+    }
+
+    /** Summaries of the universities of {@link #all(int, int)}. */
+    @Transactional(readOnly = true)
+    public Page<UniversitySummary> summaries(int page, int size) {
+        return repo.findActiveSummaries(pageRequest(page, size));
+    }
+
+    /** Summaries of the universities of {@link #allAfter(String, int)}. */
+    @Transactional(readOnly = true)
+    public Slice<UniversitySummary> summariesAfter(String cursor, int size) {
+        return repo.findActiveSummariesAfter(decodeCursor(cursor), cursorRequest(size));
+    }
+
+    @Transactional(readOnly = true)
     public University get(Long id) {
+        University university = find(id);
+        fetchGraph(List.of(university));
+        return university;
+    }
+
+    /** ETag of {@link #get(Long)}, computed from row versions without loading the university. */
+    @Transactional(readOnly = true)
+    public String etag(Long id) {
+        List<VersionStamp> universities = repo.findVersions(List.of(id));
+        if (universities.isEmpty()) throw new RuntimeException("University not found");
+        return ETagUtils.versionedEtag(universities.get(0).version(), graphEtag(universities));
+    }
+
+    /** ETag of {@link #all(int, int)}, computed from row versions without loading the universities. */
+    @Transactional(readOnly = true)
+    public String etagOfPage(int page, int size) {
+        Page<VersionStamp> universities = repo.findActiveVersions(pageRequest(page, size));
+        return ETagUtils.etag(universities.getNumber(), universities.getSize(), universities.getTotalElements(),
+                graphEtag(universities.getContent()));
+    }
+
+    /** ETag of {@link #allAfter(String, int)}, computed from row versions without loading the universities. */
+    @Transactional(readOnly = true)
+    public String etagAfter(String cursor, int size) {
+        Slice<VersionStamp> universities = repo.findActiveVersionsAfter(decodeCursor(cursor), cursorRequest(size));
+        return ETagUtils.etag(cursor, universities.getSize(), universities.hasNext(),
+                graphEtag(universities.getContent()));
+    }
+
+    /** ETag of {@link #searchByName(String, int, int)}, computed from row versions without loading the universities. */
+    @Transactional(readOnly = true)
+    public String etagOfSearch(String name, int page, int size) {
+        Pageable pageable = pageRequest(page, size);
+        UniversityNameIndex.Matches matches = matches(name, pageable);
+        return ETagUtils.etag(name, pageable.getPageNumber(), pageable.getPageSize(), matches.hasNext(), matches.ids(),
+                graphEtag(repo.findVersions(matches.ids())));
+    }
+
+    /**
+     * Combines the versions of the universities with those of the faculties, departments and featured programs
+     * serialized with them. Cached rows older than these versions are evicted first, see
+     * {@link EntityCacheService#evictStale}, and so are the cached collections of the universities and faculties
+     * if any of their members was, so that the read that follows serves the rows the ETag names.
+     */
+    private String graphEtag(List<VersionStamp> universities) {
+        if (universities.isEmpty()) return ETagUtils.etag(universities);
+        Set<Long> ids = ids(universities, VersionStamp::id);
+        List<VersionStamp> faculties = facultyRepository.findVersionsByUniversityIds(ids);
+        List<VersionStamp> departments = departmentRepository.findVersionsByUniversityIds(ids);
+        List<VersionStamp> featuredPrograms = featuredProgramRepository.findVersionsByUniversityIds(ids);
+
+        entityCacheService.evictStale(University.class, universities);
+        if (entityCacheService.evictStale(Faculty.class, faculties)) ids.forEach(entityCacheService::evictFaculties);
+        if (entityCacheService.evictStale(Department.class, departments)) {
+            faculties.forEach(faculty -> entityCacheService.evictDepartments(faculty.id()));
+        }
+        if (entityCacheService.evictStale(FeaturedProgram.class, featuredPrograms)) {
+            ids.forEach(entityCacheService::evictFeaturedPrograms);
+        }
+        return ETagUtils.etag(universities, faculties, departments, featuredPrograms);
+    }
+
+    private University find(Long id) {
         return repo.findById(id).orElseThrow(() -> new RuntimeException("University not found"));
     }
 
+    /**
+     * Initializes the collections serialized with each university: faculties, their
+     * departments and featured programs. Collections are read from the second-level
+     * cache and misses are loaded in batches, so a cold page costs a few queries and a
+     * warm one none; must run in the transaction that loaded them.
+     */
+    private void fetchGraph(List<University> universities) {
+        for (University university : universities) {
+            Hibernate.initialize(university.getFaculties());
+            Hibernate.initialize(university.getFeaturedPrograms());
+        }
+        for (University university : universities) {
+            university.getFaculties().forEach(faculty -> Hibernate.initialize(faculty.getDepartments()));
+        }
+    }
+
     @Transactional
-    public University update(Long id, University data, User user) {
-        University university = get(id);
-        String old = university.toString();
-        university.setName(data.getName());
-        university.setIsActive(data.getIsActive());
-        university.setIsDeleted(data.getIsDeleted());
-        University updated = repo.save(university);
-        auditLogService.log("universities", id, user, "UPDATE", old, updated.toString());
+    public University update(Long id, University data, Long version, User user) {
+        UniversitySnapshot current = repo.findSnapshot(id).orElseThrow(() -> new RuntimeException("University not found"));
+        requireVersion("University", id, version, current.version());
+        int rows = repo.updateIfVersion(id, current.version(), data.getName(), data.getIsActive(), data.getIsDeleted());
+        requireUpdated("University", id, current.version(), rows);
+        entityCacheService.evictUniversity(id);
+
+        Diff diff = diff(snapshot(current), snapshot(data));
+        auditLogService.log("universities", id, user, "UPDATE", diff.oldValue(), diff.newValue());
+        treeService.evict(id);
+        University updated = find(id);
+        reindex(updated);
         return updated;
     }
 
     @Transactional
     public void delete(Long id, User user) {
-        University university = get(id);
+        University university = find(id);
+        Map<String, Object> before = snapshot(university);
         university.setIsDeleted(true);
         repo.save(university);
-        auditLogService.log("universities", id, user, "DELETE", university.toString(), null);
+        Diff diff = diff(before, snapshot(university));
+        auditLogService.log("universities", id, user, "DELETE", diff.oldValue(), diff.newValue());
+        treeService.evict(id);
+        reindex(university);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<University> searchByName(String name, int page, int size) {
+        Pageable pageable = pageRequest(page, size);
+        UniversityNameIndex.Matches matches = matches(name, pageable);
+        Map<Long, University> byId = repo.findAllById(matches.ids()).stream()
+                .collect(Collectors.toMap(University::getId, Function.identity()));
+        List<University> universities = matches.ids().stream().map(byId::get)
+                .filter(u -> u != null && searchable(u)).toList();
+        fetchGraph(universities);
+        return new SliceImpl<>(universities, pageable, matches.hasNext());
+    }
+
+    /** Summaries of the universities of {@link #searchByName(String, int, int)}. */
+    @Transactional(readOnly = true)
+    public Slice<UniversitySummary> searchSummariesByName(String name, int page, int size) {
+        Pageable pageable = pageRequest(page, size);
+        UniversityNameIndex.Matches matches = matches(name, pageable);
+        Map<Long, UniversitySummary> byId = repo.findSummaries(matches.ids()).stream()
+                .collect(Collectors.toMap(UniversitySummary::id, Function.identity()));
+        List<UniversitySummary> universities = matches.ids().stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new SliceImpl<>(universities, pageable, matches.hasNext());
+    }
+
+    @Transactional
+    public List<Long> createAll(List<University> universities, User user) {
+        checkSize(universities);
+        universities.forEach(u -> u.setId(null));
+        List<University> saved = repo.saveAll(universities);
+        auditLogService.logAll(saved.stream()
+                .map(u -> auditLogService.entry("universities", u.getId(), user, "CREATE", null, toJson(snapshot(u))))
+                .toList());
+        saved.forEach(u -> {
+            treeService.evict(u.getId());
+            reindex(u);
+        });
+        return saved.stream().map(University::getId).toList();
+    }
+
+    @Transactional
+    public List<Long> updateAll(List<University> data, User user) {
+        checkSize(data);
+        Set<Long> ids = requireIds(data, University::getId, "University");
+        Map<Long, University> universities = requireAll(repo.findByIdIn(ids), ids, University::getId, "University");
+
+        List<AuditLog> logs = new ArrayList<>(data.size());
+        for (University item : data) {
+            University university = universities.get(item.getId());
+            requireVersion("University", item.getId(), item.getVersion(), university.getVersion());
+            Map<String, Object> before = snapshot(university);
+            university.setName(item.getName());
+            university.setIsActive(item.getIsActive());
+            university.setIsDeleted(item.getIsDeleted());
+            Diff diff = diff(before, snapshot(university));
+            logs.add(auditLogService.entry("universities", university.getId(), user, "UPDATE", diff.oldValue(), diff.newValue()));
+            treeService.evict(university.getId());
+            reindex(university);
+        }
+        auditLogService.logAll(logs);
+        return List.copyOf(ids);
+    }
+
+    @Transactional
+    public List<Long> deleteAll(List<Long> requestedIds, User user) {
+        checkSize(requestedIds);
+        Set<Long> ids = requireIds(requestedIds, id -> id, "University");
+        Map<Long, University> universities = requireAll(repo.findAllById(ids), ids, University::getId, "University");
+
+        List<AuditLog> logs = new ArrayList<>(ids.size());
+        for (University university : universities.values()) {
+            Map<String, Object> before = snapshot(university);
+            university.setIsDeleted(true);
+            Diff diff = diff(before, snapshot(university));
+            logs.add(auditLogService.entry("universities", university.getId(), user, "DELETE", diff.oldValue(), diff.newValue()));
+            treeService.evict(university.getId());
+            reindex(university);
+        }
+        auditLogService.logAll(logs);
+        return List.copyOf(ids);
+    }
+
+    /**
+     * One page of the IDs of the active universities whose name contains the given string.
+     * Names of at least {@value UniversityNameIndex#MIN_QUERY_LENGTH} characters are looked up
+     * in the name index; shorter ones have no trigram to look up and are matched by a LIKE
+     * query on the database instead.
+     */
+    private UniversityNameIndex.Matches matches(String name, Pageable pageable) {
+        if (UniversityNameIndex.answers(name)) {
+            return nameIndex.search(name, pageable.getOffset(), pageable.getPageSize());
+        }
+        Slice<Long> ids = repo.findActiveIdsByNameLike(UniversityRepository.containsPattern(name), pageable);
+        return new UniversityNameIndex.Matches(ids.getContent(), ids.hasNext());
+    }
+
+    /**
+     * Whether the university is found by name search. The index of this instance may not
+     * have seen a deactivation or deletion made on another one yet, so the rows it points to
+     * are checked again once loaded.
+     */
+    private static boolean searchable(University university) {
+        return Boolean.TRUE.equals(university.getIsActive()) && !Boolean.TRUE.equals(university.getIsDeleted());
     }
 
-    public List<University> searchByName(String name, int page, int size) {
-        List<University> universities = repo.findByNameContainingIgnoreCaseAndIsActiveTrueAndIsDeletedFalse(name);
-        return paginate(universities, page, size);
+    /** Brings the name search index in line with the university once the transaction commits. */
+    private void reindex(University university) {
+        Long id = university.getId();
+        String name = university.getName();
+        boolean searchable = searchable(university);
+        afterCommit(() -> {
+            if (searchable) nameIndex.put(id, name);
+            else nameIndex.remove(id);
+        });
     }
 
 }
@@ -0,0 +1,193 @@
+package com.university.universitymanagement.service;
+
+import com.university.universitymanagement.dto.UniversityTree;
+import com.university.universitymanagement.dto.UniversityTree.DepartmentNode;
+import com.university.universitymanagement.dto.UniversityTree.FacultyNode;
+import com.university.universitymanagement.dto.UniversityTree.FeaturedProgramNode;
+import com.university.universitymanagement.entity.*;
+import com.university.universitymanagement.repository.*;
+import com.university.universitymanagement.utility.TtlCache;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import static com.university.universitymanagement.utility.PaginationUtils.cursorRequest;
+import static com.university.universitymanagement.utility.PaginationUtils.decodeCursor;
+import static com.university.universitymanagement.utility.PaginationUtils.pageRequest;
+import static com.university.universitymanagement.utility.TransactionUtils.afterCommit;
+
+/**
+ * Service class assembling the University → Faculty → Department hierarchy,
+ * together with each university's featured programs.
+ *
+ * A tree, or a page of trees, is built from four set-based queries (universities,
+ * faculties, departments, featured programs) no matter how many nodes it has, and
+ * the result is cached; the trees of all universities are only served a page at a time.
+ * The other services call {@link #evict(Long)} whenever a node under a university
+ * changes; a generation counter keeps a load that raced with a change from
+ * putting a stale tree back into the cache.
+ */
+@Service
+public class UniversityTreeService {
+    private static final Sort BY_ID = Sort.by("id");
+
+    private final UniversityRepository universityRepository;
+    private final FacultyRepository facultyRepository;
+    private final DepartmentRepository departmentRepository;
+    private final FeaturedProgramRepository featuredProgramRepository;
+    private final TtlCache<Long, UniversityTree> trees;
+    private final TtlCache<String, Page<UniversityTree>> pages;
+    private final TtlCache<String, Slice<UniversityTree>> slices;
+    private final AtomicLong generation = new AtomicLong();
+
+    public UniversityTreeService(UniversityRepository universityRepository,
+                                 FacultyRepository facultyRepository,
+                                 DepartmentRepository departmentRepository,
+                                 FeaturedProgramRepository featuredProgramRepository,
+                                 @Value("${university-tree.cache.max-size:1000}") int maxSize,
+                                 @Value("${university-tree.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.universityRepository = universityRepository;
+        this.facultyRepository = facultyRepository;
+        this.departmentRepository = departmentRepository;
+        this.featuredProgramRepository = featuredProgramRepository;
+        this.trees = new TtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        this.pages = new TtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        this.slices = new TtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * Returns the tree of one active university.
+     *
+     * @param id The university ID.
+     * @return The cached or freshly assembled tree.
+     */
+    @Transactional
+    public UniversityTree get(Long id) {
+        UniversityTree cached = trees.getIfPresent(id);
+        if (cached != null) return cached;
+
+        long loadedAt = generation.get();
+        University university = universityRepository.findById(id)
+                .filter(u -> Boolean.TRUE.equals(u.getIsActive()) && !Boolean.TRUE.equals(u.getIsDeleted()))
+                .orElseThrow(() -> new RuntimeException("University not found"));
+        UniversityTree tree = assemble(
+                List.of(university),
+                facultyRepository.findByUniversityIdAndIsActiveTrueAndIsDeletedFalse(id, BY_ID),
+                departmentRepository.findByFacultyUniversityIdAndIsActiveTrueAndIsDeletedFalse(id, BY_ID),
+                featuredProgramRepository.findByUniversityIdAndIsActiveTrueAndIsDeletedFalse(id, BY_ID)).get(0);
+        if (generation.get() == loadedAt) trees.put(id, tree);
+        return tree;
+    }
+
+    /**
+     * Returns one page of the trees of the active universities, ordered by ID.
+     *
+     * @param page The page number (0-based).
+     * @param size The number of universities per page.
+     * @return The cached or freshly assembled page of trees.
+     */
+    @Transactional
+    public Page<UniversityTree> all(int page, int size) {
+        String key = page + ":" + size;
+        Page<UniversityTree> cached = pages.getIfPresent(key);
+        if (cached != null) return cached;
+
+        long loadedAt = generation.get();
+        Page<University> universities = universityRepository.findByIsActiveTrueAndIsDeletedFalse(pageRequest(page, size));
+        Page<UniversityTree> result = new PageImpl<>(assemble(universities.getContent()),
+                universities.getPageable(), universities.getTotalElements());
+        if (generation.get() == loadedAt) pages.put(key, result);
+        return result;
+    }
+
+    /**
+     * Returns the next keyset page of the trees of the active universities, after the cursor.
+     *
+     * @param after The cursor from the previous page; blank for the first page.
+     * @param size  The number of universities per page.
+     * @return The cached or freshly assembled slice of trees.
+     */
+    @Transactional
+    public Slice<UniversityTree> allAfter(String after, int size) {
+        Long afterId = decodeCursor(after);
+        String key = afterId + ":" + size;
+        Slice<UniversityTree> cached = slices.getIfPresent(key);
+        if (cached != null) return cached;
+
+        long loadedAt = generation.get();
+        Slice<University> universities =
+                universityRepository.findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(afterId, cursorRequest(size));
+        Slice<UniversityTree> result = new SliceImpl<>(assemble(universities.getContent()),
+                universities.getPageable(), universities.hasNext());
+        if (generation.get() == loadedAt) slices.put(key, result);
+        return result;
+    }
+
+    /**
+     * Drops the cached tree of a university, and every cached page of trees, once
+     * the current transaction commits.
+     *
+     * @param universityId The university whose hierarchy changed; ignored when null.
+     */
+    public void evict(Long universityId) {
+        if (universityId == null) return;
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            trees.invalidate(universityId);
+            pages.invalidateAll();
+            slices.invalidateAll();
+        });
+    }
+
+    /** Loads the active children of the given universities and assembles their trees. */
+    private List<UniversityTree> assemble(List<University> universities) {
+        if (universities.isEmpty()) return List.of();
+        List<Long> ids = universities.stream().map(University::getId).toList();
+        return assemble(
+                universities,
+                facultyRepository.findByUniversityIdInAndIsActiveTrueAndIsDeletedFalse(ids, BY_ID),
+                departmentRepository.findByFacultyUniversityIdInAndIsActiveTrueAndIsDeletedFalse(ids, BY_ID),
+                featuredProgramRepository.findByUniversityIdInAndIsActiveTrueAndIsDeletedFalse(ids, BY_ID));
+    }
+
+    /**
+     * Groups the flat lists by parent ID. Children whose parent is not in the
+     * input (because it is inactive or deleted) are left out.
+     */
+    private List<UniversityTree> assemble(List<University> universities, List<Faculty> faculties,
+                                          List<Department> departments, List<FeaturedProgram> featuredPrograms) {
+        Map<Long, List<DepartmentNode>> departmentsByFaculty = new LinkedHashMap<>();
+        for (Department department : departments) {
+            departmentsByFaculty.computeIfAbsent(department.getFaculty().getId(), k -> new ArrayList<>())
+                    .add(new DepartmentNode(department.getId(), department.getName(), department.getLocation()));
+        }
+        Map<Long, List<FacultyNode>> facultiesByUniversity = new LinkedHashMap<>();
+        for (Faculty faculty : faculties) {
+            facultiesByUniversity.computeIfAbsent(faculty.getUniversity().getId(), k -> new ArrayList<>())
+                    .add(new FacultyNode(faculty.getId(), faculty.getName(),
+                            departmentsByFaculty.getOrDefault(faculty.getId(), List.of())));
+        }
+        Map<Long, List<FeaturedProgramNode>> programsByUniversity = new LinkedHashMap<>();
+        for (FeaturedProgram program : featuredPrograms) {
+            programsByUniversity.computeIfAbsent(program.getUniversity().getId(), k -> new ArrayList<>())
+                    .add(new FeaturedProgramNode(program.getId(), program.getTitle(), program.getDescription()));
+        }
+        List<UniversityTree> result = new ArrayList<>(universities.size());
+        for (University university : universities) {
+            result.add(new UniversityTree(university.getId(), university.getName(),
+                    facultiesByUniversity.getOrDefault(university.getId(), List.of()),
+                    programsByUniversity.getOrDefault(university.getId(), List.of())));
+        }
+        return List.copyOf(result);
+    }
+}
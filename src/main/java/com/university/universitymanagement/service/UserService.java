@@ -2,11 +2,18 @@ package com.university.universitymanagement.service;
 
 import com.university.universitymanagement.entity.User;
 import com.university.universitymanagement.repository.UserRepository;
+import com.university.universitymanagement.utility.SignedTokens;
+import com.university.universitymanagement.utility.TtlCache;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,17 +21,52 @@ import java.util.UUID;
  * Service class for managing User entities.
  * 
  * Provides functionality for registering users, logging in, and finding users by token.
+ * Token lookups are served from a bounded in-memory cache so that authenticated
+ * requests do not need a database round trip on every call.
+ *
+ * With {@code auth.token-mode=signed}, login issues self-contained HMAC-signed
+ * tokens instead (see {@link SignedTokens}): they are verified without touching the
+ * database and login no longer writes to the users table. Opaque tokens issued
+ * before the switch keep working until they are replaced. Signed mode refuses to
+ * start without auth.signed-token.secret. Logouts of signed tokens are only known to
+ * the instance that handled them, see {@link SignedTokens}.
  */
 @Service
 public class UserService {
     private final UserRepository repo;
+    private final TtlCache<String, User> tokenCache;
+    private final SignedTokens signedTokens;
 
     /**
      * Constructor for UserService.
      *
      * @param repo The UserRepository used for database operations.
+     * @param tokenCacheMaxSize The maximum number of tokens kept in the cache.
+     * @param tokenCacheTtlSeconds How long a cached token stays valid, in seconds.
+     * @param tokenMode "opaque" for random tokens stored on the user, "signed" for self-contained signed tokens.
+     * @param signedTokenSecret The signing key of signed tokens (at least 32 bytes); required in signed mode.
+     * @param signedTokenTtlSeconds How long a signed token stays valid, in seconds.
      */
-    public UserService(UserRepository repo) { this.repo = repo; }
+    public UserService(UserRepository repo,
+                       @Value("${auth.token-cache.max-size:10000}") int tokenCacheMaxSize,
+                       @Value("${auth.token-cache.ttl-seconds:300}") long tokenCacheTtlSeconds,
+                       @Value("${auth.token-mode:opaque}") String tokenMode,
+                       @Value("${auth.signed-token.secret:}") String signedTokenSecret,
+                       @Value("${auth.signed-token.ttl-seconds:3600}") long signedTokenTtlSeconds) {
+        this.repo = repo;
+        this.tokenCache = new TtlCache<>(tokenCacheMaxSize, Duration.ofSeconds(tokenCacheTtlSeconds));
+        this.signedTokens = "signed".equalsIgnoreCase(tokenMode)
+                ? new SignedTokens(secret(signedTokenSecret), Duration.ofSeconds(signedTokenTtlSeconds), Clock.systemUTC())
+                : null;
+    }
+
+    private static byte[] secret(String configured) {
+        if (configured.isBlank()) {
+            throw new IllegalStateException("auth.signed-token.secret must be set when auth.token-mode=signed; "
+                    + "without a shared secret, tokens would not survive a restart or be accepted by other instances");
+        }
+        return configured.getBytes(StandardCharsets.UTF_8);
+    }
 
     /**
      * Registers a new user.
@@ -52,21 +94,72 @@ public class UserService {
             throw new RuntimeException("Invalid credentials");
         }
         User user = found.get();
+        if (signedTokens != null) return signedTokens.issue(user.getId());
+        String previousToken = user.getToken();
         String token = UUID.randomUUID().toString();
         user.setToken(token);
         repo.save(user);
+        // After the save: a lookup that read the old token before it is discarded by the cache
+        if (previousToken != null) tokenCache.invalidate(previousToken);
         return token;
     }
 
      /**
      * Finds a user by their authentication token.
+     * The lookup is answered from the token cache when possible and only goes to the database on a miss.
+     * A signed token is verified in memory and yields a User carrying only its ID.
      *
      * @param token The token to search for.
      * @return The User entity associated with the token.
      */
     public User findByToken(String token) {
-        return repo.findByToken(token)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token"));
+        if (signedTokens != null && SignedTokens.isSigned(token)) {
+            SignedTokens.Claims claims = signedTokens.verify(token);
+            if (claims == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
+            User user = new User();
+            user.setId(claims.userId());
+            return user;
+        }
+        User user = tokenCache.get(token, t -> repo.findByToken(t).orElse(null));
+        if (user == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
+        return user;
+    }
+
+    /**
+     * Logs out the session of a token, so that the token is no longer accepted.
+     * A signed token is revoked until it expires; an opaque token is removed from its user.
+     *
+     * @param token The token to log out.
+     */
+    public void logout(String token) {
+        if (signedTokens != null && SignedTokens.isSigned(token)) {
+            if (!signedTokens.revoke(token)) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token");
+            return;
+        }
+        User user = repo.findByToken(token)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token"));
+        user.setToken(null);
+        repo.save(user);
+        tokenCache.invalidate(token);
+    }
+
+    /**
+     * Returns the token cache counters.
+     *
+     * @return Map containing the hit and miss counts, the hit ratio, the current cache size
+     *         and the number of revoked signed tokens that have not expired yet.
+     */
+    public Map<String, Object> tokenCacheStats() {
+        long hits = tokenCache.hits();
+        long misses = tokenCache.misses();
+        long total = hits + misses;
+        return Map.of(
+                "hits", hits,
+                "misses", misses,
+                "hitRatio", total == 0 ? 0.0 : (double) hits / total,
+                "size", tokenCache.size(),
+                "revokedSignedTokens", signedTokens == null ? 0 : signedTokens.revokedCount()
+        );
     }
 }
 
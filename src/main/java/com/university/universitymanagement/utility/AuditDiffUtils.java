@@ -0,0 +1,148 @@
+package com.university.universitymanagement.utility;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.universitymanagement.dto.DepartmentSnapshot;
+import com.university.universitymanagement.dto.FacultySnapshot;
+import com.university.universitymanagement.dto.FeaturedProgramSnapshot;
+import com.university.universitymanagement.dto.UniversitySnapshot;
+import com.university.universitymanagement.entity.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Utility class for building compact audit log values.
+ *
+ * Entities are reduced to a flat snapshot of their scalar fields, with parents
+ * referenced by ID only. An update is stored as two small JSON objects holding just
+ * the fields that changed: their old values and their new values. A single-row update
+ * compares the fields it wrote with the row's snapshot projection, read just before it.
+ */
+public class AuditDiffUtils {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * The old and new values of the changed fields, as JSON objects.
+     *
+     * @param oldValue JSON of the changed fields before the change, or null if there was no previous state.
+     * @param newValue JSON of the changed fields after the change, or null if there is no new state.
+     */
+    public record Diff(String oldValue, String newValue) {}
+
+    /** Returns the audited fields of a university. */
+    public static Map<String, Object> snapshot(University university) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", university.getName());
+        fields.put("isActive", university.getIsActive());
+        fields.put("isDeleted", university.getIsDeleted());
+        return fields;
+    }
+
+    /** Returns the audited fields of a faculty. */
+    public static Map<String, Object> snapshot(Faculty faculty) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", faculty.getName());
+        fields.put("isActive", faculty.getIsActive());
+        fields.put("isDeleted", faculty.getIsDeleted());
+        fields.put("universityId", faculty.getUniversity() == null ? null : faculty.getUniversity().getId());
+        return fields;
+    }
+
+    /** Returns the audited fields of a department. */
+    public static Map<String, Object> snapshot(Department department) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", department.getName());
+        fields.put("location", department.getLocation());
+        fields.put("isActive", department.getIsActive());
+        fields.put("isDeleted", department.getIsDeleted());
+        fields.put("facultyId", department.getFaculty() == null ? null : department.getFaculty().getId());
+        return fields;
+    }
+
+    /** Returns the audited fields of a featured program. */
+    public static Map<String, Object> snapshot(FeaturedProgram featuredProgram) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("title", featuredProgram.getTitle());
+        fields.put("description", featuredProgram.getDescription());
+        fields.put("isActive", featuredProgram.getIsActive());
+        fields.put("isDeleted", featuredProgram.getIsDeleted());
+        fields.put("universityId", featuredProgram.getUniversity() == null ? null : featuredProgram.getUniversity().getId());
+        return fields;
+    }
+
+    /** Returns the audited fields of a university read as a projection. */
+    public static Map<String, Object> snapshot(UniversitySnapshot university) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", university.name());
+        fields.put("isActive", university.isActive());
+        fields.put("isDeleted", university.isDeleted());
+        return fields;
+    }
+
+    /** Returns the audited fields of a faculty read as a projection. */
+    public static Map<String, Object> snapshot(FacultySnapshot faculty) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", faculty.name());
+        fields.put("isActive", faculty.isActive());
+        fields.put("isDeleted", faculty.isDeleted());
+        fields.put("universityId", faculty.universityId());
+        return fields;
+    }
+
+    /** Returns the audited fields of a department read as a projection. */
+    public static Map<String, Object> snapshot(DepartmentSnapshot department) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", department.name());
+        fields.put("location", department.location());
+        fields.put("isActive", department.isActive());
+        fields.put("isDeleted", department.isDeleted());
+        fields.put("facultyId", department.facultyId());
+        return fields;
+    }
+
+    /** Returns the audited fields of a featured program read as a projection. */
+    public static Map<String, Object> snapshot(FeaturedProgramSnapshot featuredProgram) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("title", featuredProgram.title());
+        fields.put("description", featuredProgram.description());
+        fields.put("isActive", featuredProgram.isActive());
+        fields.put("isDeleted", featuredProgram.isDeleted());
+        fields.put("universityId", featuredProgram.universityId());
+        return fields;
+    }
+
+    /**
+     * Compares two snapshots of the same entity.
+     *
+     * @param before The snapshot taken before the change.
+     * @param after  The snapshot taken after the change.
+     * @return The old and new values of the fields that differ; both are "{}" when nothing changed.
+     */
+    public static Diff diff(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object> oldFields = new LinkedHashMap<>();
+        Map<String, Object> newFields = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> field : after.entrySet()) {
+            Object previous = before.get(field.getKey());
+            if (!Objects.equals(previous, field.getValue())) {
+                oldFields.put(field.getKey(), previous);
+                newFields.put(field.getKey(), field.getValue());
+            }
+        }
+        return new Diff(toJson(oldFields), toJson(newFields));
+    }
+
+    /**
+     * Serializes a snapshot to compact JSON.
+     *
+     * @param fields The snapshot to serialize.
+     * @return The JSON text.
+     */
+    public static String toJson(Map<String, Object> fields) {
+        try {
+            return MAPPER.writeValueAsString(fields);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize audit value", e);
+        }
+    }
+}
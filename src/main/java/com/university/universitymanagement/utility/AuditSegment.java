@@ -0,0 +1,356 @@
+package com.university.universitymanagement.utility;
+
+import com.university.universitymanagement.dto.AuditLogEntry;
+import com.university.universitymanagement.utility.PaginationUtils.TimeCursor;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * An immutable file of archived audit log entries, read through a memory mapping.
+ *
+ * Entries are sorted by (tableName, recordId, timestamp, id) and stored in blocks of
+ * {@link #BLOCK_ENTRIES} entries, each compressed with Deflate. A footer holds the sparse
+ * index: the key (tableName, recordId, timestamp) of the first entry of every block, so a
+ * lookup by table and record only inflates the blocks that can hold it. The footer also
+ * records the time range of the segment and its high-water mark, the last entry in
+ * (timestamp, id) order, which is where archiving resumes.
+ *
+ * Layout: magic, blocks, footer, footer offset (8 bytes).
+ */
+public class AuditSegment {
+    private static final long MAGIC = 0x4155444954534701L; // "AUDITSG" + format version 1
+    private static final int BLOCK_ENTRIES = 256;
+
+    /** Order of the entries within a segment. */
+    private static final Comparator<AuditLogEntry> KEY_ORDER = Comparator
+            .comparing(AuditLogEntry::tableName, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(e -> recordKey(e.recordId()))
+            .thenComparing(AuditLogEntry::timestamp)
+            .thenComparing(AuditLogEntry::id);
+
+    /** Order of (timestamp, id), in which entries are archived. */
+    private static final Comparator<AuditLogEntry> TIME_ORDER = Comparator
+            .comparing(AuditLogEntry::timestamp)
+            .thenComparing(AuditLogEntry::id);
+
+    /** Newest first, the order of the audit query API. */
+    public static final Comparator<AuditLogEntry> NEWEST_FIRST = TIME_ORDER.reversed();
+
+    /** Sparse index entry: where a block is and the key of its first entry. */
+    private record Block(long offset, int compressedLength, int length, int entries,
+                         String tableName, long recordId, long timestamp) {}
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final List<Block> blocks;
+    private final long entryCount;
+    private final LocalDateTime minTimestamp;
+    private final LocalDateTime maxTimestamp;
+    private final TimeCursor highWaterMark;
+
+    private AuditSegment(Path path, MappedByteBuffer buffer, List<Block> blocks, long entryCount,
+                         LocalDateTime minTimestamp, LocalDateTime maxTimestamp, TimeCursor highWaterMark) {
+        this.path = path;
+        this.buffer = buffer;
+        this.blocks = blocks;
+        this.entryCount = entryCount;
+        this.minTimestamp = minTimestamp;
+        this.maxTimestamp = maxTimestamp;
+        this.highWaterMark = highWaterMark;
+    }
+
+    /**
+     * Writes entries to a new segment file. The file is written under a temporary name,
+     * forced to disk and then renamed, and the rename is forced to disk with the directory,
+     * so a segment is either complete or absent, also after a power loss.
+     *
+     * @param path    The segment file to create.
+     * @param entries The entries, in any order; must not be empty.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, List<AuditLogEntry> entries) throws IOException {
+        if (entries.isEmpty()) throw new IllegalArgumentException("A segment needs at least one entry");
+        List<AuditLogEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(KEY_ORDER);
+        AuditLogEntry last = entries.stream().max(TIME_ORDER).orElseThrow();
+        LocalDateTime min = entries.stream().map(AuditLogEntry::timestamp).min(LocalDateTime::compareTo).orElseThrow();
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Deflater deflater = new Deflater();
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, ByteBuffer.allocate(8).putLong(MAGIC).flip());
+            List<Block> blocks = new ArrayList<>();
+            for (int from = 0; from < sorted.size(); from += BLOCK_ENTRIES) {
+                List<AuditLogEntry> blockEntries = sorted.subList(from, Math.min(from + BLOCK_ENTRIES, sorted.size()));
+                byte[] raw = encode(blockEntries);
+                byte[] compressed = compress(deflater, raw);
+                AuditLogEntry first = blockEntries.get(0);
+                blocks.add(new Block(channel.position(), compressed.length, raw.length, blockEntries.size(),
+                        first.tableName(), recordKey(first.recordId()), micros(first.timestamp())));
+                writeFully(channel, ByteBuffer.wrap(compressed));
+            }
+            long footerOffset = channel.position();
+            writeFully(channel, ByteBuffer.wrap(footer(blocks, sorted.size(), min, last)));
+            writeFully(channel, ByteBuffer.allocate(8).putLong(footerOffset).flip());
+            channel.force(true);
+        } finally {
+            deflater.end();
+        }
+        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(path.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Forces the entries of a directory to disk, making the files created, renamed or
+     * deleted in it durable.
+     *
+     * @param dir The directory.
+     * @throws IOException if the directory cannot be opened or forced.
+     */
+    public static void forceDirectory(Path dir) throws IOException {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Maps a segment file and reads its sparse index.
+     *
+     * @param path The segment file.
+     * @return The segment.
+     * @throws IOException if the file cannot be read or is not a segment.
+     */
+    public static AuditSegment open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < 16 || buffer.getLong(0) != MAGIC) throw new IOException("Not an audit segment: " + path);
+        ByteBuffer footer = buffer.duplicate().position((int) buffer.getLong(buffer.capacity() - 8));
+        int blockCount = footer.getInt();
+        List<Block> blocks = new ArrayList<>(blockCount);
+        for (int i = 0; i < blockCount; i++) {
+            blocks.add(new Block(footer.getLong(), footer.getInt(), footer.getInt(), footer.getInt(),
+                    readString(footer), footer.getLong(), footer.getLong()));
+        }
+        long entryCount = footer.getLong();
+        LocalDateTime min = timestamp(footer.getLong());
+        LocalDateTime max = timestamp(footer.getLong());
+        TimeCursor highWaterMark = new TimeCursor(max, footer.getLong());
+        return new AuditSegment(path, buffer, List.copyOf(blocks), entryCount, min, max, highWaterMark);
+    }
+
+    /**
+     * Passes the entries matching the filters to a consumer. With a table, only the blocks
+     * the sparse index points to are inflated; otherwise every block is.
+     *
+     * @param table    Only entries of this table (optional).
+     * @param recordId Only entries of this record (optional; used with a table).
+     * @param userId   Only changes made by this user (optional).
+     * @param from     Only entries at or after this time (optional).
+     * @param to       Only entries before this time (optional).
+     * @param after    Only entries older than this position in newest-first order (optional).
+     * @param consumer Receives the matching entries, in key order.
+     */
+    public void scan(String table, Long recordId, Long userId, LocalDateTime from, LocalDateTime to,
+                     TimeCursor after, Consumer<AuditLogEntry> consumer) {
+        if (from != null && maxTimestamp.isBefore(from)) return;
+        if (to != null && !minTimestamp.isBefore(to)) return;
+        if (after != null && minTimestamp.isAfter(after.timestamp())) return;
+
+        int first = 0;
+        int last = blocks.size() - 1;
+        if (table != null) {
+            long lowRecord = recordId == null ? Long.MIN_VALUE : recordKey(recordId);
+            long highRecord = recordId == null ? Long.MAX_VALUE : recordKey(recordId);
+            long lowTime = from == null || recordId == null ? Long.MIN_VALUE : micros(from);
+            // Entries equal to the low key may end the block before the one starting with it
+            first = Math.max(0, lastBlockStartingBefore(table, lowRecord, lowTime, false));
+            last = lastBlockStartingBefore(table, highRecord, Long.MAX_VALUE, true);
+        }
+        for (int i = first; i <= last; i++) {
+            for (AuditLogEntry entry : decode(blocks.get(i))) {
+                if (table != null && !table.equals(entry.tableName())) continue;
+                if (recordId != null && !recordId.equals(entry.recordId())) continue;
+                if (userId != null && !userId.equals(entry.userId())) continue;
+                if (from != null && entry.timestamp().isBefore(from)) continue;
+                if (to != null && !entry.timestamp().isBefore(to)) continue;
+                if (after != null && !isOlder(entry, after)) continue;
+                consumer.accept(entry);
+            }
+        }
+    }
+
+    /** The segment file. */
+    public Path path() { return path; }
+
+    /** Number of entries in the segment. */
+    public long entryCount() { return entryCount; }
+
+    /** The last entry of the segment in (timestamp, id) order. */
+    public TimeCursor highWaterMark() { return highWaterMark; }
+
+    /** Index of the last block whose first key is before (or, if inclusive, equal to) the given key; -1 if none. */
+    private int lastBlockStartingBefore(String table, long recordId, long timestamp, boolean inclusive) {
+        int lo = 0;
+        int hi = blocks.size() - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            Block block = blocks.get(mid);
+            int cmp = compareKey(block, table, recordId, timestamp);
+            if (cmp < 0 || (inclusive && cmp == 0)) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static int compareKey(Block block, String table, long recordId, long timestamp) {
+        int cmp = block.tableName() == null ? -1 : block.tableName().compareTo(table);
+        if (cmp != 0) return cmp;
+        cmp = Long.compare(block.recordId(), recordId);
+        if (cmp != 0) return cmp;
+        return Long.compare(block.timestamp(), timestamp);
+    }
+
+    /** Whether an entry comes after the cursor in newest-first order. */
+    private static boolean isOlder(AuditLogEntry entry, TimeCursor cursor) {
+        int cmp = entry.timestamp().compareTo(cursor.timestamp());
+        return cmp < 0 || (cmp == 0 && entry.id() < cursor.id());
+    }
+
+    private List<AuditLogEntry> decode(Block block) {
+        byte[] raw = new byte[block.length()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice((int) block.offset(), block.compressedLength()));
+            int n = inflater.inflate(raw);
+            if (n != raw.length) throw new IllegalStateException("Corrupt block in " + path);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt block in " + path, e);
+        } finally {
+            inflater.end();
+        }
+        ByteBuffer in = ByteBuffer.wrap(raw);
+        List<AuditLogEntry> entries = new ArrayList<>(block.entries());
+        for (int i = 0; i < block.entries(); i++) {
+            long id = in.getLong();
+            String tableName = readString(in);
+            long recordId = in.getLong();
+            String action = readString(in);
+            LocalDateTime timestamp = timestamp(in.getLong());
+            String oldValue = readString(in);
+            String newValue = readString(in);
+            long userId = in.getLong();
+            entries.add(new AuditLogEntry(id, tableName, recordId == Long.MIN_VALUE ? null : recordId,
+                    action, timestamp, oldValue, newValue, userId));
+        }
+        return entries;
+    }
+
+    private static byte[] encode(List<AuditLogEntry> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (AuditLogEntry entry : entries) {
+            out.writeLong(entry.id());
+            writeString(out, entry.tableName());
+            out.writeLong(recordKey(entry.recordId()));
+            writeString(out, entry.action());
+            out.writeLong(micros(entry.timestamp()));
+            writeString(out, entry.oldValue());
+            writeString(out, entry.newValue());
+            out.writeLong(entry.userId());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] footer(List<Block> blocks, int entryCount, LocalDateTime min, AuditLogEntry last)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(blocks.size());
+        for (Block block : blocks) {
+            out.writeLong(block.offset());
+            out.writeInt(block.compressedLength());
+            out.writeInt(block.length());
+            out.writeInt(block.entries());
+            writeString(out, block.tableName());
+            out.writeLong(block.recordId());
+            out.writeLong(block.timestamp());
+        }
+        out.writeLong(entryCount);
+        out.writeLong(micros(min));
+        out.writeLong(micros(last.timestamp()));
+        out.writeLong(last.id());
+        return bytes.toByteArray();
+    }
+
+    private static byte[] compress(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) out.write(chunk, 0, deflater.deflate(chunk));
+        return out.toByteArray();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    /** Strings are length-prefixed UTF-8, -1 for null (the JSON values may exceed writeUTF's 64 KB). */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long recordKey(Long recordId) {
+        return recordId == null ? Long.MIN_VALUE : recordId;
+    }
+
+    private static long micros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    private static LocalDateTime timestamp(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
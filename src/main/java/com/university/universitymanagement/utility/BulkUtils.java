@@ -0,0 +1,86 @@
+package com.university.universitymanagement.utility;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Utility class for the bulk endpoints.
+ *
+ * Bulk operations resolve the rows and parents they touch with one set-based lookup
+ * each; these helpers index the results by ID and report every missing ID at once.
+ */
+public class BulkUtils {
+    /** The largest number of items a single bulk request may contain. */
+    public static final int MAX_BULK_SIZE = 5000;
+
+    /**
+     * Checks the size of a bulk request.
+     *
+     * @param items The items of the request.
+     * @throws IllegalArgumentException if the request is empty or larger than {@link #MAX_BULK_SIZE}.
+     */
+    public static void checkSize(Collection<?> items) {
+        if (items == null || items.isEmpty()) throw new IllegalArgumentException("Request must contain at least one item");
+        if (items.size() > MAX_BULK_SIZE)
+            throw new IllegalArgumentException("Request must not contain more than " + MAX_BULK_SIZE + " items");
+    }
+
+    /**
+     * Collects the distinct, non-null IDs of the items, in encounter order.
+     *
+     * @param items The items.
+     * @param idOf  Function extracting the ID of an item; may return null.
+     * @param <T>   The type of the items.
+     * @return The distinct IDs.
+     */
+    public static <T> Set<Long> ids(Collection<T> items, Function<T, Long> idOf) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (T item : items) {
+            Long id = idOf.apply(item);
+            if (id != null) ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Indexes the rows returned by a findAllById lookup and checks that none is missing.
+     *
+     * @param rows The rows that were found.
+     * @param ids  The IDs that were looked up.
+     * @param idOf Function extracting the ID of a row.
+     * @param what The name of the entity, used in the error message.
+     * @param <T>  The type of the rows.
+     * @return The rows by ID.
+     * @throws RuntimeException listing the IDs that were not found.
+     */
+    public static <T> Map<Long, T> requireAll(List<T> rows, Collection<Long> ids, Function<T, Long> idOf, String what) {
+        Map<Long, T> byId = new LinkedHashMap<>();
+        for (T row : rows) byId.put(idOf.apply(row), row);
+        List<Long> missing = ids.stream().filter(id -> !byId.containsKey(id)).toList();
+        if (!missing.isEmpty()) throw new RuntimeException(what + " not found: " + missing);
+        return byId;
+    }
+
+    /**
+     * Checks that every item carries an ID and that no ID appears twice.
+     *
+     * @param items The items.
+     * @param idOf  Function extracting the ID of an item.
+     * @param what  The name of the entity, used in the error messages.
+     * @param <T>   The type of the items.
+     * @return The IDs, in request order.
+     * @throws RuntimeException if an item has no ID or an ID is repeated.
+     */
+    public static <T> Set<Long> requireIds(Collection<T> items, Function<T, Long> idOf, String what) {
+        if (items.stream().map(idOf).anyMatch(Objects::isNull)) throw new RuntimeException(what + " ID must be provided");
+        Set<Long> ids = ids(items, idOf);
+        if (ids.size() != items.size()) throw new RuntimeException("Duplicate " + what + " IDs");
+        return ids;
+    }
+}
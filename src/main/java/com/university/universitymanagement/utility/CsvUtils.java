@@ -0,0 +1,81 @@
+package com.university.universitymanagement.utility;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class for reading RFC 4180 CSV.
+ *
+ * Reading is split in two steps so that the expensive part can run in parallel:
+ * {@link #readRecord(BufferedReader)} only finds where a record ends (a quoted field
+ * may span several lines), and {@link #parse(String)} splits a record into fields.
+ */
+public class CsvUtils {
+
+    /**
+     * Reads the next record, including any line breaks inside quoted fields.
+     *
+     * @param reader The reader positioned at the start of a record.
+     * @return The raw record without its trailing line break, or null at the end of the input.
+     * @throws IOException if reading fails.
+     */
+    public static String readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) return null;
+        int quotes = countQuotes(line);
+        if (quotes % 2 == 0) return line;
+        StringBuilder record = new StringBuilder(line);
+        while (quotes % 2 != 0) {
+            String next = reader.readLine();
+            if (next == null) break;
+            record.append('\n').append(next);
+            quotes += countQuotes(next);
+        }
+        return record.toString();
+    }
+
+    /**
+     * Splits a record into its fields, removing the quotes around quoted fields and
+     * unescaping doubled quotes.
+     *
+     * @param record A record returned by {@link #readRecord(BufferedReader)}.
+     * @return The fields, in order.
+     * @throws IllegalArgumentException if a quoted field is not terminated.
+     */
+    public static List<String> parse(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("Unterminated quoted field");
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static int countQuotes(String text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) if (text.charAt(i) == '"') quotes++;
+        return quotes;
+    }
+}
@@ -0,0 +1,139 @@
+package com.university.universitymanagement.utility;
+
+import com.university.universitymanagement.dto.VersionStamp;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+
+/**
+ * Utility class for computing strong ETags.
+ *
+ * An ETag is a digest of everything a response depends on: the ID and version of
+ * every row it serializes plus request-level values such as the page number and
+ * total count. Any change to a serialized row increments its version and so
+ * changes the tag, without the response itself being built.
+ *
+ * The tag of a single row starts with the row's version ({@code "<version>-<digest>"}),
+ * so that an If-Match header sent back with an update names the version the client
+ * last saw, see {@link #ifMatchVersion(String)}.
+ */
+public class ETagUtils {
+    private static final byte SEPARATOR = 0x1F;
+
+    /**
+     * Computes a strong ETag from the given parts.
+     * {@link VersionStamp}s contribute their ID and version, collections each of their
+     * elements in order, and any other value its string form.
+     *
+     * @param parts The values the response depends on.
+     * @return The quoted ETag, ready for the ETag header.
+     */
+    public static String etag(Object... parts) {
+        return "\"" + digest(parts) + "\"";
+    }
+
+    /**
+     * Computes a strong ETag for a single row, prefixed with the row's version.
+     *
+     * @param version The version of the row.
+     * @param parts   The values the response depends on.
+     * @return The quoted ETag, ready for the ETag header.
+     */
+    public static String versionedEtag(long version, Object... parts) {
+        return "\"" + version + "-" + digest(parts) + "\"";
+    }
+
+    /**
+     * Extracts the row version from an If-Match header. Accepts an ETag issued by
+     * {@link #versionedEtag(long, Object...)} or a quoted bare version, as returned
+     * in the {@code version} field of a response body.
+     *
+     * @param ifMatch The If-Match header value, may be null.
+     * @return The version, null if the header is absent or {@code *} (the update is
+     *         unconditional), or -1, which matches no row, if the tag is not one this
+     *         application issued.
+     */
+    public static Long ifMatchVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) return -1L;
+        tag = tag.substring(1, tag.length() - 1);
+        int dash = tag.indexOf('-');
+        String version = dash < 0 ? tag : tag.substring(0, dash);
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Checks that a row is still at the version the client last saw, for the bulk updates.
+     * The row must have been read from the database rather than the second-level cache,
+     * which is local to each instance. Hibernate then makes the UPDATE itself conditional
+     * on that version, so a concurrent change that commits in between fails the flush in
+     * the same way.
+     *
+     * @param what     The kind of row, used in the message (e.g. "University").
+     * @param id       The row ID.
+     * @param expected The version from If-Match or the request body, null to skip the check.
+     * @param actual   The version of the loaded row.
+     * @throws ObjectOptimisticLockingFailureException if the versions differ.
+     */
+    public static void requireVersion(String what, Long id, Long expected, Long actual) {
+        if (expected != null && !expected.equals(actual)) {
+            throw new ObjectOptimisticLockingFailureException(
+                    what + " " + id + " has been modified (version " + actual + ")", null);
+        }
+    }
+
+    /**
+     * Checks the row count of an {@code UPDATE ... WHERE id = ? AND version = ?}.
+     *
+     * @param what    The kind of row, used in the message (e.g. "University").
+     * @param id      The row ID.
+     * @param version The version the update was conditional on.
+     * @param rows    The number of rows the update changed.
+     * @throws ObjectOptimisticLockingFailureException if no row was changed, i.e. the row is no longer at that version.
+     */
+    public static void requireUpdated(String what, Long id, Long version, int rows) {
+        if (rows == 0) {
+            throw new ObjectOptimisticLockingFailureException(
+                    what + " " + id + " has been modified (no longer at version " + version + ")", null);
+        }
+    }
+
+    private static String digest(Object... parts) {
+        MessageDigest digest = sha256();
+        for (Object part : parts) {
+            if (part instanceof Collection<?> items) {
+                for (Object item : items) update(digest, item);
+            } else {
+                update(digest, part);
+            }
+            digest.update(SEPARATOR);
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        if (value instanceof VersionStamp stamp) {
+            digest.update(ByteBuffer.allocate(16).putLong(stamp.id()).putLong(stamp.version()).array());
+        } else {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update(SEPARATOR);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
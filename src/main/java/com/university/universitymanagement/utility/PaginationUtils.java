@@ -1,28 +1,223 @@
 package com.university.universitymanagement.utility;
 
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 /**
- * Utility class for handling pagination of lists.
+ * Utility class for handling database-side pagination.
+ *
+ * Supports two modes: offset pagination ({@link #pageRequest(int, int)}) and
+ * keyset pagination, where an opaque cursor carries the last ID seen and the next
+ * page seeks past it on the primary key ({@link #cursorRequest(int)}). Rows ordered by
+ * time use a cursor carrying both the timestamp and the ID of the last row ({@link TimeCursor}).
  */
 public class PaginationUtils {
+    /** The largest page size a client may request. */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Position after the last row of a page ordered by timestamp, then ID.
+     *
+     * @param timestamp The timestamp of the last row returned.
+     * @param id        The ID of the last row returned, which breaks ties between equal timestamps.
+     */
+    public record TimeCursor(LocalDateTime timestamp, Long id) {}
+
     /**
-     * Returns a paginated sublist of the given list.
+     * Builds a page request ordered by ID so that pages are stable between calls.
      *
-     * @param list The original list to paginate.
      * @param page The page number (0-based).
      * @param size The number of items per page.
-     * @param <T>  The type of elements in the list.
-     * @return A sublist containing the items for the requested page.
-     *         Returns an empty list if the page is out of bounds.
+     * @return A Pageable that the repositories translate into LIMIT/OFFSET.
+     * @throws IllegalArgumentException if the page is negative or the size is out of range.
      */
-    public static <T> List<T> paginate(List<T> list, int page, int size) {
-        int fromIndex = page * size;
-        int toIndex = Math.min(fromIndex + size, list.size());
-        if (fromIndex >= list.size()) return Collections.emptyList();
-        return list.subList(fromIndex, toIndex);
+    public static Pageable pageRequest(int page, int size) {
+        if (page < 0) throw new IllegalArgumentException("Page must not be negative");
+        checkSize(size);
+        return PageRequest.of(page, size, Sort.by("id"));
+    }
+
+    /**
+     * Builds the request for one keyset page: the first {@code size} rows ordered by ID.
+     * Combined with an {@code id > :after} condition it costs the same at any depth
+     * and, being a Slice query, skips the count query.
+     *
+     * @param size The number of items per page.
+     * @return A Pageable for the first page of the seek query.
+     * @throws IllegalArgumentException if the size is out of range.
+     */
+    public static Pageable cursorRequest(int size) {
+        return pageRequest(0, size);
+    }
+
+    /**
+     * Builds the request for one keyset page in another order than by ID, for seek
+     * queries whose cursor carries the whole sort key.
+     *
+     * @param size The number of items per page.
+     * @param sort The order of the seek query.
+     * @return A Pageable for the first page of the seek query.
+     * @throws IllegalArgumentException if the size is out of range.
+     */
+    public static Pageable cursorRequest(int size, Sort sort) {
+        checkSize(size);
+        return PageRequest.of(0, size, sort);
+    }
+
+    private static void checkSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Encodes the ID of the last row of a page into an opaque cursor.
+     *
+     * @param lastId The ID of the last row returned.
+     * @return The cursor to pass as {@code after} for the next page.
+     */
+    public static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encodeCursor(Long)}.
+     * A blank cursor starts from the beginning.
+     *
+     * @param cursor The cursor received from the client.
+     * @return The ID to seek past.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return 0L;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.parseLong(decoded);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Encodes the timestamp and ID of the last row of a page into an opaque cursor.
+     *
+     * @param timestamp The timestamp of the last row returned.
+     * @param id        The ID of the last row returned.
+     * @return The cursor to pass as {@code after} for the next page.
+     */
+    public static String encodeCursor(LocalDateTime timestamp, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encodeCursor(LocalDateTime, Long)}.
+     *
+     * @param cursor The cursor received from the client.
+     * @return The position to seek past, or null for a blank cursor (the first page).
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static TimeCursor decodeTimeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int bar = decoded.indexOf('|');
+            if (bar < 0) throw new IllegalArgumentException("Invalid cursor");
+            return new TimeCursor(LocalDateTime.parse(decoded.substring(0, bar)), Long.parseLong(decoded.substring(bar + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Returns the paging metadata of a keyset page for inclusion in a response body.
+     *
+     * @param slice The slice returned by a seek query.
+     * @param idOf  Function extracting the ID of an element.
+     * @param <T>   The type of elements in the slice.
+     * @return Map containing the page size, whether a next page exists and the cursor for it (null on the last page).
+     */
+    public static <T> Map<String, Object> cursorMeta(Slice<T> slice, Function<T, Long> idOf) {
+        List<T> content = slice.getContent();
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("size", slice.getSize());
+        meta.put("hasNext", slice.hasNext());
+        meta.put("nextCursor", slice.hasNext() ? encodeCursor(idOf.apply(content.get(content.size() - 1))) : null);
+        return meta;
+    }
+
+    /**
+     * Returns the paging metadata of a keyset page ordered by time for inclusion in a response body.
+     *
+     * @param slice       The slice returned by a seek query.
+     * @param timestampOf Function extracting the timestamp of an element.
+     * @param idOf        Function extracting the ID of an element.
+     * @param <T>         The type of elements in the slice.
+     * @return Map containing the page size, whether a next page exists and the cursor for it (null on the last page).
+     */
+    public static <T> Map<String, Object> timeCursorMeta(Slice<T> slice, Function<T, LocalDateTime> timestampOf,
+                                                         Function<T, Long> idOf) {
+        List<T> content = slice.getContent();
+        T last = content.isEmpty() ? null : content.get(content.size() - 1);
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("size", slice.getSize());
+        meta.put("hasNext", slice.hasNext());
+        meta.put("nextCursor", slice.hasNext() ? encodeCursor(timestampOf.apply(last), idOf.apply(last)) : null);
+        return meta;
+    }
+
+    /**
+     * Returns the paging metadata of a page for inclusion in a response body.
+     *
+     * @param page The page returned by a repository.
+     * @return Map containing the page number, page size, total elements, total pages and whether a next page exists.
+     */
+    public static Map<String, Object> meta(Page<?> page) {
+        return Map.of(
+                "page", page.getNumber(),
+                "size", page.getSize(),
+                "totalElements", page.getTotalElements(),
+                "totalPages", page.getTotalPages(),
+                "hasNext", page.hasNext()
+        );
     }
-}
 
+    /**
+     * Returns the paging metadata of a page whose total is not counted for inclusion in a response body.
+     *
+     * @param slice The slice returned by a search.
+     * @return Map containing the page number, page size and whether a next page exists.
+     */
+    public static Map<String, Object> meta(Slice<?> slice) {
+        return Map.of(
+                "page", slice.getNumber(),
+                "size", slice.getSize(),
+                "hasNext", slice.hasNext()
+        );
+    }
 
+    /**
+     * Parses the {@code view} parameter of the list endpoints: "full" returns the entities
+     * with their collections, "summary" only their columns and the number of children.
+     *
+     * @param view The parameter value.
+     * @return Whether the summary view is requested.
+     * @throws IllegalArgumentException if the value is neither "full" nor "summary".
+     */
+    public static boolean summaryView(String view) {
+        if (view.equals("summary")) return true;
+        if (view.equals("full")) return false;
+        throw new IllegalArgumentException("Invalid view '" + view + "', expected full or summary");
+    }
+}
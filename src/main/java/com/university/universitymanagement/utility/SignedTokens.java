@@ -0,0 +1,143 @@
+package com.university.universitymanagement.utility;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and verifies self-contained access tokens signed with HMAC-SHA256.
+ *
+ * A token is {@code <payload>.<signature>}, both base64url encoded, where the
+ * payload holds the user ID, the expiry time and a random token ID. Verifying a
+ * token needs no storage: the signature proves it was issued with the secret and
+ * the payload says who it belongs to and until when.
+ *
+ * Logged-out tokens are kept in a revocation list until they would have expired,
+ * so the list only ever holds the logouts of one token lifetime. The list is held
+ * in memory, per instance: a token revoked on one instance is still accepted by the
+ * others until it expires, so keep the token lifetime short when running several.
+ */
+public class SignedTokens {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_BYTES = 24;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /** The verified contents of a token. */
+    public record Claims(long userId, long expiresAt, long tokenId) {}
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final long ttlSeconds;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<Long, Long> revoked = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a token issuer.
+     *
+     * @param secret The signing key; at least 32 bytes.
+     * @param ttl    How long an issued token stays valid.
+     * @param clock  The clock expiry is measured against.
+     */
+    public SignedTokens(byte[] secret, Duration ttl, Clock clock) {
+        if (secret.length < 32) throw new IllegalArgumentException("Token secret must be at least 32 bytes");
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.ttlSeconds = ttl.toSeconds();
+        this.clock = clock;
+    }
+
+    /**
+     * Issues a token for a user.
+     *
+     * @param userId The ID of the user.
+     * @return The signed token.
+     */
+    public String issue(long userId) {
+        byte[] payload = ByteBuffer.allocate(PAYLOAD_BYTES)
+                .putLong(userId)
+                .putLong(clock.instant().getEpochSecond() + ttlSeconds)
+                .putLong(random.nextLong())
+                .array();
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Verifies a token: its signature, its expiry and that it was not revoked.
+     *
+     * @param token The token to verify.
+     * @return The claims of the token, or null if it is malformed, forged, expired or revoked.
+     */
+    public Claims verify(String token) {
+        Claims claims = decode(token);
+        if (claims == null || revoked.containsKey(claims.tokenId())) return null;
+        return claims;
+    }
+
+    /**
+     * Revokes a token until it expires. Tokens that do not verify are ignored.
+     *
+     * @param token The token to revoke.
+     * @return true if the token was valid and is now revoked.
+     */
+    public boolean revoke(String token) {
+        Claims claims = verify(token);
+        if (claims == null) return false;
+        long now = clock.instant().getEpochSecond();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        revoked.put(claims.tokenId(), claims.expiresAt());
+        return true;
+    }
+
+    /** Returns the number of revoked tokens that have not expired yet. */
+    public int revokedCount() {
+        long now = clock.instant().getEpochSecond();
+        return (int) revoked.values().stream().filter(expiresAt -> expiresAt > now).count();
+    }
+
+    /** Whether a token has the shape of a signed token, as opposed to an opaque one. */
+    public static boolean isSigned(String token) {
+        return token.indexOf('.') > 0;
+    }
+
+    private Claims decode(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) return null;
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (payload.length != PAYLOAD_BYTES || !MessageDigest.isEqual(signature, sign(payload))) return null;
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        Claims claims = new Claims(buffer.getLong(), buffer.getLong(), buffer.getLong());
+        if (claims.expiresAt() <= clock.instant().getEpochSecond()) return null;
+        return claims;
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        }
+    }
+}
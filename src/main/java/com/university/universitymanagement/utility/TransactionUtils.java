@@ -0,0 +1,47 @@
+package com.university.universitymanagement.utility;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility class for running work relative to the current transaction.
+ */
+public class TransactionUtils {
+    /**
+     * Runs the action once the current transaction has committed, or immediately
+     * when no transaction is active. The action is skipped if the transaction rolls back.
+     *
+     * @param action The work to run after commit.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Runs the action once the current transaction has completed, whether it committed
+     * or rolled back, or immediately when no transaction is active.
+     *
+     * @param action The work to run after completion.
+     */
+    public static void afterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+}
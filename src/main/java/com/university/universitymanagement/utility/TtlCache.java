@@ -0,0 +1,116 @@
+package com.university.universitymanagement.utility;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, thread-safe in-memory cache whose entries expire after a fixed time-to-live.
+ *
+ * Once the maximum size is reached the least recently used entry is evicted.
+ * Hit and miss counters are kept so callers can check how often the backing store is bypassed.
+ * Every invalidation moves a generation counter, and a value loaded by {@link #get} is only
+ * stored if no invalidation happened during the load, so a load that read the backing store
+ * before a change cannot put the old value back after the change invalidated it.
+ *
+ * @param <K> The type of the cache keys.
+ * @param <V> The type of the cached values.
+ */
+public class TtlCache<K, V> {
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long generation;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize The maximum number of entries kept in memory.
+     * @param ttl     How long an entry stays valid after it was stored.
+     */
+    public TtlCache(int maxSize, Duration ttl) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be positive");
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value for the key, loading and storing it on a miss.
+     * The loader runs outside the cache lock, so a slow load does not block other readers;
+     * its value is returned but not stored if an entry was invalidated meanwhile.
+     *
+     * @param key    The cache key.
+     * @param loader Function that loads the value from the backing store.
+     * @return The cached or freshly loaded value.
+     */
+    public V get(K key, Function<K, V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        long loadedAt = generation();
+        V loaded = loader.apply(key);
+        if (loaded != null) putIfNotInvalidatedSince(key, loaded, loadedAt);
+        return loaded;
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private synchronized void putIfNotInvalidatedSince(K key, V value, long loadedAt) {
+        if (generation == loadedAt) put(key, value);
+    }
+
+    /** Returns the cached value for the key, or null if it is absent or expired. Does not touch the counters. */
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+        if (System.nanoTime() - entry.storedAt >= ttlNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /** Stores a value under the given key, replacing any previous entry. */
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+    }
+
+    /** Removes the entry for the given key, if any. */
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    /** Removes all entries. */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    /** Returns the number of entries currently held, including ones that have expired but not been read since. */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** Returns how many lookups were served from the cache. */
+    public long hits() { return hits.get(); }
+
+    /** Returns how many lookups had to go to the backing store. */
+    public long misses() { return misses.get(); }
+
+    /** A cached value together with the time it was stored. */
+    private record Entry<V>(V value, long storedAt) {}
+}
@@ -0,0 +1,65 @@
+-- Baseline schema, matching what spring.jpa.hibernate.ddl-auto=update used to create.
+-- Databases that already have these tables are baselined at version 1 and skip this script.
+
+CREATE TABLE users (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    email    VARCHAR(255) NOT NULL,
+    name     VARCHAR(255),
+    password VARCHAR(255),
+    token    VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE universities (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(255),
+    is_active  BOOLEAN,
+    is_deleted BOOLEAN,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE faculties (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    name          VARCHAR(255),
+    is_active     BOOLEAN,
+    is_deleted    BOOLEAN,
+    university_id BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_faculties_university FOREIGN KEY (university_id) REFERENCES universities (id)
+);
+
+CREATE TABLE departments (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(255),
+    location   VARCHAR(255),
+    is_active  BOOLEAN,
+    is_deleted BOOLEAN,
+    faculty_id BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_departments_faculty FOREIGN KEY (faculty_id) REFERENCES faculties (id)
+);
+
+CREATE TABLE featured_programs (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    title         VARCHAR(255),
+    description   VARCHAR(255),
+    is_active     BOOLEAN,
+    is_deleted    BOOLEAN,
+    university_id BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_featured_programs_university FOREIGN KEY (university_id) REFERENCES universities (id)
+);
+
+CREATE TABLE audit_log (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    table_name VARCHAR(255),
+    record_id  BIGINT,
+    action     VARCHAR(255),
+    timestamp  DATETIME(6),
+    old_value  TEXT,
+    new_value  TEXT,
+    user_id    BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_audit_log_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
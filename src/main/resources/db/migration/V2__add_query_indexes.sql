@@ -0,0 +1,15 @@
+-- Indexes covering the access paths of the repository queries.
+
+-- UserRepository.findByToken, used on every authenticated request
+CREATE INDEX idx_users_token ON users (token);
+
+-- findByIsActiveTrueAndIsDeletedFalse (offset pages and counts) and
+-- findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse (keyset pages), both ordered by id
+CREATE INDEX idx_universities_active ON universities (is_active, is_deleted, id);
+CREATE INDEX idx_faculties_active ON faculties (is_active, is_deleted, id);
+CREATE INDEX idx_departments_active ON departments (is_active, is_deleted, id);
+CREATE INDEX idx_featured_programs_active ON featured_programs (is_active, is_deleted, id);
+
+-- History of one record, and everything one user changed over time
+CREATE INDEX idx_audit_log_record ON audit_log (table_name, record_id);
+CREATE INDEX idx_audit_log_user_time ON audit_log (user_id, timestamp);
@@ -0,0 +1,18 @@
+-- Block-allocated IDs for the catalog tables. Hibernate reserves 50 IDs per
+-- round trip from this table (pooled optimizer), which lets it batch INSERTs;
+-- IDENTITY columns force one INSERT statement per row.
+-- Each counter starts past the highest existing ID plus one full block.
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(64) NOT NULL,
+    next_val BIGINT NOT NULL,
+    CONSTRAINT pk_id_generators PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'universities', COALESCE(MAX(id), 0) + 51 FROM universities;
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'faculties', COALESCE(MAX(id), 0) + 51 FROM faculties;
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'departments', COALESCE(MAX(id), 0) + 51 FROM departments;
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'featured_programs', COALESCE(MAX(id), 0) + 51 FROM featured_programs;
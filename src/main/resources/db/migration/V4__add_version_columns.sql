@@ -0,0 +1,6 @@
+-- Row versions of the catalog tables, incremented by Hibernate (@Version) on every
+-- update. The read endpoints derive their ETags from them.
+ALTER TABLE universities ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE faculties ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE departments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE featured_programs ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
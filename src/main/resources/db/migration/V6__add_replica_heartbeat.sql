@@ -0,0 +1,8 @@
+-- Heartbeat for measuring replication lag: the application stamps the row on the
+-- primary and reads it back from the replica (datasource.replica.*).
+CREATE TABLE replica_heartbeat (
+    id INT NOT NULL,
+    ts DATETIME(6) NOT NULL,
+    CONSTRAINT pk_replica_heartbeat PRIMARY KEY (id)
+);
+INSERT INTO replica_heartbeat (id, ts) VALUES (1, CURRENT_TIMESTAMP(6));
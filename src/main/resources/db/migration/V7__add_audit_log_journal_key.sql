@@ -0,0 +1,9 @@
+-- Where an entry shipped from the audit journal came from: the random ID of its journal
+-- file and its offset in that file. A batch shipped again after a crash hits the unique
+-- key and is skipped, so replaying the journal inserts every entry once. Entries written
+-- without the journal leave both columns NULL, which the unique key does not compare.
+-- The key ends in timestamp because MySQL requires the partitioning column in every
+-- unique key of the partitioned audit_log table (see V5).
+ALTER TABLE audit_log ADD COLUMN journal_file BIGINT;
+ALTER TABLE audit_log ADD COLUMN journal_offset BIGINT;
+CREATE UNIQUE INDEX uk_audit_log_journal ON audit_log (journal_file, journal_offset, timestamp);
@@ -0,0 +1,81 @@
+package com.university.universitymanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Saturates one bulkhead and checks that its callers are turned away after their wait,
+ * with the rejections counted, while the other workload is still admitted.
+ */
+class BulkheadTests {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsWhenTheQueueIsFullOrTheWaitRunsOut() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, Duration.ofMillis(300), meterRegistry);
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(gauge("bulkhead.active", "test")).isEqualTo(1);
+
+        CountDownLatch waiting = new CountDownLatch(1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> {
+            waiting.countDown();
+            return bulkhead.tryAcquire();
+        });
+        waiting.await();
+        while (gauge("bulkhead.queued", "test") == 0) Thread.onSpinWait();
+
+        assertThat(bulkhead.tryAcquire()).isFalse();
+        assertThat(rejected("test", "queue-full")).isEqualTo(1);
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(rejected("test", "timeout")).isEqualTo(1);
+
+        bulkhead.release();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        bulkhead.release();
+        assertThat(gauge("bulkhead.active", "test")).isZero();
+    }
+
+    @Test
+    void saturatedWritesAreRejectedWhileReadsAreAdmitted() throws Exception {
+        Bulkhead read = new Bulkhead("read", 1, 0, Duration.ZERO, meterRegistry);
+        Bulkhead write = new Bulkhead("write", 1, 0, Duration.ZERO, meterRegistry);
+        BulkheadFilter filter = new BulkheadFilter(read, write, 2);
+        assertThat(write.tryAcquire()).isTrue();
+
+        MockHttpServletResponse rejected = call(filter, "POST", "/api/departments");
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(rejected.getContentAsString()).contains("Too many concurrent write requests");
+
+        assertThat(call(filter, "GET", "/api/departments").getStatus()).isEqualTo(200);
+        assertThat(gauge("bulkhead.active", "read")).isZero();
+
+        write.release();
+        assertThat(call(filter, "POST", "/api/departments").getStatus()).isEqualTo(200);
+    }
+
+    private static MockHttpServletResponse call(BulkheadFilter filter, String method, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, new MockFilterChain());
+        return response;
+    }
+
+    private double gauge(String name, String bulkhead) {
+        return meterRegistry.get(name).tag("name", bulkhead).gauge().value();
+    }
+
+    private double rejected(String bulkhead, String reason) {
+        return meterRegistry.get("bulkhead.rejected").tag("name", bulkhead).tag("reason", reason).counter().count();
+    }
+}
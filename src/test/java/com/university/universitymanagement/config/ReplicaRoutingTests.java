@@ -0,0 +1,148 @@
+package com.university.universitymanagement.config;
+
+import com.university.universitymanagement.entity.University;
+import com.university.universitymanagement.entity.User;
+import com.university.universitymanagement.service.UniversityService;
+import com.university.universitymanagement.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the application against two embedded databases, a primary and a "replica" that
+ * receives no replication at all, so every row shows which database a read went to.
+ * The replica's heartbeat is set by hand to simulate a current or a lagging replica.
+ * Reads stay on the primary for the maximum lag after a write, so tests that expect the
+ * replica wait that long after their writes.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.replica.url=jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.replica.max-lag-ms=500",
+        "datasource.replica.heartbeat-interval-ms=3600000",
+        "sql.budget.mode=log"
+})
+class ReplicaRoutingTests {
+
+    @TestConfiguration
+    static class ReplicaSchema {
+        /**
+         * The replica gets the same schema as the primary, as replication would give it
+         * (not a Flyway bean, which would replace the primary's migration).
+         */
+        @Bean
+        MigrateResult replicaSchema(@Qualifier("readDataSource") DataSource replica) {
+            return Flyway.configure()
+                    .dataSource(replica)
+                    .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                    .load()
+                    .migrate();
+        }
+    }
+
+    @Autowired private UniversityService universityService;
+    @Autowired private UserService userService;
+    @Autowired private ReplicaLagMonitor lagMonitor;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired @Qualifier("readDataSource") private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(replicaDataSource);
+        User newUser = new User();
+        newUser.setEmail("routing-" + System.nanoTime() + "@example.com");
+        newUser.setName("Routing");
+        newUser.setPassword("password");
+        user = userService.register(newUser);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaWhileItIsCurrent() {
+        Long id = writeUniversity("On the primary");
+        replicate(id, "On the replica");
+        awaitMaxLag();
+
+        setReplicaHeartbeat(LocalDateTime.now());
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+        assertThat(read(id)).isEqualTo("On the replica");
+    }
+
+    @Test
+    void readsStayOnThePrimaryAfterAWrite() {
+        setReplicaHeartbeat(LocalDateTime.now());
+        Long id = writeUniversity("On the primary");
+        replicate(id, "On the replica");
+
+        // The cache is filled from the primary, not from the replica that has not caught up
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+        assertThat(read(id)).isEqualTo("On the primary");
+        assertThat(universityService.get(id).getName()).isEqualTo("On the primary");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaLags() {
+        Long id = writeUniversity("On the primary");
+        replicate(id, "On the replica");
+
+        setReplicaHeartbeat(LocalDateTime.now().minusHours(1));
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+        assertThat(read(id)).isEqualTo("On the primary");
+    }
+
+    @Test
+    void writesAlwaysUseThePrimary() {
+        setReplicaHeartbeat(LocalDateTime.now());
+        Long id = writeUniversity("Written");
+
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM universities WHERE id = ?", Long.class, id)).isZero();
+        setReplicaHeartbeat(LocalDateTime.now().minusHours(1));
+        assertThat(read(id)).isEqualTo("Written");
+    }
+
+    private Long writeUniversity(String name) {
+        University university = new University();
+        university.setName(name);
+        return universityService.create(university, user).getId();
+    }
+
+    /** Puts a row with the same ID but a different name on the replica. */
+    private void replicate(Long id, String name) {
+        replica.update("INSERT INTO universities (id, name, is_active, is_deleted, version) VALUES (?, ?, TRUE, FALSE, 0)",
+                id, name);
+    }
+
+    private void setReplicaHeartbeat(LocalDateTime stamp) {
+        replica.update("UPDATE replica_heartbeat SET ts = ? WHERE id = 1", stamp);
+        lagMonitor.check();
+    }
+
+    private static void awaitMaxLag() {
+        try {
+            Thread.sleep(600);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Reads through the service, bypassing the second-level cache filled by the write. */
+    private String read(Long id) {
+        entityManagerFactory.getCache().evictAll();
+        return universityService.get(id).getName();
+    }
+}
@@ -0,0 +1,147 @@
+package com.university.universitymanagement.controller;
+
+import com.university.universitymanagement.entity.Faculty;
+import com.university.universitymanagement.entity.University;
+import com.university.universitymanagement.entity.User;
+import com.university.universitymanagement.repository.FacultyRepository;
+import com.university.universitymanagement.repository.UniversityRepository;
+import com.university.universitymanagement.service.UserService;
+import com.university.universitymanagement.utility.BulkUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sends bulk requests that are invalid in one item and checks that nothing of the request
+ * was applied: a blank name, a parent or row that does not exist, or more items than
+ * {@link BulkUtils#MAX_BULK_SIZE}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk_endpoints;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class BulkEndpointTests {
+    private static final long MISSING_ID = 999_999L;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserService userService;
+    @Autowired private UniversityRepository universityRepository;
+    @Autowired private FacultyRepository facultyRepository;
+
+    private String token;
+    private Long universityId;
+    private Long facultyId;
+
+    @BeforeEach
+    void seed() {
+        String email = "bulk-" + System.nanoTime() + "@example.com";
+        User user = new User();
+        user.setEmail(email);
+        user.setName("Bulk");
+        user.setPassword("password");
+        userService.register(user);
+        token = userService.login(email, "password");
+
+        University university = new University();
+        university.setName("Bulk University");
+        universityId = universityRepository.save(university).getId();
+        Faculty faculty = new Faculty();
+        faculty.setName("Bulk Faculty");
+        faculty.setUniversity(university);
+        facultyId = facultyRepository.save(faculty).getId();
+    }
+
+    @Test
+    void createsNothingWhenOneItemIsInvalid() throws Exception {
+        long before = facultyRepository.count();
+
+        send(post("/api/faculties/bulk"), "[" + faculty(null, "Valid", universityId) + "," + faculty(null, " ", universityId) + "]")
+                .andExpect(status().isBadRequest());
+
+        assertThat(facultyRepository.count()).isEqualTo(before);
+    }
+
+    @Test
+    void createsNothingWhenAParentIsMissing() throws Exception {
+        long before = facultyRepository.count();
+
+        send(post("/api/faculties/bulk"), "[" + faculty(null, "Valid", universityId) + "," + faculty(null, "Orphan", MISSING_ID) + "]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("University not found: [" + MISSING_ID + "]"));
+        send(post("/api/departments/bulk"), "[{\"name\":\"Orphan\",\"location\":\"Nowhere\",\"faculty\":{\"id\":" + MISSING_ID + "}}]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Faculty not found: [" + MISSING_ID + "]"));
+
+        assertThat(facultyRepository.count()).isEqualTo(before);
+    }
+
+    @Test
+    void updatesNothingWhenARowIsMissing() throws Exception {
+        send(put("/api/faculties/bulk"), "[" + faculty(facultyId, "Renamed", universityId) + "," + faculty(MISSING_ID, "Ghost", universityId) + "]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Faculty not found: [" + MISSING_ID + "]"));
+        send(put("/api/faculties/bulk"), "[" + faculty(facultyId, "Renamed", MISSING_ID) + "]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("University not found: [" + MISSING_ID + "]"));
+        send(put("/api/faculties/bulk"), "[" + faculty(facultyId, "Renamed", universityId) + "," + faculty(facultyId, "Twice", universityId) + "]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Duplicate Faculty IDs"));
+
+        assertThat(facultyRepository.findById(facultyId).orElseThrow().getName()).isEqualTo("Bulk Faculty");
+    }
+
+    @Test
+    void deletesNothingWhenAnIdIsMissing() throws Exception {
+        send(delete("/api/faculties/bulk"), "[" + facultyId + "," + MISSING_ID + "]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Faculty not found: [" + MISSING_ID + "]"));
+
+        assertThat(facultyRepository.findById(facultyId).orElseThrow().getIsDeleted()).isFalse();
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedRequests() throws Exception {
+        long before = facultyRepository.count();
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i <= BulkUtils.MAX_BULK_SIZE; i++) items.add(faculty(null, "Faculty " + i, universityId));
+
+        send(post("/api/faculties/bulk"), items.toString())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(containsString("more than " + BulkUtils.MAX_BULK_SIZE)));
+        send(post("/api/faculties/bulk"), "[]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Request must contain at least one item"));
+
+        assertThat(facultyRepository.count()).isEqualTo(before);
+    }
+
+    private ResultActions send(MockHttpServletRequestBuilder request, String body) throws Exception {
+        return mockMvc.perform(request.header("Authorization", token).contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+
+    private static String faculty(Long id, String name, Long universityId) {
+        StringJoiner json = new StringJoiner(",", "{", "}");
+        if (id != null) json.add("\"id\":" + id);
+        json.add("\"name\":\"" + name + "\"");
+        json.add("\"university\":{\"id\":" + universityId + "}");
+        return json.toString();
+    }
+}
@@ -0,0 +1,155 @@
+package com.university.universitymanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.universitymanagement.config.Bulkhead;
+import com.university.universitymanagement.entity.Faculty;
+import com.university.universitymanagement.entity.University;
+import com.university.universitymanagement.entity.User;
+import com.university.universitymanagement.repository.FacultyRepository;
+import com.university.universitymanagement.repository.UniversityRepository;
+import com.university.universitymanagement.service.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Streams datasets through the export endpoint and checks the NDJSON lines: one object per
+ * row in ID order, deleted rows included with their flags, parent IDs as plain fields, and
+ * resumption after the last ID received. Exports beyond the export bulkhead are turned away
+ * at once, as it queues none here.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:export_endpoint;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "export.fetch-size=2",
+        "bulkhead.export.max-concurrent=2",
+        "bulkhead.export.max-queued=0"
+})
+@AutoConfigureMockMvc
+class ExportControllerTests {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserService userService;
+    @Autowired private UniversityRepository universityRepository;
+    @Autowired private FacultyRepository facultyRepository;
+    @Autowired @Qualifier("exportDataSource") private HikariDataSource exportDataSource;
+    @Autowired @Qualifier("exportBulkhead") private Bulkhead exportBulkhead;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private String token;
+    private long lastIdBefore;
+    private List<University> universities;
+
+    @BeforeEach
+    void seed() {
+        String email = "export-" + System.nanoTime() + "@example.com";
+        User user = new User();
+        user.setEmail(email);
+        user.setName("Export");
+        user.setPassword("password");
+        userService.register(user);
+        token = userService.login(email, "password");
+
+        lastIdBefore = universityRepository.findAll().stream().mapToLong(University::getId).max().orElse(0);
+        universities = new ArrayList<>();
+        for (String name : List.of("First", "Second \"quoted\"", "Third")) {
+            University university = new University();
+            university.setName(name);
+            universities.add(university);
+        }
+        universities.get(1).setIsDeleted(true);
+        universityRepository.saveAll(universities);
+    }
+
+    @Test
+    void exportsEveryRowInIdOrderIncludingDeletedOnes() throws Exception {
+        List<JsonNode> rows = export("/api/export/universities?afterId=" + lastIdBefore);
+
+        assertThat(rows).extracting(row -> row.get("id").asLong())
+                .containsExactly(universities.get(0).getId(), universities.get(1).getId(), universities.get(2).getId());
+        assertThat(rows).extracting(row -> row.get("name").asText()).containsExactly("First", "Second \"quoted\"", "Third");
+        assertThat(rows.get(1).get("isDeleted").asBoolean()).isTrue();
+        assertThat(rows.get(0).get("isActive").asBoolean()).isTrue();
+        assertThat(exportDataSource.getHikariPoolMXBean().getTotalConnections()).isPositive();
+    }
+
+    @Test
+    void resumesAfterTheLastIdReceived() throws Exception {
+        List<JsonNode> rows = export("/api/export/universities?afterId=" + universities.get(1).getId());
+
+        assertThat(rows).extracting(row -> row.get("id").asLong()).containsExactly(universities.get(2).getId());
+    }
+
+    @Test
+    void exportsParentIdsAsFields() throws Exception {
+        Faculty faculty = new Faculty();
+        faculty.setName("Exported Faculty");
+        faculty.setUniversity(universities.get(0));
+        Long facultyId = facultyRepository.save(faculty).getId();
+
+        List<JsonNode> rows = export("/api/export/faculties?afterId=" + (facultyId - 1));
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).get("universityId").asLong()).isEqualTo(universities.get(0).getId());
+        assertThat(rows.get(0).get("name").asText()).isEqualTo("Exported Faculty");
+    }
+
+    @Test
+    void rejectsUnknownDatasetsAndMissingTokens() throws Exception {
+        mockMvc.perform(get("/api/export/users").header("Authorization", token)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/export/universities")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void turnsExportsAwayWhileEverySlotIsStreaming() throws Exception {
+        // Occupy the slots as two running exports would
+        assertThat(exportBulkhead.tryAcquire()).isTrue();
+        assertThat(exportBulkhead.tryAcquire()).isTrue();
+        try {
+            mockMvc.perform(get("/api/export/universities").header("Authorization", token))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+        } finally {
+            exportBulkhead.release();
+            exportBulkhead.release();
+        }
+
+        assertThat(export("/api/export/universities?afterId=" + lastIdBefore)).hasSize(3);
+        assertThat(meterRegistry.get("bulkhead.active").tag("name", "export").gauge().value()).isZero();
+    }
+
+    private List<JsonNode> export(String uri) throws Exception {
+        MvcResult started = mockMvc.perform(get(uri).header("Authorization", token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isEmpty()) rows.add(JSON.readTree(line));
+        }
+        return rows;
+    }
+}
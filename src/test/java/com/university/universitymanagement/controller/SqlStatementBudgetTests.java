@@ -0,0 +1,204 @@
+package com.university.universitymanagement.controller;
+
+import com.university.universitymanagement.entity.Department;
+import com.university.universitymanagement.entity.Faculty;
+import com.university.universitymanagement.entity.FeaturedProgram;
+import com.university.universitymanagement.entity.University;
+import com.university.universitymanagement.entity.User;
+import com.university.universitymanagement.metrics.SqlStatementCounter;
+import com.university.universitymanagement.metrics.SqlStatementFilter;
+import com.university.universitymanagement.repository.DepartmentRepository;
+import com.university.universitymanagement.repository.FacultyRepository;
+import com.university.universitymanagement.repository.FeaturedProgramRepository;
+import com.university.universitymanagement.repository.UniversityRepository;
+import com.university.universitymanagement.service.UserService;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls the endpoints against a few universities with faculties, departments and featured
+ * programs. The test properties run the SQL budget in "fail" mode, so a request that issues
+ * more statements than its budget (typically an N+1 over one of the lazy collections) fails
+ * the test. The second-level cache is emptied before every read, so the cold path is measured.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlStatementBudgetTests {
+    private static final int UNIVERSITIES = 10;
+    private static final int BULK_SIZE = 1000;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserService userService;
+    @Autowired private UniversityRepository universityRepository;
+    @Autowired private FacultyRepository facultyRepository;
+    @Autowired private DepartmentRepository departmentRepository;
+    @Autowired private FeaturedProgramRepository featuredProgramRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private String token;
+    private Long universityId;
+
+    @BeforeEach
+    void seed() {
+        if (universityRepository.count() == 0) {
+            List<University> universities = new ArrayList<>();
+            List<Faculty> faculties = new ArrayList<>();
+            List<Department> departments = new ArrayList<>();
+            List<FeaturedProgram> programs = new ArrayList<>();
+            for (int u = 0; u < UNIVERSITIES; u++) {
+                University university = new University();
+                university.setName("University " + u);
+                universities.add(university);
+                for (int p = 0; p < 2; p++) {
+                    FeaturedProgram program = new FeaturedProgram();
+                    program.setTitle("Program " + u + "." + p);
+                    program.setDescription("Description");
+                    program.setUniversity(university);
+                    programs.add(program);
+                }
+                for (int f = 0; f < 3; f++) {
+                    Faculty faculty = new Faculty();
+                    faculty.setName("Faculty " + u + "." + f);
+                    faculty.setUniversity(university);
+                    faculties.add(faculty);
+                    for (int d = 0; d < 3; d++) {
+                        Department department = new Department();
+                        department.setName("Department " + u + "." + f + "." + d);
+                        department.setLocation("Building " + d);
+                        department.setFaculty(faculty);
+                        departments.add(department);
+                    }
+                }
+            }
+            universityRepository.saveAll(universities);
+            facultyRepository.saveAll(faculties);
+            departmentRepository.saveAll(departments);
+            featuredProgramRepository.saveAll(programs);
+
+            User user = new User();
+            user.setEmail("budget@example.com");
+            user.setName("Budget");
+            user.setPassword("password");
+            userService.register(user);
+        }
+        universityId = universityRepository.findAll().get(0).getId();
+        token = userService.login("budget@example.com", "password");
+    }
+
+    @Test
+    void readEndpointsStayWithinBudget() throws Exception {
+        for (String uri : List.of(
+                "/api/universities",
+                "/api/universities?after=",
+                "/api/universities/" + universityId,
+                "/api/universities/search?name=University",
+                "/api/universities/search?name=Un",
+                "/api/universities/tree",
+                "/api/universities/tree?after=",
+                "/api/universities/" + universityId + "/tree",
+                "/api/faculties",
+                "/api/faculties?after=",
+                "/api/departments",
+                "/api/departments?after=",
+                "/api/featured-programs",
+                "/api/featured-programs?after=",
+                "/api/universities?view=summary",
+                "/api/universities?after=&view=summary",
+                "/api/universities/search?name=University&view=summary",
+                "/api/universities/search?name=Un&view=summary",
+                "/api/faculties?view=summary",
+                "/api/faculties?after=&view=summary",
+                "/api/departments?view=summary",
+                "/api/departments?after=&view=summary",
+                "/api/featured-programs?view=summary",
+                "/api/featured-programs?after=&view=summary")) {
+            entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().evictAllRegions();
+            mockMvc.perform(get(uri).header("Authorization", token)).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void entityCacheStatisticsCountTheCachedEntries() throws Exception {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().evictAllRegions();
+        mockMvc.perform(get("/api/universities/" + universityId).header("Authorization", token)).andExpect(status().isOk());
+
+        String body = mockMvc.perform(get("/api/stats/entity-cache").header("Authorization", token))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(JsonPath.<Integer>read(body, "$.data.universities.size")).isEqualTo(1);
+        assertThat(JsonPath.<Integer>read(body, "$.data.university-faculties.size")).isEqualTo(1);
+        assertThat(JsonPath.<Integer>read(body, "$.data.departments.size")).isGreaterThanOrEqualTo(9);
+    }
+
+    @Test
+    void bulkWritesStayWithinBudget() throws Exception {
+        StringBuilder created = new StringBuilder("[");
+        for (int i = 0; i < BULK_SIZE; i++) {
+            if (i > 0) created.append(',');
+            created.append("{\"name\":\"Bulk faculty ").append(i).append("\",\"university\":{\"id\":").append(universityId).append("}}");
+        }
+        String body = mockMvc.perform(post("/api/faculties/bulk").header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON).content(created.append(']').toString()))
+                .andExpect(status().is2xxSuccessful()).andReturn().getResponse().getContentAsString();
+        List<Integer> ids = JsonPath.read(body, "$.data.ids");
+
+        StringBuilder updated = new StringBuilder("[");
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) updated.append(',');
+            updated.append("{\"id\":").append(ids.get(i)).append(",\"name\":\"Renamed faculty ").append(i)
+                    .append("\",\"university\":{\"id\":").append(universityId).append("}}");
+        }
+        mockMvc.perform(put("/api/faculties/bulk").header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON).content(updated.append(']').toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/faculties/bulk").header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON).content(ids.toString()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void overBudgetRequestFailsWithRepeatedStatements() {
+        SqlStatementFilter filter = new SqlStatementFilter(new SimpleMeterRegistry(), 2,
+                List.of("GET /api/universities/{id}=5"), "fail");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/universities/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/universities/{id}");
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                SqlStatementCounter inspector = new SqlStatementCounter();
+                for (int id = 1; id <= 6; id++) inspector.inspect("select name from faculties where id = " + id);
+            }
+        });
+
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), chain))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("GET /api/universities/{id} issued 6 SQL statements, budget is 5")
+                .hasMessageContaining("6 x select name from faculties where id = ?");
+    }
+}
@@ -0,0 +1,195 @@
+package com.university.universitymanagement.repository;
+
+import com.university.universitymanagement.utility.PaginationUtils.TimeCursor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL generated by every repository query and fails when a
+ * query would read a whole table instead of seeking on an index.
+ *
+ * The SQL is captured from Hibernate while the repository method runs, so the
+ * check follows the query even when its derivation changes.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.university.universitymanagement.repository.RepositoryQueryPlanTests$CapturingInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryQueryPlanTests {
+
+    /** Page 1 instead of page 0, so that Spring Data always issues the count query too. */
+    private static final PageRequest SECOND_PAGE = PageRequest.of(1, 10, Sort.by("id"));
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 10, Sort.by("id"));
+    private static final Sort BY_ID = Sort.by("id");
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private UniversityRepository universityRepository;
+    @Autowired private FacultyRepository facultyRepository;
+    @Autowired private DepartmentRepository departmentRepository;
+    @Autowired private FeaturedProgramRepository featuredProgramRepository;
+    @Autowired private AuditLogRepository auditLogRepository;
+    @Autowired private DataSource dataSource;
+
+    @Test
+    void userQueriesUseIndexes() {
+        assertIndexed(() -> userRepository.findByEmail("someone@example.com"));
+        assertIndexed(() -> userRepository.findByToken("token"));
+        assertIndexed(() -> userRepository.findById(1L));
+    }
+
+    @Test
+    void universityQueriesUseIndexes() {
+        assertIndexed(() -> universityRepository.findByIsActiveTrueAndIsDeletedFalse(SECOND_PAGE));
+        assertIndexed(() -> universityRepository.findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(0L, FIRST_PAGE));
+        assertIndexed(() -> universityRepository.findAllById(List.of(1L, 2L)));
+        assertIndexed(() -> universityRepository.findActiveNames());
+        assertIndexed(() -> universityRepository.findActiveIdsByNameLike("%un%", FIRST_PAGE));
+        assertIndexed(() -> universityRepository.findById(1L));
+        assertIndexed(() -> universityRepository.findByIsActiveTrueAndIsDeletedFalse(BY_ID));
+        assertIndexed(() -> universityRepository.findActiveVersions(SECOND_PAGE));
+        assertIndexed(() -> universityRepository.findActiveVersionsAfter(0L, FIRST_PAGE));
+        assertIndexed(() -> universityRepository.findVersions(List.of(1L, 2L)));
+        assertIndexed(() -> universityRepository.findSnapshot(1L));
+        assertIndexed(() -> universityRepository.findActiveSummaries(SECOND_PAGE));
+        assertIndexed(() -> universityRepository.findActiveSummariesAfter(0L, FIRST_PAGE));
+        assertIndexed(() -> universityRepository.findSummaries(List.of(1L, 2L)));
+        assertIndexed(() -> universityRepository.findByIdIn(List.of(1L, 2L)));
+        assertIndexed(() -> universityRepository.updateIfVersion(1L, 0L, "Name", true, false));
+    }
+
+    @Test
+    void facultyQueriesUseIndexes() {
+        assertIndexed(() -> facultyRepository.findByIsActiveTrueAndIsDeletedFalse(SECOND_PAGE));
+        assertIndexed(() -> facultyRepository.findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(0L, FIRST_PAGE));
+        assertIndexed(() -> facultyRepository.findById(1L));
+        assertIndexed(() -> facultyRepository.findByUniversityIdAndIsActiveTrueAndIsDeletedFalse(1L, BY_ID));
+        assertIndexed(() -> facultyRepository.findByUniversityIdInAndIsActiveTrueAndIsDeletedFalse(List.of(1L, 2L), BY_ID));
+        assertIndexed(() -> facultyRepository.findByIsActiveTrueAndIsDeletedFalse(BY_ID));
+        assertIndexed(() -> facultyRepository.findActiveNames());
+        assertIndexed(() -> facultyRepository.findActiveVersions(SECOND_PAGE));
+        assertIndexed(() -> facultyRepository.findActiveVersionsAfter(0L, FIRST_PAGE));
+        assertIndexed(() -> facultyRepository.findVersions(List.of(1L, 2L)));
+        assertIndexed(() -> facultyRepository.findVersionsByUniversityIds(List.of(1L, 2L)));
+        assertIndexed(() -> facultyRepository.findActiveSummaries(SECOND_PAGE));
+        assertIndexed(() -> facultyRepository.findActiveSummariesAfter(0L, FIRST_PAGE));
+        assertIndexed(() -> facultyRepository.findSnapshot(1L));
+        assertIndexed(() -> facultyRepository.findByIdIn(List.of(1L, 2L)));
+        assertIndexed(() -> facultyRepository.updateIfVersion(1L, 0L, "Name", true, false, 1L));
+    }
+
+    @Test
+    void departmentQueriesUseIndexes() {
+        assertIndexed(() -> departmentRepository.findByIsActiveTrueAndIsDeletedFalse(SECOND_PAGE));
+        assertIndexed(() -> departmentRepository.findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(0L, FIRST_PAGE));
+        assertIndexed(() -> departmentRepository.findById(1L));
+        assertIndexed(() -> departmentRepository.findByFacultyUniversityIdAndIsActiveTrueAndIsDeletedFalse(1L, BY_ID));
+        assertIndexed(() -> departmentRepository.findByFacultyUniversityIdInAndIsActiveTrueAndIsDeletedFalse(List.of(1L, 2L), BY_ID));
+        assertIndexed(() -> departmentRepository.findByIsActiveTrueAndIsDeletedFalse(BY_ID));
+        assertIndexed(() -> departmentRepository.findActiveVersions(SECOND_PAGE));
+        assertIndexed(() -> departmentRepository.findActiveVersionsAfter(0L, FIRST_PAGE));
+        assertIndexed(() -> departmentRepository.findVersions(List.of(1L, 2L)));
+        assertIndexed(() -> departmentRepository.findVersionsByFacultyIds(List.of(1L, 2L)));
+        assertIndexed(() -> departmentRepository.findVersionsByUniversityIds(List.of(1L, 2L)));
+        assertIndexed(() -> departmentRepository.findActiveSummaries(SECOND_PAGE));
+        assertIndexed(() -> departmentRepository.findActiveSummariesAfter(0L, FIRST_PAGE));
+        assertIndexed(() -> departmentRepository.findSnapshot(1L));
+        assertIndexed(() -> departmentRepository.findByIdIn(List.of(1L, 2L)));
+        assertIndexed(() -> departmentRepository.updateIfVersion(1L, 0L, "Name", "Location", true, false, 1L));
+    }
+
+    @Test
+    void featuredProgramQueriesUseIndexes() {
+        assertIndexed(() -> featuredProgramRepository.findByIsActiveTrueAndIsDeletedFalse(SECOND_PAGE));
+        assertIndexed(() -> featuredProgramRepository.findByIdGreaterThanAndIsActiveTrueAndIsDeletedFalse(0L, FIRST_PAGE));
+        assertIndexed(() -> featuredProgramRepository.findByUniversityAndIsActiveTrueAndIsDeletedFalse(
+                universityRepository.getReferenceById(1L)));
+        assertIndexed(() -> featuredProgramRepository.findById(1L));
+        assertIndexed(() -> featuredProgramRepository.findByUniversityIdAndIsActiveTrueAndIsDeletedFalse(1L, BY_ID));
+        assertIndexed(() -> featuredProgramRepository.findByUniversityIdInAndIsActiveTrueAndIsDeletedFalse(List.of(1L, 2L), BY_ID));
+        assertIndexed(() -> featuredProgramRepository.findByIsActiveTrueAndIsDeletedFalse(BY_ID));
+        assertIndexed(() -> featuredProgramRepository.findActiveVersions(SECOND_PAGE));
+        assertIndexed(() -> featuredProgramRepository.findActiveVersionsAfter(0L, FIRST_PAGE));
+        assertIndexed(() -> featuredProgramRepository.findVersions(List.of(1L, 2L)));
+        assertIndexed(() -> featuredProgramRepository.findVersionsByUniversityIds(List.of(1L, 2L)));
+        assertIndexed(() -> featuredProgramRepository.findActiveSummaries(SECOND_PAGE));
+        assertIndexed(() -> featuredProgramRepository.findActiveSummariesAfter(0L, FIRST_PAGE));
+        assertIndexed(() -> featuredProgramRepository.findSnapshot(1L));
+        assertIndexed(() -> featuredProgramRepository.findByIdIn(List.of(1L, 2L)));
+        assertIndexed(() -> featuredProgramRepository.updateIfVersion(1L, 0L, "Title", "Description", true, false, 1L));
+    }
+
+    @Test
+    void auditLogQueriesUseIndexes() {
+        LocalDateTime to = LocalDateTime.of(2026, 10, 12, 0, 0);
+        LocalDateTime from = to.minusWeeks(1);
+        TimeCursor after = new TimeCursor(to.minusDays(1), 100L);
+        PageRequest page = PageRequest.of(0, 10, AuditLogRepository.NEWEST_FIRST);
+        assertIndexed(() -> auditLogRepository.findAll(
+                AuditLogRepository.matching("departments", 42L, null, from, to, after), page));
+        assertIndexed(() -> auditLogRepository.findAll(
+                AuditLogRepository.matching("departments", null, null, from, to, null), page));
+        assertIndexed(() -> auditLogRepository.findAll(
+                AuditLogRepository.matching(null, null, 1L, from, to, after), page));
+        assertIndexed(() -> auditLogRepository.findAll(
+                AuditLogRepository.matching(null, null, null, from, to, null), page));
+    }
+
+    /** Runs the query, then checks the plan of every statement it issued. */
+    private void assertIndexed(Runnable query) {
+        CapturingInspector.clear();
+        query.run();
+        List<String> statements = CapturingInspector.captured();
+        assertThat(statements).as("statements issued").isNotEmpty();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertThat(plan).as("plan of %s", sql).doesNotContain("tableScan");
+        }
+    }
+
+    private String explain(String sql) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) statement.setObject(i, null);
+            try (ResultSet rs = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) plan.append(rs.getString(1)).append('\n');
+                return plan.toString();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("EXPLAIN failed for " + sql, e);
+        }
+    }
+
+    /** Records every SQL statement Hibernate prepares. */
+    public static class CapturingInspector implements StatementInspector {
+        private static final List<String> STATEMENTS = new ArrayList<>();
+
+        static synchronized void clear() { STATEMENTS.clear(); }
+
+        static synchronized List<String> captured() { return new ArrayList<>(STATEMENTS); }
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (CapturingInspector.class) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
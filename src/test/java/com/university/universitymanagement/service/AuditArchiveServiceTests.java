@@ -0,0 +1,138 @@
+package com.university.universitymanagement.service;
+
+import com.university.universitymanagement.dto.AuditLogEntry;
+import com.university.universitymanagement.utility.AuditSegment;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Archives old audit entries in batches of four and checks the segment files left in the
+ * archive directory: full batches kept as they are, small segments merged with their
+ * neighbours, entries inserted late archived by the next run, and the leftovers of an
+ * interrupted merge removed at startup.
+ */
+class AuditArchiveServiceTests {
+    private static final LocalDateTime OLD = LocalDateTime.now().minusDays(400);
+
+    @TempDir Path dir;
+
+    @Test
+    void mergesSmallSegmentsWithTheirNeighbours() throws IOException {
+        JdbcTemplate jdbcTemplate = migratedDatabase("audit_archive_merge");
+        insert(jdbcTemplate, 1, 10);
+        AuditArchiveService archive = archive(jdbcTemplate);
+
+        archive.archive();
+        assertThat(segmentFiles()).containsExactly("audit-0000000001.seg", "audit-0000000002.seg", "audit-0000000003.seg");
+
+        insert(jdbcTemplate, 11, 1);
+        archive.archive();
+        assertThat(segmentFiles()).containsExactly("audit-0000000001.seg", "audit-0000000002.seg", "audit-0000000003-0000000004.seg");
+
+        insert(jdbcTemplate, 12, 1);
+        archive.archive();
+        assertThat(segmentFiles()).containsExactly("audit-0000000001.seg", "audit-0000000002.seg", "audit-0000000003-0000000005.seg");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log", Long.class)).isZero();
+        assertThat(archive.search(null, null, null, null, null, null, 100))
+                .extracting(AuditLogEntry::recordId)
+                .containsExactly(12L, 11L, 10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L);
+
+        AuditArchiveService reopened = archive(jdbcTemplate);
+        assertThat(reopened.search("universities", 11L, null, null, null, null, 100)).hasSize(1);
+        assertThat(reopened.search(null, null, null, null, null, null, 5))
+                .extracting(AuditLogEntry::recordId)
+                .containsExactly(12L, 11L, 10L, 9L, 8L);
+    }
+
+    @Test
+    void archivesEntriesInsertedLateWithAnOldTimestamp() throws IOException {
+        JdbcTemplate jdbcTemplate = migratedDatabase("audit_archive_late");
+        insert(jdbcTemplate, 2, 4);
+        AuditArchiveService archive = archive(jdbcTemplate);
+        archive.archive();
+
+        // A retried or replayed entry, older than the newest entry already archived
+        insert(jdbcTemplate, 1, 1);
+        archive.archive();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log", Long.class)).isZero();
+        assertThat(archive.search(null, null, null, null, null, null, 100))
+                .extracting(AuditLogEntry::recordId)
+                .containsExactly(5L, 4L, 3L, 2L, 1L);
+        assertThat(archive.search(null, null, null, null, null, null, 2))
+                .extracting(AuditLogEntry::recordId)
+                .containsExactly(5L, 4L);
+    }
+
+    @Test
+    void reportsTheArchivedRangeAsRemoteOnTheOtherInstances() {
+        JdbcTemplate jdbcTemplate = migratedDatabase("audit_archive_remote");
+        AuditArchiveService remote = new AuditArchiveService(jdbcTemplate, false, true, 180, 4, dir.toString());
+
+        assertThat(remote.isRemote(null)).isTrue();
+        assertThat(remote.isRemote(OLD)).isTrue();
+        assertThat(remote.isRemote(LocalDateTime.now().minusDays(1))).isFalse();
+        assertThat(archive(jdbcTemplate).isRemote(null)).isFalse();
+        assertThat(new AuditArchiveService(jdbcTemplate, false, false, 180, 4, dir.toString()).isRemote(null)).isFalse();
+    }
+
+    @Test
+    void deletesTheSegmentsLeftBehindByAnInterruptedMerge() throws IOException {
+        JdbcTemplate jdbcTemplate = migratedDatabase("audit_archive_leftovers");
+        AuditSegment.write(dir.resolve("audit-0000000001.seg"), List.of(entry(1)));
+        AuditSegment.write(dir.resolve("audit-0000000002.seg"), List.of(entry(2)));
+        AuditSegment.write(dir.resolve("audit-0000000003.seg"), List.of(entry(3)));
+        // The merge of the first two was written, but its inputs were not deleted yet
+        AuditSegment.write(dir.resolve("audit-0000000001-0000000002.seg"), List.of(entry(1), entry(2)));
+
+        AuditArchiveService archive = archive(jdbcTemplate);
+
+        assertThat(segmentFiles()).containsExactly("audit-0000000001-0000000002.seg", "audit-0000000003.seg");
+        assertThat(archive.search(null, null, null, null, null, null, 100))
+                .extracting(AuditLogEntry::id)
+                .containsExactly(3L, 2L, 1L);
+    }
+
+    private AuditArchiveService archive(JdbcTemplate jdbcTemplate) {
+        return new AuditArchiveService(jdbcTemplate, true, false, 180, 4, dir.toString());
+    }
+
+    private List<String> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(f -> f.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, int firstRecord, int count) {
+        for (int record = firstRecord; record < firstRecord + count; record++) {
+            jdbcTemplate.update("INSERT INTO audit_log (table_name, record_id, action, timestamp, new_value, user_id) "
+                    + "VALUES ('universities', ?, 'CREATE', ?, '{}', 1)", record, OLD.plusMinutes(record));
+        }
+    }
+
+    private static AuditLogEntry entry(long id) {
+        return new AuditLogEntry(id, "universities", id, "CREATE", OLD.plusMinutes(id), null, "{}", 1L);
+    }
+
+    private static JdbcTemplate migratedDatabase(String name) {
+        String url = "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+}
@@ -0,0 +1,191 @@
+package com.university.universitymanagement.service;
+
+import com.university.universitymanagement.config.Bulkhead;
+import com.university.universitymanagement.entity.AuditLog;
+import com.university.universitymanagement.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Appends entries to a journal, stops it (which ships what it holds) and checks the rows
+ * in audit_log. Crashes are simulated on the journal file itself: a checkpoint moved back
+ * to before shipped records, and a record torn by a corrupted payload. The offsets used
+ * follow the file layout described on {@link AuditJournal}.
+ */
+class AuditJournalTests {
+    private static final int HEADER = 24;
+    private static final int CHECKPOINT = 8;
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2026, 10, 1, 12, 0, 0, 123_456_000);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @TempDir Path dir;
+
+    @Test
+    void shipsEntriesAsTheyWereAppended() throws Exception {
+        String url = migratedDatabase("audit_journal_round_trip");
+        AuditJournal journal = journal(url);
+
+        journal.start();
+        journal.append(entry(1, "{\"name\":\"Café\"}", null));
+        journal.append(entry(2, null, "x".repeat(100_000)));
+        journal.stop();
+
+        List<Map<String, Object>> rows = rows(url);
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).containsEntry("record_id", 1L).containsEntry("old_value", "{\"name\":\"Café\"}")
+                .containsEntry("new_value", null).containsEntry("action", "UPDATE").containsEntry("table_name", "universities")
+                .containsEntry("user_id", 1L).containsEntry("journal_offset", (long) HEADER);
+        assertThat(rows.get(0).get("timestamp").toString()).isEqualTo("2026-10-01 12:00:00.123456");
+        assertThat(rows.get(1)).containsEntry("record_id", 2L).containsEntry("old_value", null)
+                .containsEntry("new_value", "x".repeat(100_000));
+        assertThat(rows.get(1).get("journal_file")).isEqualTo(rows.get(0).get("journal_file"));
+    }
+
+    @Test
+    void replaysEntriesShippedBeforeACrashOnlyOnce() throws Exception {
+        String url = migratedDatabase("audit_journal_replay");
+        AuditJournal journal = journal(url);
+        journal.start();
+        journal.append(entry(1, null, "{}"));
+        journal.append(entry(2, null, "{}"));
+        journal.stop();
+        assertThat(rows(url)).hasSize(2);
+
+        // A crash after the insert, before the checkpoint: the restart ships the file again
+        Path file = journalFiles().get(0);
+        writeLong(file, CHECKPOINT, HEADER);
+        AuditJournal restarted = journal(url);
+        restarted.start();
+        restarted.append(entry(3, null, "{}"));
+        restarted.stop();
+
+        assertThat(rows(url)).extracting(row -> row.get("record_id")).containsExactly(1L, 2L, 3L);
+        assertThat(journalFiles()).hasSize(1);
+    }
+
+    @Test
+    void stopsReplayingAtATornRecord() throws Exception {
+        // The database has no audit_log yet, so the first run cannot ship anything
+        String url = "jdbc:h2:mem:audit_journal_torn;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        AuditJournal journal = journal(url);
+        journal.start();
+        journal.append(entry(1, null, "{}"));
+        journal.append(entry(2, null, "{}"));
+        journal.append(entry(3, null, "{}"));
+        journal.stop();
+
+        // The last record was cut short by the crash
+        Path file = journalFiles().get(0);
+        int last = recordOffsets(file).get(2);
+        writeLong(file, last + 8, 0);
+
+        migratedDatabase("audit_journal_torn");
+        AuditJournal restarted = journal(url);
+        restarted.start();
+        restarted.append(entry(4, null, "{}"));
+        restarted.stop();
+
+        assertThat(rows(url)).extracting(row -> row.get("record_id")).containsExactly(1L, 2L, 4L);
+    }
+
+    @Test
+    void keepsTheEntriesOfFilesWithTheSameSequenceApart() throws Exception {
+        String url = migratedDatabase("audit_journal_sequence");
+        AuditJournal journal = journal(url);
+        journal.start();
+        journal.append(entry(1, null, "{}"));
+        journal.stop();
+        for (Path file : journalFiles()) Files.delete(file);
+
+        // The sequence starts over at the same file name; the entry has the same offset and timestamp
+        AuditJournal restarted = journal(url);
+        restarted.start();
+        restarted.append(entry(2, null, "{}"));
+        restarted.stop();
+
+        List<Map<String, Object>> rows = rows(url);
+        assertThat(rows).extracting(row -> row.get("record_id")).containsExactly(1L, 2L);
+        assertThat(rows).extracting(row -> row.get("journal_offset")).containsOnly((long) HEADER);
+        assertThat(rows.get(0).get("journal_file")).isNotEqualTo(rows.get(1).get("journal_file"));
+    }
+
+    private AuditJournal journal(String url) {
+        DataSource dataSource = new DriverManagerDataSource(url, "sa", "");
+        Bulkhead bulkhead = new Bulkhead("audit", 1, 10, Duration.ofSeconds(1), meterRegistry);
+        AuditLogWriter writer = new AuditLogWriter(new JdbcTemplate(dataSource), dataSource, bulkhead, meterRegistry,
+                false, 10, 10, 50, 0, 1000, 100);
+        return new AuditJournal(writer, new SimpleMeterRegistry(), true, dir.toString(), 1, 100, 10, 10, 10_000);
+    }
+
+    private List<Path> journalFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+
+    /** Offsets of the records after the header, up to the first zero length. */
+    private static List<Integer> recordOffsets(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        List<Integer> offsets = new ArrayList<>();
+        for (int offset = HEADER; buffer.getInt(offset) > 0; offset += 8 + buffer.getInt(offset)) offsets.add(offset);
+        return offsets;
+    }
+
+    private static void writeLong(Path file, int offset, long value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putLong(value).flip(), offset);
+        }
+    }
+
+    private static List<Map<String, Object>> rows(String url) {
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", "")).queryForList(
+                "SELECT table_name, record_id, action, timestamp, old_value, new_value, user_id, journal_file, journal_offset "
+                        + "FROM audit_log ORDER BY id");
+    }
+
+    private static AuditLog entry(long recordId, String oldValue, String newValue) {
+        User user = new User();
+        user.setId(1L);
+        AuditLog entry = new AuditLog();
+        entry.setTableName("universities");
+        entry.setRecordId(recordId);
+        entry.setUser(user);
+        entry.setAction("UPDATE");
+        entry.setTimestamp(TIMESTAMP);
+        entry.setOldValue(oldValue);
+        entry.setNewValue(newValue);
+        return entry;
+    }
+
+    private static String migratedDatabase(String name) {
+        String url = "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+        return url;
+    }
+}
@@ -0,0 +1,130 @@
+package com.university.universitymanagement.service;
+
+import com.university.universitymanagement.config.Bulkhead;
+import com.university.universitymanagement.entity.AuditLog;
+import com.university.universitymanagement.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.university.universitymanagement.utility.TransactionUtils.afterCommit;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes audit entries on the calling thread (the path taken when the queue is full or
+ * the writer is stopping) and checks that they are committed even when written from an
+ * after-commit callback, and parked and retried rather than dropped when the insert fails.
+ * With the parked entries at their limit, the queue is held back and callers wait for room.
+ */
+class AuditLogWriterTests {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void entriesWrittenAfterCommitAreCommittedOnTheirOwnConnection() {
+        // Two databases, so that a write on the business transaction's connection shows up in the wrong one
+        String businessUrl = migratedDatabase("audit_writer_business");
+        String auditUrl = migratedDatabase("audit_writer_audit");
+        DataSource business = dataSource(businessUrl);
+        AuditLogWriter writer = writer(business, dataSource(auditUrl));
+
+        new TransactionTemplate(new DataSourceTransactionManager(business)).executeWithoutResult(status -> {
+            new JdbcTemplate(business).update("INSERT INTO universities (name, is_active, is_deleted) VALUES ('Audited', TRUE, FALSE)");
+            afterCommit(() -> writer.submit(entry()));
+        });
+
+        assertThat(count(auditUrl)).isEqualTo(1);
+        assertThat(count(businessUrl)).isZero();
+    }
+
+    @Test
+    void failedEntriesAreParkedAndRetried() throws Exception {
+        String url = "jdbc:h2:mem:audit_writer_parked;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        AuditLogWriter writer = writer(dataSource(url), dataSource(url));
+
+        writer.submit(entry());
+        assertThat(writer.parkedCount()).isEqualTo(1);
+        writer.retryParked();
+        assertThat(writer.parkedCount()).isEqualTo(1);
+
+        migratedDatabase("audit_writer_parked");
+        writer.retryParked();
+        assertThat(writer.parkedCount()).isZero();
+        assertThat(count(url)).isEqualTo(1);
+
+        writer.stop();
+        assertThat(meterRegistry.get("audit.write.dropped").counter().count()).isZero();
+    }
+
+    @Test
+    void callersWaitOnceTheParkedEntriesReachTheirLimit() throws Exception {
+        String url = "jdbc:h2:mem:audit_writer_backpressure;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        Bulkhead bulkhead = new Bulkhead("audit", 1, 10, Duration.ofSeconds(1), meterRegistry);
+        AuditLogWriter writer = new AuditLogWriter(new JdbcTemplate(dataSource(url)), dataSource(url), bulkhead,
+                meterRegistry, true, 2, 10, 50, 0, 1000, 1);
+        writer.start();
+
+        // The database has no audit_log yet: the flusher's first batch is parked
+        writer.submit(entry());
+        while (writer.parkedCount() == 0) Thread.sleep(10);
+        writer.submit(entry());
+        writer.submit(entry());
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> writer.submit(entry()));
+        Thread.sleep(500);
+        assertThat(waiting).isNotDone();
+        assertThat(writer.parkedCount()).isEqualTo(1);
+
+        migratedDatabase("audit_writer_backpressure");
+        writer.retryParked();
+        waiting.get(5, TimeUnit.SECONDS);
+        writer.stop();
+        assertThat(count(url)).isEqualTo(4);
+    }
+
+    private AuditLogWriter writer(DataSource business, DataSource audit) {
+        Bulkhead bulkhead = new Bulkhead("audit", 1, 10, Duration.ofSeconds(1), meterRegistry);
+        return new AuditLogWriter(new JdbcTemplate(business), audit, bulkhead, meterRegistry,
+                true, 10, 10, 50, 0, 1000, 100);
+    }
+
+    private static String migratedDatabase(String name) {
+        String url = "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+        return url;
+    }
+
+    private static DataSource dataSource(String url) {
+        return new DriverManagerDataSource(url, "sa", "");
+    }
+
+    private static long count(String url) {
+        return new JdbcTemplate(dataSource(url)).queryForObject("SELECT COUNT(*) FROM audit_log", Long.class);
+    }
+
+    private static AuditLog entry() {
+        User user = new User();
+        user.setId(1L);
+        AuditLog entry = new AuditLog();
+        entry.setTableName("universities");
+        entry.setRecordId(1L);
+        entry.setUser(user);
+        entry.setAction("CREATE");
+        entry.setTimestamp(LocalDateTime.now());
+        entry.setNewValue("{}");
+        return entry;
+    }
+}
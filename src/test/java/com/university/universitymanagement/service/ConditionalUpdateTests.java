@@ -0,0 +1,211 @@
+package com.university.universitymanagement.service;
+
+import com.university.universitymanagement.entity.Faculty;
+import com.university.universitymanagement.entity.University;
+import com.university.universitymanagement.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Updates rows through the services, which issue one UPDATE conditional on the version,
+ * and checks the outcome against the database, the second-level cache and the audit log,
+ * written as part of the update here. Another instance is simulated by changing a row with
+ * plain JDBC, which leaves this instance's cache behind.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional_update;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "sql.budget.mode=log",
+        "audit.write-behind.enabled=false"
+})
+class ConditionalUpdateTests {
+    @Autowired private UniversityService universityService;
+    @Autowired private FacultyService facultyService;
+    @Autowired private UserService userService;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private DataSource dataSource;
+
+    private User user;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        User newUser = new User();
+        newUser.setEmail("update-" + System.nanoTime() + "@example.com");
+        newUser.setName("Update");
+        newUser.setPassword("password");
+        user = userService.register(newUser);
+        cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    @Test
+    void updatesTheRowAtTheGivenVersion() {
+        University university = university("Before");
+
+        University updated = universityService.update(university.getId(), data("After"), university.getVersion(), user);
+
+        assertThat(updated.getName()).isEqualTo("After");
+        assertThat(updated.getVersion()).isEqualTo(university.getVersion() + 1);
+        assertThat(universityService.get(university.getId()).getName()).isEqualTo("After");
+    }
+
+    @Test
+    void rejectsAStaleVersionAndLeavesTheRowUnchanged() {
+        University university = university("Original");
+        universityService.update(university.getId(), data("First edit"), university.getVersion(), user);
+
+        assertThatThrownBy(() -> universityService.update(university.getId(), data("Lost edit"), university.getVersion(), user))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(universityService.get(university.getId()).getName()).isEqualTo("First edit");
+    }
+
+    @Test
+    void acceptsTheCurrentVersionWhenTheCacheIsBehind() {
+        University university = university("Cached");
+        universityService.get(university.getId());
+        assertThat(cache.containsEntity(University.class, university.getId())).isTrue();
+
+        // Another instance updates the row; this instance's cache still holds the old version
+        new JdbcTemplate(dataSource).update("UPDATE universities SET name = 'Elsewhere', version = version + 1 WHERE id = ?",
+                university.getId());
+
+        University updated = universityService.update(university.getId(), data("Here"), university.getVersion() + 1, user);
+        assertThat(updated.getName()).isEqualTo("Here");
+        assertThat(updated.getVersion()).isEqualTo(university.getVersion() + 2);
+    }
+
+    @Test
+    void auditsTheFieldsTheUpdateChanged() {
+        University university = university("Before");
+
+        universityService.update(university.getId(), data("After"), university.getVersion(), user);
+
+        assertThat(lastUpdate("universities", university.getId()))
+                .containsEntry("old_value", "{\"name\":\"Before\"}")
+                .containsEntry("new_value", "{\"name\":\"After\"}");
+    }
+
+    @Test
+    void appliesAnUpdateWithoutIfMatchToTheCurrentRow() {
+        University university = university("Cached");
+        universityService.get(university.getId());
+        Faculty faculty = new Faculty();
+        faculty.setName("Faculty");
+        faculty.setUniversity(university);
+        faculty = facultyService.create(faculty, user);
+
+        // Another instance updates both rows after this instance cached them
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("UPDATE universities SET name = 'Elsewhere', version = version + 1 WHERE id = ?",
+                university.getId());
+        jdbcTemplate.update("UPDATE faculties SET is_active = FALSE, version = version + 1 WHERE id = ?", faculty.getId());
+
+        University updated = universityService.update(university.getId(), data("Here"), null, user);
+        Faculty data = new Faculty();
+        data.setName("Renamed");
+        Faculty renamed = facultyService.update(faculty.getId(), data, null, user);
+
+        assertThat(updated.getVersion()).isEqualTo(university.getVersion() + 2);
+        assertThat(lastUpdate("universities", university.getId()))
+                .containsEntry("old_value", "{\"name\":\"Elsewhere\"}")
+                .containsEntry("new_value", "{\"name\":\"Here\"}");
+        assertThat(renamed.getVersion()).isEqualTo(faculty.getVersion() + 2);
+        assertThat(lastUpdate("faculties", faculty.getId()))
+                .containsEntry("old_value", "{\"name\":\"Faculty\",\"isActive\":false}")
+                .containsEntry("new_value", "{\"name\":\"Renamed\",\"isActive\":true}");
+    }
+
+    @Test
+    void evictsOnlyTheUpdatedRow() {
+        University updatedRow = university("Updated");
+        University otherRow = university("Untouched");
+        universityService.get(updatedRow.getId());
+        universityService.get(otherRow.getId());
+
+        universityService.update(updatedRow.getId(), data("Renamed"), null, user);
+
+        assertThat(cache.containsEntity(University.class, updatedRow.getId())).isFalse();
+        assertThat(cache.containsEntity(University.class, otherRow.getId())).isTrue();
+    }
+
+    @Test
+    void movesAFacultyAndEvictsBothUniversitiesFaculties() {
+        University from = university("From");
+        University to = university("To");
+        Faculty faculty = new Faculty();
+        faculty.setName("Moving");
+        faculty.setUniversity(from);
+        faculty = facultyService.create(faculty, user);
+        assertThat(universityService.get(from.getId()).getFaculties()).extracting(Faculty::getName).containsExactly("Moving");
+        assertThat(universityService.get(to.getId()).getFaculties()).isEmpty();
+
+        Faculty data = new Faculty();
+        data.setName("Moved");
+        data.setUniversity(to);
+        Faculty moved = facultyService.update(faculty.getId(), data, faculty.getVersion(), user);
+
+        assertThat(moved.getUniversity().getId()).isEqualTo(to.getId());
+        assertThat(universityService.get(from.getId()).getFaculties()).isEmpty();
+        assertThat(universityService.get(to.getId()).getFaculties()).extracting(Faculty::getName).containsExactly("Moved");
+    }
+
+    @Test
+    void servesTheRowsTheETagNamesWhenTheCacheIsBehind() {
+        University university = university("Cached");
+        assertThat(universityService.get(university.getId()).getFaculties()).isEmpty();
+
+        // Another instance renames the university and adds a faculty to it, with an ID
+        // far past the blocks this instance's ID generator hands out
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("UPDATE universities SET name = 'Elsewhere', version = version + 1 WHERE id = ?",
+                university.getId());
+        jdbcTemplate.update("INSERT INTO faculties (id, name, university_id, is_active, is_deleted, version) "
+                + "VALUES (?, 'Added elsewhere', ?, TRUE, FALSE, 0)", 1_000_000 + university.getId(), university.getId());
+        assertThat(universityService.get(university.getId()).getName()).isEqualTo("Cached");
+
+        String etag = universityService.etag(university.getId());
+        University served = universityService.get(university.getId());
+
+        assertThat(etag).startsWith("\"" + served.getVersion() + "-");
+        assertThat(served.getName()).isEqualTo("Elsewhere");
+        assertThat(served.getFaculties()).extracting(Faculty::getName).containsExactly("Added elsewhere");
+    }
+
+    @Test
+    void reportsMissingRowsAsNotFound() {
+        assertThatThrownBy(() -> universityService.update(999_999L, data("Ghost"), 0L, user))
+                .hasMessage("University not found");
+        assertThatThrownBy(() -> universityService.update(999_999L, data("Ghost"), null, user))
+                .hasMessage("University not found");
+        assertThatThrownBy(() -> facultyService.update(999_999L, new Faculty(), 0L, user))
+                .hasMessage("Faculty not found");
+    }
+
+    private University university(String name) {
+        University university = new University();
+        university.setName(name);
+        return universityService.create(university, user);
+    }
+
+    private Map<String, Object> lastUpdate(String table, Long recordId) {
+        return new JdbcTemplate(dataSource).queryForMap("SELECT old_value, new_value FROM audit_log "
+                + "WHERE table_name = ? AND record_id = ? AND action = 'UPDATE' ORDER BY id DESC LIMIT 1", table, recordId);
+    }
+
+    private static University data(String name) {
+        University data = new University();
+        data.setName(name);
+        return data;
+    }
+}
@@ -0,0 +1,147 @@
+package com.university.universitymanagement.service;
+
+import com.university.universitymanagement.dto.ImportReport;
+import com.university.universitymanagement.dto.ImportReport.ChunkReport;
+import com.university.universitymanagement.dto.ImportReport.RowError;
+import com.university.universitymanagement.entity.Department;
+import com.university.universitymanagement.entity.Faculty;
+import com.university.universitymanagement.entity.University;
+import com.university.universitymanagement.entity.User;
+import com.university.universitymanagement.repository.DepartmentRepository;
+import com.university.universitymanagement.repository.FacultyRepository;
+import com.university.universitymanagement.repository.UniversityRepository;
+import com.university.universitymanagement.service.ImportService.Format;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Imports small files in chunks of two records, so that every chunk's report can be
+ * checked: quoted and multi-line CSV fields, rows rejected individually with their
+ * input line, and parents resolved by name.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import_service;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "import.chunk-size=2"
+})
+class ImportServiceTests {
+    @Autowired private ImportService importService;
+    @Autowired private UserService userService;
+    @Autowired private UniversityRepository universityRepository;
+    @Autowired private FacultyRepository facultyRepository;
+    @Autowired private DepartmentRepository departmentRepository;
+
+    private User user;
+    private University university;
+
+    @BeforeEach
+    void seed() {
+        User newUser = new User();
+        newUser.setEmail("import-" + System.nanoTime() + "@example.com");
+        newUser.setName("Import");
+        newUser.setPassword("password");
+        user = userService.register(newUser);
+
+        university = new University();
+        university.setName("Import University " + System.nanoTime());
+        universityRepository.save(university);
+    }
+
+    @Test
+    void readsQuotedAndMultiLineFields() throws IOException {
+        ImportReport report = importService.importFaculties(input(
+                "name,university,isActive\n" +
+                "\"Faculty of \"\"Law\"\"\"," + university.getName() + ",true\n" +
+                "\"Faculty of Arts,\nDesign and Media\"," + university.getName() + ",false\n" +
+                "Faculty of Science,\"" + university.getName() + "\",\n"), Format.CSV, user);
+
+        assertThat(report.rows()).isEqualTo(3);
+        assertThat(report.failed()).isZero();
+        assertThat(report.chunks()).extracting(ChunkReport::firstLine, ChunkReport::lastLine)
+                .containsExactly(tuple(2L, 3L), tuple(5L, 5L));
+
+        List<Faculty> faculties = facultyRepository.findAllById(report.chunks().stream().flatMap(c -> c.ids().stream()).toList());
+        assertThat(faculties).extracting(Faculty::getName)
+                .containsExactlyInAnyOrder("Faculty of \"Law\"", "Faculty of Arts,\nDesign and Media", "Faculty of Science");
+        assertThat(faculties).filteredOn(f -> f.getName().startsWith("Faculty of Arts"))
+                .extracting(Faculty::getIsActive).containsExactly(false);
+    }
+
+    @Test
+    void reportsRejectedRowsPerChunk() throws IOException {
+        ImportReport report = importService.importFaculties(input(
+                "name,universityId\n" +
+                "Valid One," + university.getId() + "\n" +
+                "," + university.getId() + "\n" +
+                "Orphan,999999\n" +
+                "Too,many,fields\n" +
+                "Valid Two," + university.getId() + "\n"), Format.CSV, user);
+
+        assertThat(report.rows()).isEqualTo(5);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.failed()).isEqualTo(3);
+
+        ChunkReport first = report.chunks().get(0);
+        assertThat(first.imported()).isEqualTo(1);
+        assertThat(first.errors()).extracting(RowError::line).containsExactly(3L);
+        assertThat(first.errors().get(0).message()).contains("name");
+
+        ChunkReport second = report.chunks().get(1);
+        assertThat(second.imported()).isZero();
+        assertThat(second.ids()).isEmpty();
+        assertThat(second.errors()).containsExactly(
+                new RowError(4, "University not found: 999999"),
+                new RowError(5, "Expected 2 fields but found 3"));
+
+        ChunkReport third = report.chunks().get(2);
+        assertThat(third.imported()).isEqualTo(1);
+        assertThat(third.errors()).isEmpty();
+        assertThat(facultyRepository.findById(third.ids().get(0)).orElseThrow().getName()).isEqualTo("Valid Two");
+    }
+
+    @Test
+    void importsDepartmentsFromNdjsonByFacultyName() throws IOException {
+        Faculty faculty = new Faculty();
+        faculty.setName("Engineering");
+        faculty.setUniversity(university);
+        facultyRepository.save(faculty);
+
+        ImportReport report = importService.importDepartments(input(
+                "{\"name\":\"Civil\",\"location\":\"Block A\",\"faculty\":\"engineering\",\"university\":\"" + university.getName() + "\"}\n" +
+                "\n" +
+                "{\"name\":\"Broken\"\n" +
+                "{\"name\":\"Mining\",\"location\":\"Block B\",\"facultyId\":" + faculty.getId() + "}\n"), Format.NDJSON, user);
+
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.chunks().get(0).errors()).extracting(RowError::line).containsExactly(3L);
+        assertThat(report.chunks().get(0).errors().get(0).message()).startsWith("Invalid JSON");
+
+        List<Long> ids = report.chunks().stream().flatMap(c -> c.ids().stream()).toList();
+        assertThat(departmentRepository.findAllById(ids)).extracting(Department::getName).containsExactlyInAnyOrder("Civil", "Mining");
+    }
+
+    @Test
+    void rejectsFilesWithoutTheRequiredColumns() {
+        assertThatThrownBy(() -> importService.importFaculties(input("name\nOnly a name\n"), Format.CSV, user))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Missing column: one of [universityid, university]");
+        assertThatThrownBy(() -> importService.importDepartments(input("name,facultyId\nNo location,1\n"), Format.CSV, user))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Missing column: location");
+    }
+
+    private static InputStream input(String contents) {
+        return new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,80 @@
+package com.university.universitymanagement.service;
+
+import com.university.universitymanagement.dto.UniversityName;
+import com.university.universitymanagement.repository.UniversityRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Searches the trigram index built from a stubbed repository: substring matching,
+ * paging without a total count, incremental updates and the periodic rebuild.
+ */
+class UniversityNameIndexTests {
+    private final UniversityRepository repo = mock(UniversityRepository.class);
+    private final List<UniversityName> rows = new ArrayList<>(List.of(
+            new UniversityName(1L, "University of Indonesia"),
+            new UniversityName(2L, "Gadjah Mada University"),
+            new UniversityName(3L, "Bandung Institute of Technology"),
+            new UniversityName(4L, "Airlangga UNIVERSITY"),
+            new UniversityName(5L, "Universitas Brawijaya")));
+    private final UniversityNameIndex index = index();
+
+    private UniversityNameIndex index() {
+        when(repo.findActiveNames()).thenAnswer(invocation -> List.copyOf(rows));
+        UniversityNameIndex index = new UniversityNameIndex(repo);
+        index.rebuild();
+        return index;
+    }
+
+    @Test
+    void matchesSubstringsIgnoringCase() {
+        assertThat(index.search("university", 0, 10)).isEqualTo(new UniversityNameIndex.Matches(List.of(1L, 2L, 4L), false));
+        assertThat(index.search("Univers", 0, 10).ids()).containsExactly(1L, 2L, 4L, 5L);
+        assertThat(index.search("of tech", 0, 10).ids()).containsExactly(3L);
+        assertThat(index.search("xyz", 0, 10).ids()).isEmpty();
+    }
+
+    @Test
+    void pagesReportWhetherMoreMatchesFollow() {
+        assertThat(index.search("univers", 0, 2)).isEqualTo(new UniversityNameIndex.Matches(List.of(1L, 2L), true));
+        assertThat(index.search("univers", 2, 2)).isEqualTo(new UniversityNameIndex.Matches(List.of(4L, 5L), false));
+        assertThat(index.search("univers", 4, 2)).isEqualTo(new UniversityNameIndex.Matches(List.of(), false));
+    }
+
+    @Test
+    void rejectsQueriesShorterThanATrigram() {
+        assertThat(UniversityNameIndex.answers("uni")).isTrue();
+        assertThat(UniversityNameIndex.answers("un")).isFalse();
+        assertThat(UniversityNameIndex.answers(null)).isFalse();
+        assertThatThrownBy(() -> index.search("un", 0, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.search("", 0, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void followsPutsAndRemoves() {
+        index.put(2L, "Gadjah Mada Institute");
+        index.remove(1L);
+        index.put(6L, "Open University");
+
+        assertThat(index.search("university", 0, 10).ids()).containsExactly(4L, 6L);
+        assertThat(index.search("institute", 0, 10).ids()).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void rebuildPicksUpChangesMadeElsewhere() {
+        rows.remove(0);
+        rows.add(new UniversityName(7L, "Universitas Diponegoro"));
+        assertThat(index.search("universitas", 0, 10).ids()).containsExactly(5L);
+
+        index.rebuild();
+        assertThat(index.search("universitas", 0, 10).ids()).containsExactly(5L, 7L);
+        assertThat(index.search("indonesia", 0, 10).ids()).isEmpty();
+    }
+}
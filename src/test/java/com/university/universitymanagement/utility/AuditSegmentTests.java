@@ -0,0 +1,147 @@
+package com.university.universitymanagement.utility;
+
+import com.university.universitymanagement.dto.AuditLogEntry;
+import com.university.universitymanagement.utility.PaginationUtils.TimeCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Writes segments and reads them back, comparing every scan with the same filter applied
+ * to the entries written. Records are sized to start, end and span the 256-entry blocks,
+ * so lookups through the sparse index are checked at the block boundaries.
+ */
+class AuditSegmentTests {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @TempDir Path dir;
+
+    @Test
+    void readsBackWhatItWrote() throws IOException {
+        List<AuditLogEntry> entries = new ArrayList<>();
+        entries.add(entry(1, "universities", 1L, START, null, "x".repeat(100_000)));
+        entries.add(entry(2, "faculties", null, START.plusNanos(1_000), "{\"name\":\"Café\"}", null));
+        entries.add(entry(3, null, 7L, START.minusDays(1), null, null));
+        Collections.shuffle(entries, new Random(1));
+        Path file = dir.resolve("audit-0000000001.seg");
+
+        AuditSegment.write(file, entries);
+        AuditSegment segment = AuditSegment.open(file);
+
+        assertThat(scan(segment, null, null, null, null, null, null)).containsExactlyInAnyOrderElementsOf(entries);
+        assertThat(segment.entryCount()).isEqualTo(3);
+        assertThat(segment.highWaterMark()).isEqualTo(new TimeCursor(START.plusNanos(1_000), 2L));
+        assertThat(dir.resolve("audit-0000000001.seg.tmp")).doesNotExist();
+    }
+
+    @Test
+    void findsRecordsAcrossBlockBoundaries() throws IOException {
+        // Record sizes around the block size: 256 fills block 0, 1 starts block 1, 255 ends it,
+        // 600 spans blocks 2 to 4, and the rest falls on either side of later boundaries.
+        // Record 3 changes in runs of 100 at the same time, so equal keys end one block and
+        // start the next.
+        int[] sizes = {256, 1, 255, 600, 3, 253, 257, 1, 1};
+        List<AuditLogEntry> entries = new ArrayList<>();
+        long id = 1;
+        for (int record = 0; record < sizes.length; record++) {
+            for (int i = 0; i < sizes[record]; i++) {
+                LocalDateTime timestamp = START.plusMinutes(record == 3 ? i / 100 : i);
+                entries.add(entry(id++, "faculties", (long) record, timestamp, null, "{}"));
+            }
+        }
+        for (int i = 0; i < 300; i++) entries.add(entry(id++, "departments", 4L, START.plusSeconds(i), null, "{}"));
+        for (int i = 0; i < 10; i++) entries.add(entry(id++, "universities", null, START.plusHours(i), null, "{}"));
+        Path file = dir.resolve("audit-0000000001.seg");
+        AuditSegment.write(file, entries);
+        AuditSegment segment = AuditSegment.open(file);
+
+        for (String table : new String[]{"departments", "faculties", "universities", "users"}) {
+            assertScan(segment, entries, table, null, null, null, null);
+            for (long record = -1; record <= sizes.length; record++) {
+                assertScan(segment, entries, table, record, null, null, null);
+                for (LocalDateTime from : new LocalDateTime[]{START, START.plusMinutes(1), START.plusMinutes(2),
+                        START.plusMinutes(255), START.plusMinutes(256), START.plusMinutes(599), START.plusDays(1)}) {
+                    assertScan(segment, entries, table, record, from, null, null);
+                    assertScan(segment, entries, table, record, null, from, null);
+                }
+            }
+        }
+    }
+
+    @Test
+    void filtersByUserTimeAndCursor() throws IOException {
+        List<AuditLogEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.add(entry(i + 1, i % 2 == 0 ? "faculties" : "departments", (long) (i % 7),
+                    START.plusMinutes(i / 3), null, "{}", (long) (i % 5)));
+        }
+        Path file = dir.resolve("audit-0000000001.seg");
+        AuditSegment.write(file, entries);
+        AuditSegment segment = AuditSegment.open(file);
+        TimeCursor cursor = new TimeCursor(START.plusMinutes(100), 302L);
+
+        assertScan(segment, entries, null, null, 3L, null, null, null);
+        assertScan(segment, entries, null, null, null, START.plusMinutes(50), START.plusMinutes(60), null);
+        assertScan(segment, entries, "faculties", 3L, 2L, null, null, cursor);
+        assertScan(segment, entries, null, null, null, null, null, cursor);
+        assertThat(scan(segment, null, null, null, START.plusYears(1), null, null)).isEmpty();
+        assertThat(scan(segment, null, null, null, null, START, null)).isEmpty();
+    }
+
+    @Test
+    void rejectsEmptySegmentsAndOtherFiles() throws IOException {
+        Path other = Files.writeString(dir.resolve("other.seg"), "not a segment, but long enough");
+
+        assertThatThrownBy(() -> AuditSegment.write(dir.resolve("empty.seg"), List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AuditSegment.open(other)).isInstanceOf(IOException.class);
+    }
+
+    private static void assertScan(AuditSegment segment, List<AuditLogEntry> entries, String table, Long recordId,
+                                   LocalDateTime from, LocalDateTime to, TimeCursor after) {
+        assertScan(segment, entries, table, recordId, null, from, to, after);
+    }
+
+    private static void assertScan(AuditSegment segment, List<AuditLogEntry> entries, String table, Long recordId,
+                                   Long userId, LocalDateTime from, LocalDateTime to, TimeCursor after) {
+        Predicate<AuditLogEntry> filter = e -> (table == null || table.equals(e.tableName()))
+                && (recordId == null || recordId.equals(e.recordId()))
+                && (userId == null || userId.equals(e.userId()))
+                && (from == null || !e.timestamp().isBefore(from))
+                && (to == null || e.timestamp().isBefore(to))
+                && (after == null || e.timestamp().isBefore(after.timestamp())
+                        || (e.timestamp().equals(after.timestamp()) && e.id() < after.id()));
+        assertThat(scan(segment, table, recordId, userId, from, to, after))
+                .as("table=%s record=%s user=%s from=%s to=%s after=%s", table, recordId, userId, from, to, after)
+                .containsExactlyInAnyOrderElementsOf(entries.stream().filter(filter).toList());
+    }
+
+    private static List<AuditLogEntry> scan(AuditSegment segment, String table, Long recordId, Long userId,
+                                            LocalDateTime from, LocalDateTime to, TimeCursor after) {
+        List<AuditLogEntry> found = new ArrayList<>();
+        segment.scan(table, recordId, userId, from, to, after, found::add);
+        return found;
+    }
+
+    private static AuditLogEntry entry(long id, String table, Long recordId, LocalDateTime timestamp,
+                                       String oldValue, String newValue) {
+        return entry(id, table, recordId, timestamp, oldValue, newValue, 1L);
+    }
+
+    private static AuditLogEntry entry(long id, String table, Long recordId, LocalDateTime timestamp,
+                                       String oldValue, String newValue, Long userId) {
+        return new AuditLogEntry(id, table, recordId, "UPDATE", timestamp, oldValue, newValue, userId);
+    }
+}
@@ -0,0 +1,99 @@
+package com.university.universitymanagement.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Issues tokens at a fixed instant and verifies them with issuers sharing the secret
+ * but reading other clocks, to cover tampering, expiry and revocation.
+ */
+class SignedTokensTests {
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final Instant NOW = Instant.parse("2026-10-17T08:00:00Z");
+
+    private final SignedTokens tokens = tokens(SECRET, NOW);
+
+    @Test
+    void verifiesTheTokensItIssued() {
+        SignedTokens.Claims claims = tokens.verify(tokens.issue(42));
+
+        assertThat(claims.userId()).isEqualTo(42);
+        assertThat(claims.expiresAt()).isEqualTo(NOW.plus(TTL).getEpochSecond());
+        assertThat(tokens.issue(42)).isNotEqualTo(tokens.issue(42));
+        assertThat(SignedTokens.isSigned(tokens.issue(42))).isTrue();
+    }
+
+    @Test
+    void rejectsTamperedAndMalformedTokens() {
+        String token = tokens.issue(42);
+        int dot = token.indexOf('.');
+        byte[] payload = Base64.getUrlDecoder().decode(token.substring(0, dot));
+        payload[7] = 43;
+        String otherUser = Base64.getUrlEncoder().withoutPadding().encodeToString(payload) + token.substring(dot);
+        byte[] signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+        signature[0] ^= 1;
+        String otherSignature = token.substring(0, dot + 1) + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+
+        assertThat(tokens.verify(otherUser)).isNull();
+        assertThat(tokens.verify(otherSignature)).isNull();
+        assertThat(tokens.verify(token.substring(0, token.length() - 1))).isNull();
+        assertThat(tokens(("another secret of at least 32 bytes").getBytes(StandardCharsets.UTF_8), NOW).verify(token)).isNull();
+        for (String malformed : new String[]{"", "abc", ".", "a.b", "!!!.###", token + "." + token}) {
+            assertThat(tokens.verify(malformed)).as(malformed).isNull();
+        }
+    }
+
+    @Test
+    void rejectsExpiredTokens() {
+        String token = tokens.issue(42);
+
+        assertThat(tokens(SECRET, NOW.plus(TTL).minusSeconds(1)).verify(token)).isNotNull();
+        assertThat(tokens(SECRET, NOW.plus(TTL)).verify(token)).isNull();
+        assertThat(tokens(SECRET, NOW.plus(TTL)).revoke(token)).isFalse();
+    }
+
+    @Test
+    void rejectsRevokedTokensOnTheRevokingInstanceOnly() {
+        String loggedOut = tokens.issue(42);
+        String otherSession = tokens.issue(42);
+
+        assertThat(tokens.revoke(loggedOut)).isTrue();
+        assertThat(tokens.verify(loggedOut)).isNull();
+        assertThat(tokens.revoke(loggedOut)).isFalse();
+        assertThat(tokens.verify(otherSession)).isNotNull();
+        assertThat(tokens.revokedCount()).isEqualTo(1);
+
+        // The revocation list is per instance
+        assertThat(tokens(SECRET, NOW).verify(loggedOut)).isNotNull();
+    }
+
+    @Test
+    void forgetsRevocationsOnceTheTokensExpire() {
+        SignedTokens early = tokens(SECRET, NOW);
+        String token = early.issue(42);
+        early.revoke(token);
+
+        SignedTokens later = tokens(SECRET, NOW.plus(TTL));
+        assertThat(later.revokedCount()).isZero();
+        assertThat(later.verify(token)).isNull();
+    }
+
+    @Test
+    void requiresASecretOfAtLeast32Bytes() {
+        assertThatThrownBy(() -> tokens(new byte[31], NOW)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SignedTokens tokens(byte[] secret, Instant now) {
+        return new SignedTokens(secret, TTL, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
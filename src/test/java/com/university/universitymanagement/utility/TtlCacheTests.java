@@ -0,0 +1,46 @@
+package com.university.universitymanagement.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads values through the cache while another caller invalidates them, and checks that
+ * a value read before the invalidation is returned to its caller but not cached.
+ */
+class TtlCacheTests {
+    private final TtlCache<String, String> cache = new TtlCache<>(10, Duration.ofMinutes(1));
+
+    @Test
+    void cachesLoadedValues() {
+        assertThat(cache.get("token", k -> "user")).isEqualTo("user");
+        assertThat(cache.get("token", k -> "other")).isEqualTo("user");
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheAValueLoadedBeforeAnInvalidation() {
+        // The load reads the old value, then a login replaces it and invalidates the key
+        assertThat(cache.get("token", k -> {
+            cache.invalidate(k);
+            return "old user";
+        })).isEqualTo("old user");
+
+        assertThat(cache.getIfPresent("token")).isNull();
+        assertThat(cache.get("token", k -> "new user")).isEqualTo("new user");
+        assertThat(cache.getIfPresent("token")).isEqualTo("new user");
+    }
+
+    @Test
+    void doesNotCacheAValueLoadedBeforeEverythingWasInvalidated() {
+        cache.get("token", k -> {
+            cache.invalidateAll();
+            return "old user";
+        });
+
+        assertThat(cache.getIfPresent("token")).isNull();
+    }
+}